@@ -0,0 +1,341 @@
+package edu.ncsu.csc216.pack_scheduler.bench;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Scanner;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
+import edu.ncsu.csc216.pack_scheduler.course.validator.CourseNameValidator;
+import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.RecordReport;
+import edu.ncsu.csc216.pack_scheduler.io.StudentRecordIO;
+import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
+import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager.Session;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+
+/**
+ * Times the registration hot paths against generated catalogs, directories,
+ * and course rolls of several sizes. Each benchmark is warmed up and then run
+ * in growing batches for a fixed time, and the mean time per operation is
+ * printed. Results can be compared against a saved baseline such as
+ * bench/baseline.txt.
+ * 
+ * Usage: Benchmarks [-sizes 1000,10000] [-rolls 10,100,250] [-compare file]
+ * 
+ * Must be run from the PackScheduler directory so registrar.properties is
+ * found.
+ * 
+ * @author Chirag Sreedhara
+ */
+public class Benchmarks {
+
+	/** Time spent warming up each benchmark */
+	private static final long WARMUP_NANOS = 500_000_000L;
+	/** Time spent measuring each benchmark */
+	private static final long MEASURE_NANOS = 1_000_000_000L;
+	/** Batches stop growing once a batch takes this long */
+	private static final long MAX_BATCH_NANOS = 10_000_000L;
+	/** Output line format */
+	private static final String FORMAT = "%-28s %8d %14.1f";
+
+	/** Results are summed here so the JIT cannot discard the work */
+	private static volatile long sink;
+
+	/** Catalog and directory sizes to run */
+	private int[] sizes = { 1000, 10000 };
+	/** Course roll enrollment caps to run */
+	private int[] rolls = { 10, 100, 250 };
+	/** Baseline results keyed on benchmark name and size */
+	private HashMap<String, Double> baseline = new HashMap<String, Double>();
+	/** Directory holding the generated record files */
+	private Path dir;
+
+	/**
+	 * One operation of a benchmark.
+	 */
+	private interface Operation {
+
+		/**
+		 * Runs the operation once.
+		 * 
+		 * @param i number of the call, for choosing inputs
+		 * @return a value depending on the work done
+		 * @throws Exception if the operation fails
+		 */
+		long run(long i) throws Exception;
+	}
+
+	/**
+	 * Runs the benchmarks.
+	 * 
+	 * @param args command line options
+	 * @throws Exception if a benchmark fails
+	 */
+	public static void main(String[] args) throws Exception {
+		Benchmarks b = new Benchmarks();
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			if ("-sizes".equals(args[i])) {
+				b.sizes = parseInts(args[i + 1]);
+			} else if ("-rolls".equals(args[i])) {
+				b.rolls = parseInts(args[i + 1]);
+			} else if ("-compare".equals(args[i])) {
+				b.readBaseline(args[i + 1]);
+			}
+		}
+		b.runAll();
+	}
+
+	/**
+	 * Parses a comma separated list of ints.
+	 * 
+	 * @param list list to parse
+	 * @return parsed ints
+	 */
+	private static int[] parseInts(String list) {
+		String[] parts = list.split(",");
+		int[] values = new int[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			values[i] = Integer.parseInt(parts[i].trim());
+		}
+		return values;
+	}
+
+	/**
+	 * Reads baseline results written by an earlier run.
+	 * 
+	 * @param fileName baseline file
+	 * @throws FileNotFoundException if the file cannot be read
+	 */
+	private void readBaseline(String fileName) throws FileNotFoundException {
+		try (Scanner scan = new Scanner(new File(fileName))) {
+			while (scan.hasNextLine()) {
+				String[] fields = scan.nextLine().trim().split("\\s+");
+				if (fields.length >= 3 && !fields[0].startsWith("#")) {
+					baseline.put(fields[0] + " " + fields[1], Double.parseDouble(fields[2]));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Generates the data and runs every benchmark.
+	 * 
+	 * @throws Exception if a benchmark fails
+	 */
+	private void runAll() throws Exception {
+		dir = Files.createTempDirectory("packscheduler-bench");
+		System.out.println("# java " + System.getProperty("java.version") + ", ns/op");
+		System.out.println(String.format("%-28s %8s %14s", "# benchmark", "size", "ns/op")
+				+ (baseline.isEmpty() ? "" : "   vs baseline"));
+		for (int size : sizes) {
+			runSized(size);
+		}
+		for (int cap : rolls) {
+			runRoll(cap);
+		}
+		runValidator();
+	}
+
+	/**
+	 * Runs the benchmarks that depend on catalog and directory size.
+	 * 
+	 * @param size number of courses and students
+	 * @throws Exception if a benchmark fails
+	 */
+	private void runSized(int size) throws Exception {
+		int facultyCount = Math.max(1, size / 7);
+		String courseFile = dir.resolve("course_records_" + size + ".txt").toString();
+		String studentFile = dir.resolve("student_records_" + size + ".txt").toString();
+		String facultyFile = dir.resolve("faculty_records_" + size + ".txt").toString();
+		RecordGenerator.writeCourses(courseFile, size, facultyCount);
+		RecordGenerator.writeStudents(studentFile, size);
+		RecordGenerator.writeFaculty(facultyFile, facultyCount);
+
+		RegistrationManager manager = RegistrationManager.getInstance();
+		manager.logout();
+		manager.clearData();
+		manager.getFacultyDirectory().loadFacultyFromFile(facultyFile);
+
+		report("catalog.load", size, (i) -> {
+			manager.getFacultyDirectory().loadFacultyFromFile(facultyFile);
+			CourseCatalog catalog = new CourseCatalog();
+			catalog.loadCoursesFromFile(courseFile);
+			return catalog.getCourseCatalog().length;
+		});
+
+		manager.getFacultyDirectory().loadFacultyFromFile(facultyFile);
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile(courseFile);
+		// Courses whose instructor has a conflict are left out of the catalog
+		String[][] rows = catalog.getCourseCatalog();
+		report("catalog.get", size, (i) -> {
+			String[] row = rows[(int) (i % rows.length)];
+			return catalog.getCourseFromCatalog(row[0], row[1]).getCredits();
+		});
+
+		// The sorted loader the directory uses, not the quadratic SortedList read
+		report("studentIO.read", size,
+				(i) -> StudentRecordIO.readSortedStudents(studentFile, new RecordReport()).length);
+
+		StudentDirectory directory = manager.getStudentDirectory();
+		report("directory.load", size, (i) -> {
+			directory.loadStudentsFromFile(studentFile);
+			return directory.getStudentDirectory().length;
+		});
+		directory.loadStudentsFromFile(studentFile);
+		report("directory.getById", size, (i) -> directory.getStudentById("stu" + i % size).getMaxCredits());
+
+		report("manager.login", size, (i) -> {
+			boolean in = manager.login("stu" + i % size, "pw");
+			manager.logout();
+			return in ? 1 : 0;
+		});
+
+		Schedule schedule = new Schedule();
+		for (int c = 0; c < rows.length && schedule.getScheduledCourses().length < 4; c++) {
+			Course course = catalog.getCourseFromCatalog(rows[c][0], rows[c][1]);
+			if (schedule.canAdd(course)) {
+				schedule.addCourseToSchedule(course);
+			}
+		}
+		report("schedule.canAdd", size, (i) -> {
+			String[] row = rows[(int) (i % rows.length)];
+			return schedule.canAdd(catalog.getCourseFromCatalog(row[0], row[1])) ? 1 : 0;
+		});
+		report("catalog.addable", size, (i) -> catalog.getAddableCourses(schedule).size());
+
+		Session session = manager.openSession("stu0", "pw");
+		for (int c = 0, enrolled = 0; c < rows.length && enrolled < 4; c++) {
+			if (manager.enrollStudentInCourse(session, catalog.getCourseFromCatalog(rows[c][0], rows[c][1]))) {
+				enrolled++;
+			}
+		}
+		report("manager.addable", size, (i) -> manager.getAddableCourses(session).size());
+		manager.logout(session);
+
+		Session journaled = manager.openSession("stu1", "pw");
+		Course first = catalog.getCourseFromCatalog(rows[0][0], rows[0][1]);
+		manager.startJournal(dir.resolve("checkpoint_" + size + ".bin").toString(),
+				dir.resolve("journal_" + size + ".bin").toString(), 5);
+		report("manager.enrollDrop.journal", size, (i) -> {
+			boolean enrolled = manager.enrollStudentInCourse(journaled, first);
+			manager.dropStudentFromCourse(journaled, first);
+			return enrolled ? 1 : 0;
+		});
+		manager.stopJournal();
+		manager.logout(journaled);
+
+		// Give every student a course so the snapshot carries full rolls and waitlists
+		for (int s = 1; s < size; s++) {
+			Session other = manager.openSession("stu" + s, "pw");
+			String[] row = rows[s % rows.length];
+			manager.enrollStudentInCourse(other, catalog.getCourseFromCatalog(row[0], row[1]));
+			manager.logout(other);
+		}
+		String snapshotFile = dir.resolve("snapshot_" + size + ".bin").toString();
+		report("snapshot.save", size, (i) -> {
+			manager.saveSnapshot(snapshotFile);
+			return 1;
+		});
+		report("snapshot.load", size, (i) -> {
+			manager.loadSnapshot(snapshotFile);
+			return manager.getStudentDirectory().getStudents().size();
+		});
+
+		manager.clearData();
+	}
+
+	/**
+	 * Runs an enroll and drop against a roll that is one seat short of full.
+	 * 
+	 * @param cap enrollment cap of the roll
+	 * @throws Exception if the benchmark fails
+	 */
+	private void runRoll(int cap) throws Exception {
+		Course course = new Course("CSC216", "Software Development Fundamentals", "001", 3, null, cap, "MW", 1330,
+				1445);
+		CourseRoll roll = course.getCourseRoll();
+		for (int i = 0; i < cap - 1; i++) {
+			roll.enroll(new Student("First", "Last", "stu" + i, "stu" + i + "@ncsu.edu", RecordGenerator.HASHED_PW));
+		}
+		Student s = new Student("First", "Last", "extra", "extra@ncsu.edu", RecordGenerator.HASHED_PW);
+		report("roll.enrollDrop", cap, (i) -> {
+			roll.enroll(s);
+			roll.drop(s);
+			return roll.getOpenSeats();
+		});
+	}
+
+	/**
+	 * Runs the course name validator over a mix of valid and invalid names.
+	 * 
+	 * @throws Exception if the benchmark fails
+	 */
+	private void runValidator() throws Exception {
+		String[] names = { "CSC216", "E115", "MA141", "HESF101", "CSC116A", "CSC2167", "C", "CSC21A" };
+		CourseNameValidator validator = new CourseNameValidator();
+		report("validator.isValid", names.length, (i) -> {
+			try {
+				return validator.isValid(names[(int) (i % names.length)]) ? 1 : 0;
+			} catch (Exception e) {
+				return -1;
+			}
+		});
+	}
+
+	/**
+	 * Measures a benchmark and prints its result.
+	 * 
+	 * @param name name of the benchmark
+	 * @param size size parameter of the benchmark
+	 * @param op   operation to time
+	 * @throws Exception if the operation fails
+	 */
+	private void report(String name, int size, Operation op) throws Exception {
+		time(op, WARMUP_NANOS);
+		double nanos = time(op, MEASURE_NANOS);
+		String line = String.format(FORMAT, name, size, nanos);
+		Double base = baseline.get(name + " " + size);
+		if (base != null) {
+			line += String.format("   %6.2fx", nanos / base);
+		}
+		System.out.println(line);
+	}
+
+	/**
+	 * Runs an operation in growing batches for at least the given time.
+	 * 
+	 * @param op    operation to run
+	 * @param nanos time to run for
+	 * @return mean nanoseconds per operation
+	 * @throws Exception if the operation fails
+	 */
+	private static double time(Operation op, long nanos) throws Exception {
+		long result = 0;
+		long ops = 0;
+		long batch = 1;
+		long start = System.nanoTime();
+		long now = start;
+		while (now - start < nanos) {
+			long batchStart = now;
+			for (long i = 0; i < batch; i++) {
+				result += op.run(ops + i);
+			}
+			ops += batch;
+			now = System.nanoTime();
+			if (now - batchStart < MAX_BATCH_NANOS) {
+				batch *= 2;
+			}
+		}
+		sink += result;
+		return (now - start) / (double) ops;
+	}
+
+}
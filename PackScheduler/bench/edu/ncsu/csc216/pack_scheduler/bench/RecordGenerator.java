@@ -0,0 +1,123 @@
+package edu.ncsu.csc216.pack_scheduler.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * Writes synthetic course, student, and faculty record files in the same
+ * formats as test-files/*_records.txt. The same size always produces the same
+ * files. Every generated user has the password "pw".
+ * 
+ * @author Chirag Sreedhara
+ */
+public class RecordGenerator {
+
+	/** Hash of the password "pw", as stored in the record files */
+	public static final String HASHED_PW = "MMlS+rEiw/l1nwKm2Vw3WLJGtP7iOZV7LU/uRuJhcMQ=";
+	/** Sections generated for each course name */
+	public static final int SECTIONS = 3;
+	/** Meeting day patterns cycled through by the generated courses */
+	private static final String[] MEETING_DAYS = { "MW", "TH", "MWF", "F", "A" };
+
+	/**
+	 * Returns the name of the i-th generated course. Names are up to three
+	 * letters followed by three digits, so every name passes the course name
+	 * validator.
+	 * 
+	 * @param i course number
+	 * @return course name
+	 */
+	public static String courseName(int i) {
+		int k = i / SECTIONS;
+		int p = k / 900;
+		StringBuilder sb = new StringBuilder();
+		sb.append((char) ('A' + p % 26)).append((char) ('A' + p / 26 % 26)).append((char) ('A' + p / 676 % 26));
+		sb.append(100 + k % 900);
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the section of the i-th generated course.
+	 * 
+	 * @param i course number
+	 * @return three digit section
+	 */
+	public static String section(int i) {
+		return String.format("%03d", i % SECTIONS + 1);
+	}
+
+	/**
+	 * Writes a course records file.
+	 * 
+	 * @param fileName     file to write
+	 * @param courses      number of courses
+	 * @param facultyCount number of faculty the courses are spread across
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void writeCourses(String fileName, int courses, int facultyCount) throws IOException {
+		try (PrintStream out = new PrintStream(new File(fileName))) {
+			for (int i = 0; i < courses; i++) {
+				String days = MEETING_DAYS[i % MEETING_DAYS.length];
+				out.print(courseName(i) + ",Generated Course " + i + "," + section(i) + "," + (i % 4 + 1) + ",fac"
+						+ (i % facultyCount) + "," + (10 + i % 241) + "," + days);
+				if (!"A".equals(days)) {
+					int start = (8 + i % 8) * 100 + i * 5 % 60;
+					out.print("," + start + "," + (start + 100));
+				}
+				out.println();
+			}
+		}
+	}
+
+	/**
+	 * Writes a student records file.
+	 * 
+	 * @param fileName file to write
+	 * @param students number of students
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void writeStudents(String fileName, int students) throws IOException {
+		try (PrintStream out = new PrintStream(new File(fileName))) {
+			for (int i = 0; i < students; i++) {
+				out.println("First" + i + ",Last" + i + ",stu" + i + ",stu" + i + "@ncsu.edu," + HASHED_PW + ","
+						+ (3 + i % 16));
+			}
+		}
+	}
+
+	/**
+	 * Writes a faculty records file.
+	 * 
+	 * @param fileName file to write
+	 * @param faculty  number of faculty
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void writeFaculty(String fileName, int faculty) throws IOException {
+		try (PrintStream out = new PrintStream(new File(fileName))) {
+			for (int i = 0; i < faculty; i++) {
+				out.println("First" + i + ",Last" + i + ",fac" + i + ",fac" + i + "@ncsu.edu," + HASHED_PW + ","
+						+ (i % 3 + 1));
+			}
+		}
+	}
+
+	/**
+	 * Writes course_records.txt, student_records.txt, and faculty_records.txt
+	 * with the given number of rows into a directory.
+	 * 
+	 * @param args directory and row count
+	 * @throws IOException if a file cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.out.println("Usage: RecordGenerator <directory> <rows>");
+			return;
+		}
+		int rows = Integer.parseInt(args[1]);
+		writeCourses(new File(args[0], "course_records.txt").getPath(), rows, Math.max(1, rows / 7));
+		writeStudents(new File(args[0], "student_records.txt").getPath(), rows);
+		writeFaculty(new File(args[0], "faculty_records.txt").getPath(), Math.max(1, rows / 7));
+	}
+
+}
@@ -0,0 +1,94 @@
+package edu.ncsu.csc216.pack_scheduler.bench;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Times a restart from a registration snapshot. A restart is only measured
+ * fairly in a fresh JVM, so the snapshot is written by one run and loaded by
+ * another.
+ * 
+ * Usage: SnapshotRestart file [students sections]
+ * 
+ * With counts, a registration of that many students and sections is generated,
+ * each student is enrolled in up to three sections, and the snapshot is saved
+ * to the file. Without counts, the time to create the registration manager and
+ * load the file is printed.
+ * 
+ * Must be run from the PackScheduler directory so registrar.properties is
+ * found.
+ * 
+ * @author Chirag Sreedhara
+ */
+public class SnapshotRestart {
+
+	/** Sections each student tries to enroll in */
+	private static final int ENROLLMENTS = 3;
+
+	/**
+	 * Writes or loads a snapshot.
+	 * 
+	 * @param args snapshot file, then optionally the student and section counts
+	 * @throws Exception if the snapshot cannot be written or loaded
+	 */
+	public static void main(String[] args) throws Exception {
+		if (args.length == 3) {
+			write(args[0], Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+		} else if (args.length == 1) {
+			long start = System.nanoTime();
+			RegistrationManager manager = RegistrationManager.getInstance();
+			manager.loadSnapshot(args[0]);
+			long nanos = System.nanoTime() - start;
+			System.out.printf("restart %d students %.0f ms%n", manager.getStudentDirectory().getStudents().size(),
+					nanos / 1e6);
+		} else {
+			System.out.println("Usage: SnapshotRestart file [students sections]");
+		}
+	}
+
+	/**
+	 * Generates a registration and saves it as a snapshot.
+	 * 
+	 * @param fileName snapshot file
+	 * @param students number of students
+	 * @param sections number of sections
+	 * @throws Exception if the snapshot cannot be written
+	 */
+	private static void write(String fileName, int students, int sections) throws Exception {
+		Path dir = Files.createTempDirectory("packscheduler-restart");
+		String courseFile = dir.resolve("course_records.txt").toString();
+		String studentFile = dir.resolve("student_records.txt").toString();
+		String facultyFile = dir.resolve("faculty_records.txt").toString();
+		int facultyCount = Math.max(1, sections / 7);
+		RecordGenerator.writeCourses(courseFile, sections, facultyCount);
+		RecordGenerator.writeStudents(studentFile, students);
+		RecordGenerator.writeFaculty(facultyFile, facultyCount);
+
+		RegistrationManager manager = RegistrationManager.getInstance();
+		manager.getFacultyDirectory().loadFacultyFromFile(facultyFile);
+		manager.getCourseCatalog().loadCoursesFromFile(courseFile);
+		manager.getStudentDirectory().loadStudentsFromFile(studentFile);
+		// Courses whose instructor has a conflict are left out of the catalog
+		List<Course> courses = manager.getCourseCatalog().getCourses();
+		List<Student> directory = manager.getStudentDirectory().getStudents();
+		for (int i = 0; i < directory.size(); i++) {
+			Student s = directory.get(i);
+			for (int k = 0; k < ENROLLMENTS; k++) {
+				Course c = courses.get((i * 7 + k * 1013) % courses.size());
+				if (s.canAdd(c) && c.getCourseRoll().canEnroll(s)) {
+					s.getSchedule().addCourseToSchedule(c);
+					c.getCourseRoll().enroll(s);
+				}
+			}
+		}
+		manager.saveSnapshot(fileName);
+		System.out.printf("wrote %d students, %d sections, %d bytes%n", directory.size(), courses.size(),
+				new File(fileName).length());
+	}
+}
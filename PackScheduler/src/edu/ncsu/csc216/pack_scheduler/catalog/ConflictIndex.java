@@ -0,0 +1,212 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+import edu.ncsu.csc216.pack_scheduler.course.Activity;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Indexes catalog sections by the weekly time slots they occupy, by course name
+ * and by credits. Each section gets a stable id, and every slot keeps bitsets of the
+ * sections covering all of it and of those meeting in only part of it. The
+ * sections conflicting with a whole schedule are then unions of the bitsets of
+ * the schedule's slots, with only sections that share a partly used slot with
+ * the schedule left to check exactly. This is the section-to-section conflict
+ * graph factored through the time slots, which stays linear in the catalog
+ * size instead of quadratic.
+ * 
+ * @author Chirag Sreedhara
+ */
+class ConflictIndex {
+
+	/** Number of occupancy mask bits */
+	private static final int SLOTS = Activity.OCCUPANCY_WORDS * Long.SIZE;
+
+	/** Ids of the indexed sections */
+	private IdentityHashMap<Course, Integer> ids;
+	/** Ids currently in use */
+	private BitSet live;
+	/** Sections covering each occupancy slot; null if none ever did */
+	private BitSet[] covering;
+	/** Sections meeting in part of each occupancy slot; null if none ever did */
+	private BitSet[] touching;
+	/** Sections meeting on days outside the occupancy mask */
+	private BitSet unmasked;
+	/** Sections of each course name */
+	private HashMap<String, BitSet> byName;
+	/** Sections with each number of credits */
+	private BitSet[] byCredits;
+
+	/**
+	 * Creates an empty index.
+	 */
+	ConflictIndex() {
+		clear();
+	}
+
+	/**
+	 * Removes every section from the index.
+	 */
+	void clear() {
+		ids = new IdentityHashMap<Course, Integer>();
+		live = new BitSet();
+		covering = new BitSet[SLOTS];
+		touching = new BitSet[SLOTS];
+		unmasked = new BitSet();
+		byName = new HashMap<String, BitSet>();
+		byCredits = new BitSet[Course.MAX_CREDITS + 1];
+		for (int i = 0; i < byCredits.length; i++) {
+			byCredits[i] = new BitSet();
+		}
+	}
+
+	/**
+	 * Adds a section to the index, reusing the lowest free id.
+	 * 
+	 * @param c section to add
+	 */
+	void add(Course c) {
+		int id = live.nextClearBit(0);
+		live.set(id);
+		ids.put(c, id);
+		update(c, id, true);
+	}
+
+	/**
+	 * Removes a section from the index.
+	 * 
+	 * @param c section to remove
+	 */
+	void remove(Course c) {
+		Integer id = ids.remove(c);
+		if (id != null) {
+			live.clear(id);
+			update(c, id, false);
+		}
+	}
+
+	/**
+	 * Returns the id of an indexed section.
+	 * 
+	 * @param c indexed section
+	 * @return the section's id, or -1 if it isn't indexed
+	 */
+	int idOf(Course c) {
+		Integer id = ids.get(c);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * Adds the sections covering all of any slot in the given mask to a set of
+	 * ids.
+	 * 
+	 * @param mask   occupancy mask of OCCUPANCY_WORDS longs
+	 * @param result ids to add to
+	 */
+	void addSectionsCovering(long[] mask, BitSet result) {
+		addSections(covering, mask, result);
+	}
+
+	/**
+	 * Adds the sections meeting in only part of any slot in the given mask to a
+	 * set of ids.
+	 * 
+	 * @param mask   occupancy mask of OCCUPANCY_WORDS longs
+	 * @param result ids to add to
+	 */
+	void addSectionsTouching(long[] mask, BitSet result) {
+		addSections(touching, mask, result);
+	}
+
+	/**
+	 * Adds the sections meeting on days outside the occupancy mask to a set of
+	 * ids.
+	 * 
+	 * @param result ids to add to
+	 */
+	void addUnmaskedSections(BitSet result) {
+		result.or(unmasked);
+	}
+
+	/**
+	 * Adds the sections with the given course name to a set of ids.
+	 * 
+	 * @param name   course name
+	 * @param result ids to add to
+	 */
+	void addSectionsOf(String name, BitSet result) {
+		BitSet sections = byName.get(name);
+		if (sections != null) {
+			result.or(sections);
+		}
+	}
+
+	/**
+	 * Adds the sections worth more than the given number of credits to a set of
+	 * ids.
+	 * 
+	 * @param credits most credits a section may have to be left out
+	 * @param result  ids to add to
+	 */
+	void addSectionsOver(int credits, BitSet result) {
+		for (int i = Math.max(credits + 1, 0); i < byCredits.length; i++) {
+			result.or(byCredits[i]);
+		}
+	}
+
+	/**
+	 * Adds the sections of each slot in the given mask to a set of ids.
+	 * 
+	 * @param bySlot sections of each slot
+	 * @param mask   occupancy mask of OCCUPANCY_WORDS longs
+	 * @param result ids to add to
+	 */
+	private static void addSections(BitSet[] bySlot, long[] mask, BitSet result) {
+		for (int word = 0; word < mask.length; word++) {
+			long bits = mask[word];
+			while (bits != 0) {
+				BitSet sections = bySlot[word * Long.SIZE + Long.numberOfTrailingZeros(bits)];
+				if (sections != null) {
+					result.or(sections);
+				}
+				bits &= bits - 1;
+			}
+		}
+	}
+
+	/**
+	 * Sets or clears a section's bit in each slot, name, credits and unmasked set
+	 * it belongs to.
+	 * 
+	 * @param c     section to update
+	 * @param id    id of the section
+	 * @param value true to set the bits and false to clear them
+	 */
+	private void update(Course c, int id, boolean value) {
+		long[] occupied = new long[Activity.OCCUPANCY_WORDS];
+		long[] covered = new long[Activity.OCCUPANCY_WORDS];
+		c.addOccupancyTo(occupied);
+		c.addCoverageTo(covered);
+		for (int word = 0; word < occupied.length; word++) {
+			long bits = occupied[word];
+			while (bits != 0) {
+				int slot = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+				BitSet[] bySlot = (covered[word] & Long.lowestOneBit(bits)) != 0 ? covering : touching;
+				if (bySlot[slot] == null) {
+					bySlot[slot] = new BitSet();
+				}
+				bySlot[slot].set(id, value);
+				bits &= bits - 1;
+			}
+		}
+		unmasked.set(id, value && c.hasUnmaskedDays());
+		byCredits[c.getCredits()].set(id, value);
+		BitSet sections = byName.computeIfAbsent(c.getName(), name -> new BitSet());
+		sections.set(id, value);
+		if (sections.isEmpty()) {
+			byName.remove(c.getName());
+		}
+	}
+}
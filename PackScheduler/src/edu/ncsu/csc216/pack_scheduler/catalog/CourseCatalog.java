@@ -5,10 +5,22 @@ package edu.ncsu.csc216.pack_scheduler.catalog;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import edu.ncsu.csc216.pack_scheduler.course.Activity;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.io.CourseRecordIO;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.io.RecordReport;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeListener;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeSupport;
 
 /**
  * CourseCatalog class that interacts with the list of courses
@@ -24,8 +36,31 @@ public class CourseCatalog {
 	/// ** Constant upper minute */
 	// private static final int UPPER_MINUTE = 60;
 
-	/** Sorted list of all available courses */
-	private SortedList<Course> catalog;
+	/** All available courses, sorted by name and section */
+	private ArrayList<Course> catalog;
+
+	/** Index of the catalog's courses keyed on name and section */
+	private HashMap<String, Course> index;
+
+	/** Index of the catalog's courses by meeting slot and name */
+	private ConflictIndex conflicts;
+
+	/**
+	 * Conflict index ids of the catalog's courses in catalog order, or null if
+	 * stale. Filled under the read lock, so the ids always match the catalog they
+	 * were built from.
+	 */
+	private volatile int[] catalogIds;
+
+	/**
+	 * Guards the catalog, its indexes and catalogIds. Registration sessions query
+	 * the catalog under the read lock while it is edited or replaced under the
+	 * write lock.
+	 */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/** Listeners for changes to the catalog's rows */
+	private final ListChangeSupport<Course> changes = new ListChangeSupport<Course>();
 
 	/**
 	 * Constructor for creating a new course catalog
@@ -38,7 +73,7 @@ public class CourseCatalog {
 	 * Creates a new course catalog with no courses in the catalog initially
 	 */
 	public void newCourseCatalog() {
-		catalog = new SortedList<Course>();
+		replace(new ArrayList<Course>(), new HashMap<String, Course>(), new ConflictIndex());
 	}
 
 	/**
@@ -48,11 +83,111 @@ public class CourseCatalog {
 	 * @throws IllegalArgumentException if file can't be read.
 	 */
 	public void loadCoursesFromFile(String fileName) {
+		ArrayList<Course> courses;
 		try {
-			catalog = CourseRecordIO.readCourseRecords(fileName);
+			// The courses come back sorted, so the list is built without insertion work
+			courses = new ArrayList<Course>(
+					Arrays.asList(CourseRecordIO.readSortedCourses(fileName, new RecordReport())));
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
+		HashMap<String, Course> newIndex = new HashMap<String, Course>();
+		ConflictIndex newConflicts = new ConflictIndex();
+		for (Course c : courses) {
+			newIndex.put(key(c.getName(), c.getSection()), c);
+			newConflicts.add(c);
+		}
+		replace(courses, newIndex, newConflicts);
+	}
+
+	/**
+	 * Replaces the catalog with the given courses, such as those read from a
+	 * snapshot. Courses whose name and section match an earlier course's are left
+	 * out.
+	 * 
+	 * @param courses courses to load
+	 */
+	public void loadCourses(Course[] courses) {
+		Course[] sorted = courses.clone();
+		// Already sorted when saved from a catalog, which the sort checks in one pass
+		Arrays.sort(sorted);
+		ArrayList<Course> unique = new ArrayList<Course>(sorted.length);
+		HashMap<String, Course> newIndex = new HashMap<String, Course>(sorted.length * 2);
+		ConflictIndex newConflicts = new ConflictIndex();
+		for (Course c : sorted) {
+			if (newIndex.putIfAbsent(key(c.getName(), c.getSection()), c) == null) {
+				unique.add(c);
+				newConflicts.add(c);
+			}
+		}
+		replace(unique, newIndex, newConflicts);
+	}
+
+	/**
+	 * Replaces the catalog and its indexes together under the write lock, so a
+	 * query never sees the new courses with the old indexes.
+	 * 
+	 * @param courses      new courses, sorted by name and section
+	 * @param newIndex     index of the new courses keyed on name and section
+	 * @param newConflicts conflict index of the new courses
+	 */
+	private void replace(ArrayList<Course> courses, HashMap<String, Course> newIndex, ConflictIndex newConflicts) {
+		lock.writeLock().lock();
+		try {
+			catalog = courses;
+			index = newIndex;
+			conflicts = newConflicts;
+			catalogIds = null;
+			changes.fireReplaced(catalog);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Adds a listener that is told about every course inserted, removed or
+	 * updated, and about the catalog being replaced.
+	 * 
+	 * @param listener listener to add
+	 */
+	public void addListChangeListener(ListChangeListener<Course> listener) {
+		changes.addListener(listener);
+	}
+
+	/**
+	 * Removes a listener added with addListChangeListener().
+	 * 
+	 * @param listener listener to remove
+	 */
+	public void removeListChangeListener(ListChangeListener<Course> listener) {
+		changes.removeListener(listener);
+	}
+
+	/**
+	 * Tells listeners that a course's row changed, as when a student enrolls in
+	 * or drops it. The catalog isn't searched, so this is safe to call from a
+	 * registration session while another thread edits the catalog; listeners
+	 * ignore courses that have no row.
+	 * 
+	 * @param course course that changed
+	 */
+	public void courseUpdated(Course course) {
+		changes.fireUpdated(course);
+	}
+
+	/**
+	 * Returns the courses in the catalog, sorted by name and section. The list is
+	 * a copy, so it can be used while another thread edits the catalog.
+	 * 
+	 * @return unmodifiable copy of the catalog's courses
+	 */
+	public List<Course> getCourses() {
+		lock.readLock().lock();
+		try {
+			return Collections.unmodifiableList(new ArrayList<Course>(catalog));
+		} finally {
+			lock.readLock().unlock();
+		}
 	}
 
 	/**
@@ -78,13 +213,22 @@ public class CourseCatalog {
 		Course adder = new Course(name, title, section, credits, instructorId, enrollmentCap, meetingDays, startTime,
 				endTime);
 
-		for (int i = 0; i < catalog.size(); i++) {
-			Course c = catalog.get(i);
-			if (adder.getName().equals(c.getName()) && adder.getSection().equals(c.getSection())) {
+		String key = key(adder.getName(), adder.getSection());
+		lock.writeLock().lock();
+		try {
+			if (index.containsKey(key)) {
 				return false;
 			}
+			int i = -indexOf(adder.getName(), adder.getSection()) - 1;
+			catalog.add(i, adder);
+			index.put(key, adder);
+			conflicts.add(adder);
+			catalogIds = null;
+			changes.fireInserted(i, adder);
+			return true;
+		} finally {
+			lock.writeLock().unlock();
 		}
-		return catalog.add(adder);
 	}
 
 	/**
@@ -97,13 +241,21 @@ public class CourseCatalog {
 	 *         could not be removed
 	 */
 	public boolean removeCourseFromCatalog(String name, String section) {
-		for (int i = 0; i < catalog.size(); i++) {
-			if (catalog.get(i).getName().equals(name) && catalog.get(i).getSection().equals(section)) {
-				catalog.remove(i);
-				return true;
+		lock.writeLock().lock();
+		try {
+			Course c = index.remove(key(name, section));
+			if (c == null) {
+				return false;
 			}
+			int i = indexOf(name, section);
+			catalog.remove(i);
+			conflicts.remove(c);
+			catalogIds = null;
+			changes.fireRemoved(i);
+			return true;
+		} finally {
+			lock.writeLock().unlock();
 		}
-		return false;
 	}
 
 	/**
@@ -115,15 +267,144 @@ public class CourseCatalog {
 	 * @return the specific course that is found
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
+		lock.readLock().lock();
+		try {
+			return index.get(key(name, section));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the catalog courses that could be added to the given schedule: those
+	 * that neither share a name with nor conflict with a scheduled course.
+	 * 
+	 * @param schedule schedule to add courses to
+	 * @return addable courses, sorted by name and section
+	 */
+	public List<Course> getAddableCourses(Schedule schedule) {
+		return getAddableCourses(schedule, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Returns the catalog courses that could be added to the given schedule
+	 * without going over a credit limit: those that neither share a name with nor
+	 * conflict with a scheduled course, and whose credits fit under the limit. A
+	 * course conflicts outright if either it or a scheduled course covers all of a
+	 * slot the other meets in. Only courses sharing a partly used slot with the
+	 * schedule are checked against the schedule itself.
+	 * 
+	 * @param schedule    schedule to add courses to
+	 * @param creditLimit most credits the schedule may hold
+	 * @return addable courses, sorted by name and section
+	 */
+	public List<Course> getAddableCourses(Schedule schedule, int creditLimit) {
+		long[] occupied = new long[Activity.OCCUPANCY_WORDS];
+		long[] covered = new long[Activity.OCCUPANCY_WORDS];
+		long[] partial = new long[Activity.OCCUPANCY_WORDS];
+		schedule.addOccupancyTo(occupied);
+		schedule.addCoverageTo(covered);
+		for (int i = 0; i < partial.length; i++) {
+			partial[i] = occupied[i] & ~covered[i];
+		}
+
+		lock.readLock().lock();
+		try {
+			return addableCourses(schedule, occupied, covered, partial, creditLimit);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Finds the addable courses for getAddableCourses(). The read lock must be
+	 * held.
+	 * 
+	 * @param schedule    schedule to add courses to
+	 * @param occupied    slots the schedule meets in
+	 * @param covered     slots the schedule covers completely
+	 * @param partial     slots the schedule meets in without covering
+	 * @param creditLimit most credits the schedule may hold
+	 * @return addable courses, sorted by name and section
+	 */
+	private List<Course> addableCourses(Schedule schedule, long[] occupied, long[] covered, long[] partial,
+			int creditLimit) {
+		BitSet excluded = new BitSet();
+		conflicts.addSectionsCovering(occupied, excluded);
+		conflicts.addSectionsTouching(covered, excluded);
+		for (String name : schedule.getCourseNames()) {
+			conflicts.addSectionsOf(name, excluded);
+		}
+		int creditRoom = creditLimit - schedule.getScheduleCredits();
+		if (creditRoom < Course.MAX_CREDITS) {
+			conflicts.addSectionsOver(creditRoom, excluded);
+		}
+		BitSet unsure = new BitSet();
+		conflicts.addSectionsTouching(partial, unsure);
+		if (schedule.hasUnmaskedDays()) {
+			conflicts.addUnmaskedSections(unsure);
+		}
 
-		for (int i = 0; i < catalog.size(); i++) {
-			if (catalog.get(i).getName().equals(name) && catalog.get(i).getSection().equals(section)) {
-				return catalog.get(i);
+		int[] ids = catalogIds;
+		if (ids == null) {
+			// Writers are locked out, so readers filling this at once build the same ids
+			ids = new int[catalog.size()];
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = conflicts.idOf(catalog.get(i));
+			}
+			catalogIds = ids;
+		}
+		List<Course> addable = new ArrayList<Course>();
+		for (int i = 0; i < ids.length; i++) {
+			int id = ids[i];
+			if (!excluded.get(id) && (!unsure.get(id) || schedule.canAdd(catalog.get(i)))) {
+				addable.add(catalog.get(i));
 			}
 		}
+		return addable;
+	}
 
-		return null;
+	/**
+	 * Builds the index key for a course's name and section. Sections are always
+	 * three digits, so the separator only guards against malformed lookups.
+	 * 
+	 * @param name    name of the course
+	 * @param section section of the course
+	 * @return the index key for the name and section
+	 */
+	private static String key(String name, String section) {
+		return name + ":" + section;
+	}
 
+	/**
+	 * Binary searches the sorted catalog for the position of the course with the
+	 * given name and section. Courses are sorted by name and then section, and a
+	 * name and section pair is unique within the catalog.
+	 * 
+	 * @param name    name of the course
+	 * @param section section of the course
+	 * @return the position of the course in the catalog, or (-(insertion point) -
+	 *         1) if not found
+	 */
+	private int indexOf(String name, String section) {
+		int low = 0;
+		int high = catalog.size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			Course c = catalog.get(mid);
+			int cmp = c.getName().compareTo(name);
+			if (cmp == 0) {
+				cmp = c.getSection().compareTo(section);
+			}
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(low + 1);
 	}
 
 	/**
@@ -133,12 +414,17 @@ public class CourseCatalog {
 	 */
 	public String[][] getCourseCatalog() {
 
-		String[][] catalogArray = new String[catalog.size()][5];
-		for (int i = 0; i < catalog.size(); i++) {
-			String[] course = catalog.get(i).getShortDisplayArray();
-			catalogArray[i] = course;
+		lock.readLock().lock();
+		try {
+			String[][] catalogArray = new String[catalog.size()][5];
+			for (int i = 0; i < catalog.size(); i++) {
+				String[] course = catalog.get(i).getShortDisplayArray();
+				catalogArray[i] = course;
+			}
+			return catalogArray;
+		} finally {
+			lock.readLock().unlock();
 		}
-		return catalogArray;
 	}
 
 	/**
@@ -150,7 +436,7 @@ public class CourseCatalog {
 	 */
 	public void saveCourseCatalog(String fileName) {
 		try {
-			CourseRecordIO.writeCourseRecords(fileName, catalog);
+			CourseRecordIO.writeCourseRecords(fileName, getCourses());
 		} catch (IOException e) {
 			throw new IllegalArgumentException("Unable to write to file " + fileName);
 		}
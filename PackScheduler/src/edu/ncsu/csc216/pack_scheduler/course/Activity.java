@@ -27,6 +27,24 @@ public abstract class Activity implements Conflict {
 	/** Upper minute limit */
 	public static final int UPPER_MIN = 59;
 
+	/** Weekdays covered by the occupancy mask, in mask order */
+	private static final String MASKED_DAYS = "MTWHF";
+
+	/** Minutes covered by one bit of the occupancy mask */
+	private static final int SLOT_MINUTES = 5;
+
+	/** Number of mask bits per day */
+	private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+	/** Number of longs in an occupancy mask */
+	public static final int OCCUPANCY_WORDS = (MASKED_DAYS.length() * SLOTS_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+
+	/** Weekly time slots the Activity touches on the masked days */
+	private long[] occupancy;
+
+	/** True if the Activity meets on a day outside the occupancy mask */
+	private boolean unmaskedDays;
+
 	/**
 	 * Creates a short display array that is used to add rows of the course catalog
 	 * and the student's schedule
@@ -169,7 +187,92 @@ public abstract class Activity implements Conflict {
 		this.meetingDays = meetingDays;
 		this.startTime = startTime;
 		this.endTime = endTime;
+		updateOccupancy();
+
+	}
+
+	/**
+	 * Rebuilds the occupancy mask from the meeting days and times. Each meeting
+	 * sets every slot from the one holding the start time through the one holding
+	 * the end time, so activities that touch at an endpoint share a slot.
+	 */
+	private void updateOccupancy() {
+		long[] mask = new long[OCCUPANCY_WORDS];
+		boolean unmasked = false;
+		int firstSlot = ((startTime / 100) * 60 + startTime % 100) / SLOT_MINUTES;
+		int lastSlot = ((endTime / 100) * 60 + endTime % 100) / SLOT_MINUTES;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			int day = MASKED_DAYS.indexOf(meetingDays.charAt(i));
+			if (day == -1) {
+				// Arranged activities have no meeting time to conflict with
+				unmasked |= meetingDays.charAt(i) != 'A';
+				continue;
+			}
+			for (int bit = day * SLOTS_PER_DAY + firstSlot; bit <= day * SLOTS_PER_DAY + lastSlot; bit++) {
+				mask[bit / Long.SIZE] |= 1L << bit;
+			}
+		}
+		occupancy = mask;
+		unmaskedDays = unmasked;
+	}
+
+	/**
+	 * Returns true if the Activity meets on a day that the occupancy mask does not
+	 * cover. Arranged activities meet at no time and so have no such days.
+	 * 
+	 * @return true if the Activity has unmasked meeting days
+	 */
+	public boolean hasUnmaskedDays() {
+		return unmaskedDays;
+	}
+
+	/**
+	 * Returns true if the Activity's occupancy mask shares a slot with the given
+	 * mask. A false result means the Activity cannot conflict with anything in the
+	 * mask on the masked days.
+	 * 
+	 * @param mask occupancy mask of OCCUPANCY_WORDS longs
+	 * @return true if the masks overlap
+	 */
+	public boolean overlapsOccupancy(long[] mask) {
+		for (int i = 0; i < OCCUPANCY_WORDS; i++) {
+			if ((occupancy[i] & mask[i]) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the Activity's occupied slots to the given mask.
+	 * 
+	 * @param mask occupancy mask of OCCUPANCY_WORDS longs to add to
+	 */
+	public void addOccupancyTo(long[] mask) {
+		for (int i = 0; i < OCCUPANCY_WORDS; i++) {
+			mask[i] |= occupancy[i];
+		}
+	}
 
+	/**
+	 * Adds the slots the Activity covers from their first minute through their
+	 * last to the given mask. Anything meeting in one of these slots overlaps the
+	 * Activity, so unlike the occupancy mask this needs no exact check.
+	 * 
+	 * @param mask occupancy mask of OCCUPANCY_WORDS longs to add to
+	 */
+	public void addCoverageTo(long[] mask) {
+		int firstSlot = ((startTime / 100) * 60 + startTime % 100 + SLOT_MINUTES - 1) / SLOT_MINUTES;
+		int lastSlot = ((endTime / 100) * 60 + endTime % 100 + 1) / SLOT_MINUTES - 1;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			int day = MASKED_DAYS.indexOf(meetingDays.charAt(i));
+			if (day == -1) {
+				continue;
+			}
+			for (int bit = day * SLOTS_PER_DAY + firstSlot; bit <= day * SLOTS_PER_DAY + lastSlot; bit++) {
+				mask[bit / Long.SIZE] |= 1L << bit;
+			}
+		}
 	}
 
 	/**
@@ -215,22 +318,47 @@ public abstract class Activity implements Conflict {
 	 */
 	@Override
 	public void checkConflict(Activity possibleConflictingActivity) throws ConflictException {
-		for(int i = 0; i < meetingDays.length(); i++) {
-			for(int j = 0; j < possibleConflictingActivity.getMeetingDays().length(); j++) {
-				if(meetingDays.charAt(i) == possibleConflictingActivity.getMeetingDays().charAt(j)) {
-					if(startTime < possibleConflictingActivity.getEndTime() &&
-							endTime > possibleConflictingActivity.getStartTime()) {
-						throw new ConflictException();
-					}
-					else if(startTime == possibleConflictingActivity.getEndTime() && endTime > possibleConflictingActivity.getStartTime()) {
-						throw new ConflictException();
-					}
-					else if(endTime == possibleConflictingActivity.getStartTime() && startTime < possibleConflictingActivity.getEndTime()) {
-						throw new ConflictException();
-					}
-				}
+		if (conflictsWith(possibleConflictingActivity)) {
+			throw new ConflictException();
+		}
+	}
+
+	/**
+	 * Returns true if the given activity meets on a shared day at an overlapping
+	 * or touching time. The occupancy masks rule out most pairs before the meeting
+	 * days are compared.
+	 * 
+	 * @param other the activity being checked for a conflict
+	 * @return true if the activities conflict
+	 */
+	public boolean conflictsWith(Activity other) {
+		if (!(unmaskedDays && other.unmaskedDays) && !overlapsOccupancy(other.occupancy)) {
+			return false;
+		}
+		String otherDays = other.getMeetingDays();
+		for (int i = 0; i < meetingDays.length(); i++) {
+			if (otherDays.indexOf(meetingDays.charAt(i)) != -1 && timesConflict(other)) {
+				return true;
 			}
 		}
+		return false;
+	}
+
+	/**
+	 * Returns true if the Activity's time overlaps or touches the other activity's
+	 * time.
+	 * 
+	 * @param other the activity to compare times with
+	 * @return true if the times conflict
+	 */
+	private boolean timesConflict(Activity other) {
+		if (startTime < other.getEndTime() && endTime > other.getStartTime()) {
+			return true;
+		} else if (startTime == other.getEndTime() && endTime > other.getStartTime()) {
+			return true;
+		} else {
+			return endTime == other.getStartTime() && startTime < other.getEndTime();
+		}
 	}
 
 	/**
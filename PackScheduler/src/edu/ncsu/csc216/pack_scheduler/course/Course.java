@@ -2,7 +2,6 @@ package edu.ncsu.csc216.pack_scheduler.course;
 
 import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
 import edu.ncsu.csc216.pack_scheduler.course.validator.CourseNameValidator;
-import edu.ncsu.csc216.pack_scheduler.course.validator.InvalidTransitionException;
 
 /**
  * Course class that creates a course and sets the course's name, title, section
@@ -46,8 +45,8 @@ public class Course extends Activity implements Comparable<Course> {
 	/** Maximum number of course credits */
 	public static final int MAX_CREDITS = 5;
 
-	/** FSM Course Name Validator */
-	private CourseNameValidator validator = new CourseNameValidator();
+	/** FSM Course Name Validator shared by all courses */
+	private static final CourseNameValidator VALIDATOR = new CourseNameValidator();
 
 	/**
 	 * Constructs a course with the given name, title, section, credits,
@@ -132,11 +131,7 @@ public class Course extends Activity implements Comparable<Course> {
 			throw new IllegalArgumentException("Invalid course name.");
 		}
 
-		try {
-			if (!validator.isValid(name)) {
-				throw new IllegalArgumentException("Invalid course name.");
-			}
-		} catch (InvalidTransitionException e) {
+		if (VALIDATOR.check(name) != CourseNameValidator.VALID) {
 			throw new IllegalArgumentException("Invalid course name.");
 		}
 
@@ -1,9 +1,12 @@
 package edu.ncsu.csc216.pack_scheduler.course.roll;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
-import edu.ncsu.csc216.pack_scheduler.util.LinkedAbstractList;
-import edu.ncsu.csc216.pack_scheduler.util.LinkedQueue;
+import edu.ncsu.csc216.pack_scheduler.util.ArrayQueue;
 
 /**
  * The CourseRoll class will serve as a list of a courses roll (enrollment).
@@ -14,8 +17,11 @@ import edu.ncsu.csc216.pack_scheduler.util.LinkedQueue;
  */
 public class CourseRoll {
 
-	/** The Students on roll for a specific course */
-	private LinkedAbstractList<Student> roll;
+	/**
+	 * The Students on roll for a specific course. The roll is unordered, so it is
+	 * kept only as a membership set keyed on Student identity.
+	 */
+	private Set<Student> roll;
 
 	/** The Enrollment cap for a specific course */
 	private int enrollmentCap;
@@ -26,8 +32,19 @@ public class CourseRoll {
 	/** Maximum # of enrollments allowed for a class */
 	private static final int MAX_ENROLLMENT = 250;
 
-	/** Waitlist functionality */
-	private LinkedQueue<Student> waitlist;
+	/** Maximum # of students on the waitlist */
+	private static final int WAITLIST_SIZE = 10;
+
+	/**
+	 * Waitlist functionality, kept in a ring buffer. Dropped students are left in
+	 * the queue and skipped when they reach the front, so the queue may hold
+	 * entries that are no longer in waitlisted, and a student who rejoins may be
+	 * queued twice.
+	 */
+	private ArrayQueue<Student> waitlist;
+
+	/** Students currently on the waitlist, keyed on Student identity */
+	private Set<Student> waitlisted;
 
 	/** stores the course that the roll is associated with */
 	private Course c;
@@ -43,9 +60,10 @@ public class CourseRoll {
 		if (c == null) {
 			throw new IllegalArgumentException("Course parameter is null");
 		}
-		roll = new LinkedAbstractList<Student>(enrollmentCap);
+		roll = Collections.newSetFromMap(new IdentityHashMap<Student, Boolean>());
 		setEnrollmentCap(enrollmentCap);
-		waitlist = new LinkedQueue<Student>(10);
+		waitlist = new ArrayQueue<Student>(WAITLIST_SIZE, false);
+		waitlisted = Collections.newSetFromMap(new IdentityHashMap<Student, Boolean>());
 		this.c = c;
 	}
 
@@ -68,7 +86,6 @@ public class CourseRoll {
 		if (enrollmentCap < MIN_ENROLLMENT || enrollmentCap > MAX_ENROLLMENT || enrollmentCap < roll.size()) {
 			throw new IllegalArgumentException("Invalid enrollment cap");
 		}
-		roll.setCapacity(enrollmentCap);
 		this.enrollmentCap = enrollmentCap;
 	}
 
@@ -82,55 +99,121 @@ public class CourseRoll {
 		if (s == null || !canEnroll(s)) {
 			throw new IllegalArgumentException("Can not enroll student");
 		}
-		try {
+		if (roll.size() < enrollmentCap) {
 			roll.add(s);
-		} catch (Exception e) {
-			try {
-				waitlist.enqueue(s);
-			} catch (Exception e1) {
-				throw new IllegalArgumentException("Can not enroll student");
+			return;
+		}
+		try {
+			if (waitlist.size() > waitlisted.size()) {
+				compactWaitlist();
 			}
+			waitlist.enqueue(s);
+			waitlisted.add(s);
+		} catch (Exception e1) {
+			throw new IllegalArgumentException("Can not enroll student");
 		}
 	}
 
 	/**
-	 * Drops a student from a course
+	 * Drops a student from a course. If the student was on the roll, the seat goes
+	 * to the first waitlisted student whose schedule has or can take the course,
+	 * and the course is added to their schedule unless it is already there.
+	 * Waitlisted students ahead of them who can't take the course are removed from
+	 * the waitlist.
 	 * 
 	 * @param s student to drop from a course
-	 * @throws IllegalArgumentException if Student can no tbe dropped
+	 * @throws IllegalArgumentException if the student is null
 	 */
 	public void drop(Student s) {
 		if (s == null) {
 			throw new IllegalArgumentException("Input is null.");
 		}
-		try {
-			//drop from roll
-			for (int i = 0; i < roll.size(); i++) {
-				if (roll.get(i).equals(s)) {
-					roll.remove(i);
-					if (waitlist.size() > 0) {
-						Student s1 = (Student) waitlist.dequeue();
+		if (roll.remove(s)) {
+			promoteFromWaitlist();
+		} else {
+			//drop from waitlist, the queue entry is skipped once it reaches the front
+			waitlisted.remove(s);
+		}
+	}
 
-						roll.add(s1);
-						s1.getSchedule().addCourseToSchedule(c);
+	/**
+	 * Returns the student that would be moved onto the roll if a seat opened now,
+	 * without changing the waitlist. That student may still be removed from the
+	 * waitlist instead if their schedule can't take the course.
+	 * 
+	 * @return the first student still on the waitlist, or null if no one is waiting
+	 */
+	public Student getNextOnWaitlist() {
+		for (Student s : waitlist) {
+			if (waitlisted.contains(s)) {
+				return s;
+			}
+		}
+		return null;
+	}
 
-					}
+	/**
+	 * Moves the first waitlisted student who can take the course onto the roll,
+	 * removing those ahead of them who can't.
+	 */
+	private void promoteFromWaitlist() {
+		Student next = pollWaitlist();
+		while (next != null) {
+			// Students waitlisted through registration already have the course
+			if (isScheduled(next)) {
+				roll.add(next);
+				return;
+			}
+			if (next.canAdd(c)) {
+				try {
+					next.getSchedule().addCourseToSchedule(c);
+					roll.add(next);
 					return;
+				} catch (IllegalArgumentException e) {
+					// Passed over like any other student who can't take the course
 				}
 			}
-			//drop from waitlist
-			LinkedQueue<Student> replace = new LinkedQueue<>(10);
-			
-			while(!waitlist.isEmpty()) {
-				Student stu = waitlist.dequeue();
-				if(!s.equals(stu)) {
-					replace.enqueue(stu);
-				}
+			next = pollWaitlist();
+		}
+	}
+
+	/**
+	 * Removes and returns the first student still on the waitlist, discarding the
+	 * entries of students who dropped from it.
+	 * 
+	 * @return the first student still on the waitlist, or null if no one is waiting
+	 */
+	private Student pollWaitlist() {
+		while (!waitlist.isEmpty()) {
+			Student s = waitlist.dequeue();
+			if (waitlisted.remove(s)) {
+				return s;
 			}
-			waitlist = replace;
-		} catch (Exception e) {
-			throw new IllegalArgumentException("Student can not be removed");
 		}
+		return null;
+	}
+
+	/**
+	 * Returns true if this roll's course is on the student's schedule.
+	 * 
+	 * @param s student to check
+	 * @return true if the course is scheduled
+	 */
+	private boolean isScheduled(Student s) {
+		for (Course scheduled : s.getSchedule().getCourses()) {
+			if (scheduled == c) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the entries of students that have dropped from the waitlist from the
+	 * queue, keeping the order of those still waiting.
+	 */
+	private void compactWaitlist() {
+		waitlist.removeIf(stu -> !waitlisted.contains(stu));
 	}
 
 	/**
@@ -149,15 +232,70 @@ public class CourseRoll {
 	 * @return true if student can be enrolled, false otherwise
 	 */
 	public boolean canEnroll(Student s) {
-		if (waitlist.size() == 10 || waitlist.contains(s)) {
+		if (waitlisted.size() == WAITLIST_SIZE || waitlisted.contains(s)) {
 			return false;
 		}
-		for (int i = 0; i < roll.size(); i++) {
-			if (roll.get(i).equals(s)) {
-				return false;
+		return !roll.contains(s);
+	}
+
+	/**
+	 * Returns the students on the roll, in no particular order
+	 * 
+	 * @return enrolled students
+	 */
+	public Student[] getEnrolledStudents() {
+		return roll.toArray(new Student[roll.size()]);
+	}
+
+	/**
+	 * Returns the students on the waitlist, first in line first
+	 * 
+	 * @return waitlisted students
+	 */
+	public Student[] getWaitlistedStudents() {
+		Student[] waiting = new Student[waitlisted.size()];
+		int i = 0;
+		for (Student s : waitlist) {
+			if (waitlisted.contains(s)) {
+				waiting[i++] = s;
+			}
+		}
+		return waiting;
+	}
+
+	/**
+	 * Replaces the roll and waitlist with saved ones, such as those read from a
+	 * snapshot. Unlike enroll(), students are not moved off the waitlist while the
+	 * roll has open seats.
+	 * 
+	 * @param enrolled   students on the roll
+	 * @param waitlisted students on the waitlist, first in line first
+	 * @throws IllegalArgumentException if the students do not fit the enrollment
+	 *                                  cap and waitlist, or a student is repeated
+	 */
+	public void restore(Student[] enrolled, Student[] waitlisted) {
+		if (enrolled.length > enrollmentCap || waitlisted.length > WAITLIST_SIZE) {
+			throw new IllegalArgumentException("Can not enroll student");
+		}
+		Set<Student> restoredRoll = Collections
+				.newSetFromMap(new IdentityHashMap<Student, Boolean>(enrolled.length));
+		Set<Student> restoredWaitlisted = Collections
+				.newSetFromMap(new IdentityHashMap<Student, Boolean>(waitlisted.length));
+		ArrayQueue<Student> restoredWaitlist = new ArrayQueue<Student>(WAITLIST_SIZE, false);
+		for (Student s : enrolled) {
+			if (s == null || !restoredRoll.add(s)) {
+				throw new IllegalArgumentException("Can not enroll student");
+			}
+		}
+		for (Student s : waitlisted) {
+			if (s == null || restoredRoll.contains(s) || !restoredWaitlisted.add(s)) {
+				throw new IllegalArgumentException("Can not enroll student");
 			}
+			restoredWaitlist.enqueue(s);
 		}
-		return true;
+		roll = restoredRoll;
+		waitlist = restoredWaitlist;
+		this.waitlisted = restoredWaitlisted;
 	}
 
 	/**
@@ -166,6 +304,6 @@ public class CourseRoll {
 	 * @return size of waitlist
 	 */
 	public int getNumberOnWaitlist() {
-		return waitlist.size();
+		return waitlisted.size();
 	}
 }
@@ -1,7 +1,12 @@
 package edu.ncsu.csc216.pack_scheduler.course.validator;
 
 /**
- * Finite State Machine for checking whether a Course's Name is valid.
+ * Finite State Machine for checking whether a Course's Name is valid. The
+ * machine is a static transition table, so the validator holds no state and a
+ * single instance can be shared between threads.
+ * 
+ * The course name must match the following format: (1-4 letters)(3
+ * digits)(optionally, a 1 letter suffix)
  * 
  * @author Chirag Sreedhara
  * @author Fahad Ansari
@@ -9,266 +14,115 @@ package edu.ncsu.csc216.pack_scheduler.course.validator;
  */
 public class CourseNameValidator {
 
-	/**
-	 * Stores if valid end state has been met
-	 */
-	private boolean validEndState;
-	/**
-	 * Count of letters
-	 */
-	private int letterCount;
-	/**
-	 * Count of digits
-	 */
-	private int digitCount;
-	/**
-	 * State for current number
-	 */
-	private State stateNumber;
-	/**
-	 * State for current letter
-	 */
-	private State stateLetter;
-	/**
-	 * Value for initial state
-	 */
-	private State stateInitial;
-	/**
-	 * State for suffix
-	 */
-	private State stateSuffix;
-	/**
-	 * The current existing state
-	 */
-	private State currentState;
-
-	/**
-	 * Constructor method
-	 */
-	public CourseNameValidator() {
-		stateNumber = new NumberState();
-		stateLetter = new LetterState();
-		stateInitial = new InitialState();
-		stateSuffix = new SuffixState();
-		currentState = stateInitial;
-		validEndState = false;
-		letterCount = 0;
-		digitCount = 0;
-	};
-
-	/**
-	 * Abstract state class for extension by subclasses
-	 * 
-	 * @author Chirag Sreedhara
-	 * @author Fahad Ansari
-	 * @author Ryan Stauffer
-	 */
-	public abstract class State {
-
-		/**
-		 * Constructor method
-		 */
-		public State() {
-			// Default constructor
-		}
-
-		/**
-		 * Abstract method for when letter is encountered
-		 * 
-		 * @throws InvalidTransitionException if transition is invalid
-		 */
-		public abstract void onLetter() throws InvalidTransitionException;
-
-		/**
-		 * Abstract method for when digit is encountered
-		 * 
-		 * @throws InvalidTransitionException if transition is invalid
-		 */
-		public abstract void onDigit() throws InvalidTransitionException;
-
-		/**
-		 * Abstract method for when non-digit/letter is encountered
-		 * 
-		 * @throws InvalidTransitionException if transition is invalid
-		 */
-		public void onOther() throws InvalidTransitionException {
-			throw new InvalidTransitionException("Course name can only contain letters and digits.");
+	/** Code returned for a valid course name */
+	public static final int VALID = 0;
+	/** Code returned for a name that ends before its 3 digits */
+	public static final int INCOMPLETE = 1;
+	/** Code returned for a name containing something other than letters and digits */
+	public static final int INVALID_CHARACTER = 2;
+	/** Code returned for a name starting with a digit */
+	public static final int NO_LEADING_LETTER = 3;
+	/** Code returned for a name with more than 4 leading letters */
+	public static final int TOO_MANY_LETTERS = 4;
+	/** Code returned for a name with a letter after fewer than 3 digits */
+	public static final int TOO_FEW_DIGITS = 5;
+	/** Code returned for a name with more than 3 digits */
+	public static final int TOO_MANY_DIGITS = 6;
+	/** Code returned for a name with more than a 1 letter suffix */
+	public static final int SUFFIX_TOO_LONG = 7;
+	/** Code returned for a name with digits after its suffix */
+	public static final int DIGIT_AFTER_SUFFIX = 8;
+
+	/** Messages for each rejection code, indexed by code */
+	private static final String[] MESSAGES = { null, null, "Course name can only contain letters and digits.",
+			"Course name must start with a letter.", "Course name cannot start with more than 4 letters.",
+			"Course name must have 3 digits.", "Course name can only have 3 digits.",
+			"Course name can only have a 1 letter suffix.", "Course name cannot contain digits after the suffix." };
+
+	/** Character class of letters */
+	private static final int LETTER = 0;
+	/** Character class of digits */
+	private static final int DIGIT = 1;
+	/** Character class of everything else */
+	private static final int OTHER = 2;
+
+	/** Character classes of the ASCII characters */
+	private static final byte[] ASCII_CLASS = new byte[128];
+
+	static {
+		for (int c = 0; c < ASCII_CLASS.length; c++) {
+			ASCII_CLASS[c] = (byte) classOf((char) c);
 		}
 	}
 
+	/** State before any character */
+	private static final int INITIAL = 0;
+	/** State after the third digit; the first accepting state */
+	private static final int THIRD_DIGIT = 7;
+	/** State after the suffix letter; the second accepting state */
+	private static final int SUFFIX = 8;
+
 	/**
-	 * State in for handling any letters found
-	 * 
-	 * @author Chirag Sreedhara
-	 * @author Fahad Ansari
-	 * @author Ryan Stauffer
+	 * Transitions indexed by state then character class. States 1-4 count the
+	 * leading letters and states 5-7 the digits. Negative entries reject the name
+	 * with the negated code.
 	 */
-	public class LetterState extends State {
-
-		/**
-		 * Maximum number prefix letters
-		 */
-		private static final int MAX_PREFIX_LETTERS = 4;
-
-		/**
-		 * Construcor method
-		 */
-		private LetterState() {
-
-		}
-
-		/**
-		 * Method for if on letter and new letter is recieved
-		 * 
-		 * @throws InvalidTransitionException if invalid name
-		 */
-		@Override
-		public void onLetter() throws InvalidTransitionException {
-			letterCount++;
-			if (letterCount > MAX_PREFIX_LETTERS && !validEndState) {
-				throw new InvalidTransitionException("Course name cannot start with more than 4 letters.");
-			}
-		}
-
-		/**
-		 * Method if on letter and digit is recieved
-		 */
-		@Override
-		public void onDigit() {
-			digitCount++;
-			currentState = stateNumber;
-		}
-
-	}
+	private static final byte[][] TRANSITIONS = {
+			// LETTER, DIGIT, OTHER
+			{ 1, -NO_LEADING_LETTER, -INVALID_CHARACTER }, // initial
+			{ 2, 5, -INVALID_CHARACTER }, // 1 letter
+			{ 3, 5, -INVALID_CHARACTER }, // 2 letters
+			{ 4, 5, -INVALID_CHARACTER }, // 3 letters
+			{ -TOO_MANY_LETTERS, 5, -INVALID_CHARACTER }, // 4 letters
+			{ -TOO_FEW_DIGITS, 6, -INVALID_CHARACTER }, // 1 digit
+			{ -TOO_FEW_DIGITS, 7, -INVALID_CHARACTER }, // 2 digits
+			{ SUFFIX, -TOO_MANY_DIGITS, -INVALID_CHARACTER }, // 3 digits
+			{ -SUFFIX_TOO_LONG, -DIGIT_AFTER_SUFFIX, -INVALID_CHARACTER } // suffix
+	};
 
 	/**
-	 * State in for handling if there are any additional letter at end of string
-	 * found
-	 * 
-	 * @author Chirag Sreedhara
-	 * @author Fahad Ansari
-	 * @author Ryan Stauffer
+	 * Constructor method
 	 */
-	public class SuffixState extends State {
-
-		/**
-		 * Constructor method
-		 */
-		private SuffixState() {
-
-		}
-
-		/**
-		 * Method if on suffix and letter recieved
-		 * 
-		 * @throws InvalidTransitionException if invalid name
-		 */
-		@Override
-		public void onLetter() throws InvalidTransitionException {
-			throw new InvalidTransitionException("Course name can only have a 1 letter suffix.");
-
-		}
-
-		/**
-		 * Method if on suffix and digit recieved
-		 * 
-		 * @throws InvalidTransitionException if invalid name
-		 */
-		@Override
-		public void onDigit() throws InvalidTransitionException {
-			throw new InvalidTransitionException("Course name cannot contain digits after the suffix.");
-
-		}
-
+	public CourseNameValidator() {
+		// No state; the machine is the static transition table
 	}
 
 	/**
-	 * Starter state for
+	 * Runs the course name through the machine without throwing. A null name is
+	 * treated as an empty one.
 	 * 
-	 * @author Chirag Sreedhara
-	 * @author Fahad Ansari
-	 * @author Ryan Stauffer
+	 * @param courseName the name of the course
+	 * @return VALID if the course name is valid, INCOMPLETE if it ends early, or
+	 *         the code of the transition that rejected it
 	 */
-	public class InitialState extends State {
-
-		/**
-		 * Constructor method
-		 */
-		private InitialState() {
-
-		}
-
-		/**
-		 * Method if starting with letter
-		 */
-		@Override
-		public void onLetter() {
-			letterCount++;
-			currentState = stateLetter;
+	public int check(String courseName) {
+		if (courseName == null) {
+			return INCOMPLETE;
 		}
-
-		/**
-		 * Method if starting with digit
-		 * 
-		 * @throws InvalidTransitionException if invalid name
-		 */
-		@Override
-		public void onDigit() throws InvalidTransitionException {
-			throw new InvalidTransitionException("Course name must start with a letter.");
+		int state = INITIAL;
+		for (int i = 0; i < courseName.length(); i++) {
+			char c = courseName.charAt(i);
+			int next = TRANSITIONS[state][c < ASCII_CLASS.length ? ASCII_CLASS[c] : classOf(c)];
+			if (next < 0) {
+				return -next;
+			}
+			state = next;
 		}
-
+		return state == THIRD_DIGIT || state == SUFFIX ? VALID : INCOMPLETE;
 	}
 
 	/**
-	 * State in for handling any digitss found
+	 * Returns the message describing a rejection code.
 	 * 
-	 * @author Chirag Sreedhara
-	 * @author Fahad Ansari
-	 * @author Ryan Stauffer
+	 * @param code code returned by check
+	 * @return message for the code, or null for VALID and INCOMPLETE
+	 * @throws IllegalArgumentException if the code is unknown
 	 */
-	public class NumberState extends State {
-		/**
-		 * Max length of nums
-		 */
-		private static final int COURSE_NUBER_LENGTH = 3;
-
-		/**
-		 * Constructor
-		 */
-		private NumberState() {
-
+	public static String getMessage(int code) {
+		if (code < 0 || code >= MESSAGES.length) {
+			throw new IllegalArgumentException("Invalid code.");
 		}
-
-		/**
-		 * Method if you have digit and recieve letter
-		 * 
-		 * @throws InvalidTransitionException if invalid name
-		 */
-		@Override
-		public void onLetter() throws InvalidTransitionException {
-			if (digitCount != 3) {
-				throw new InvalidTransitionException("Course name must have 3 digits.");
-			}
-			currentState = stateSuffix;
-
-		}
-
-		/**
-		 * Method if you have digit and recieve digit
-		 * 
-		 * @throws InvalidTransitionException if invalid name
-		 */
-		@Override
-		public void onDigit() throws InvalidTransitionException {
-			digitCount++;
-			if (digitCount > COURSE_NUBER_LENGTH) {
-				throw new InvalidTransitionException("Course name can only have 3 digits.");
-			}
-			if (digitCount == COURSE_NUBER_LENGTH) {
-				validEndState = true;
-			}
-		}
-
+		return MESSAGES[code];
 	}
 
 	/**
@@ -285,23 +139,23 @@ public class CourseNameValidator {
 	 *                                    transition
 	 */
 	public boolean isValid(String courseName) throws InvalidTransitionException {
-		validEndState = false;
-		letterCount = 0;
-		digitCount = 0;
-		this.currentState = stateInitial;
-		// Set the state field to be the initial state
-
-		for (char c : courseName.toCharArray()) {
-			if (Character.isLetter(c)) {
-				currentState.onLetter();
-			} else if (Character.isDigit(c)) {
-				currentState.onDigit();
-			} else {
-				currentState.onOther();
-			}
+		int code = check(courseName);
+		if (code > INCOMPLETE) {
+			throw new InvalidTransitionException(MESSAGES[code]);
 		}
+		return code == VALID;
+	}
 
-		// Iterate through the ID, examining one character at a time
-		return validEndState;
+	/**
+	 * Classifies a character for the transition table.
+	 * 
+	 * @param c character to classify
+	 * @return LETTER, DIGIT or OTHER
+	 */
+	private static int classOf(char c) {
+		if (Character.isLetter(c)) {
+			return LETTER;
+		}
+		return Character.isDigit(c) ? DIGIT : OTHER;
 	}
 }
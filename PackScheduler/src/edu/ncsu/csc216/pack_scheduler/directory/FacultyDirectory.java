@@ -2,13 +2,19 @@ package edu.ncsu.csc216.pack_scheduler.directory;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Locale;
 
 import edu.ncsu.csc216.pack_scheduler.io.FacultyRecordIO;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.PasswordHasher;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeListener;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeSupport;
 
 /**
  * Maintains a directory of all Faculty enrolled at NC State. All students have
@@ -21,8 +27,10 @@ public class FacultyDirectory {
 
 	/** List of faculty in the directory */
 	private LinkedList<Faculty> facultyDirectory;
-	/** Hashing algorithm */
-	private static final String HASH_ALGORITHM = "SHA-256";
+	/** Index of the directory's faculty keyed on their case-folded id */
+	private HashMap<String, Faculty> idIndex;
+	/** Listeners for changes to the directory's rows */
+	private final ListChangeSupport<Faculty> changes = new ListChangeSupport<Faculty>();
 
 	/**
 	 * Creates an empty faculty directory.
@@ -37,6 +45,8 @@ public class FacultyDirectory {
 	 */
 	public void newFacultyDirectory() {
 		facultyDirectory = new LinkedList<Faculty>();
+		idIndex = new HashMap<String, Faculty>();
+		changes.fireReplaced(facultyDirectory);
 	}
 
 	/**
@@ -52,6 +62,59 @@ public class FacultyDirectory {
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
+		idIndex = new HashMap<String, Faculty>();
+		for (Faculty f : facultyDirectory) {
+			idIndex.putIfAbsent(foldId(f.getId()), f);
+		}
+		changes.fireReplaced(facultyDirectory);
+	}
+
+	/**
+	 * Replaces the directory with the given faculty, such as those read from a
+	 * snapshot. Faculty whose id matches an earlier faculty's are left out.
+	 * 
+	 * @param faculty faculty to load, in directory order
+	 */
+	public void loadFaculty(Faculty[] faculty) {
+		facultyDirectory = new LinkedList<Faculty>();
+		idIndex = new HashMap<String, Faculty>();
+		// Appending through one iterator skips the list's linear duplicate check,
+		// which the id index already covers
+		ListIterator<Faculty> end = facultyDirectory.listIterator();
+		for (Faculty f : faculty) {
+			if (idIndex.putIfAbsent(foldId(f.getId()), f) == null) {
+				end.add(f);
+			}
+		}
+		changes.fireReplaced(facultyDirectory);
+	}
+
+	/**
+	 * Returns the faculty in the directory, in directory order.
+	 * 
+	 * @return unmodifiable view of the directory's faculty
+	 */
+	public List<Faculty> getFaculty() {
+		return Collections.unmodifiableList(facultyDirectory);
+	}
+
+	/**
+	 * Adds a listener that is told about every faculty inserted or removed, and
+	 * about the directory being replaced.
+	 * 
+	 * @param listener listener to add
+	 */
+	public void addListChangeListener(ListChangeListener<Faculty> listener) {
+		changes.addListener(listener);
+	}
+
+	/**
+	 * Removes a listener added with addListChangeListener().
+	 * 
+	 * @param listener listener to remove
+	 */
+	public void removeListChangeListener(ListChangeListener<Faculty> listener) {
+		changes.removeListener(listener);
 	}
 
 	/**
@@ -74,50 +137,23 @@ public class FacultyDirectory {
 	 */
 	public boolean addFaculty(String firstName, String lastName, String id, String email, String password,
 			String repeatPassword, int maxCredits) {
-		String hashPW = "";
-		String repeatHashPW = "";
-		if (password == null || repeatPassword == null || "".equals(password) || "".equals(repeatPassword)) {
-			throw new IllegalArgumentException("Invalid password");
-		}
-
-		hashPW = hashString(password);
-		repeatHashPW = hashString(repeatPassword);
-
-		if (!hashPW.equals(repeatHashPW)) {
-			throw new IllegalArgumentException("Passwords do not match");
-		}
+		String hashPW = PasswordHasher.hash(password, repeatPassword);
 
 		// If an IllegalArgumentException is thrown, it's passed up from Student
 		// to the GUI
 		Faculty student = null;
 		student = new Faculty(firstName, lastName, id, email, hashPW, maxCredits);
 
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			Faculty s = facultyDirectory.get(i);
-			if (s.getId().equals(student.getId())) {
-				return false;
-			}
+		String key = foldId(student.getId());
+		if (idIndex.containsKey(key)) {
+			return false;
 		}
-		return facultyDirectory.add(student);
-	}
-
-	/**
-	 * Hashes a String according to the SHA-256 algorithm, and outputs the digest in
-	 * base64 encoding. This allows the encoded digest to be safely copied, as it
-	 * only uses [a-zA-Z0-9+/=].
-	 * 
-	 * @param toHash the String to hash
-	 * @return the encoded digest of the hash algorithm in base64
-	 * @throws IllegalArgumentException if NoSuchAlgorithmException is found.
-	 */
-	private static String hashString(String toHash) {
-		try {
-			MessageDigest digest1 = MessageDigest.getInstance(HASH_ALGORITHM);
-			digest1.update(toHash.getBytes());
-			return Base64.getEncoder().encodeToString(digest1.digest());
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalArgumentException("Cannot hash password");
+		if (facultyDirectory.add(student)) {
+			idIndex.put(key, student);
+			changes.fireInserted(facultyDirectory.size() - 1, student);
+			return true;
 		}
+		return false;
 	}
 
 	/**
@@ -129,16 +165,35 @@ public class FacultyDirectory {
 	 * @return true if removed
 	 */
 	public boolean removeFaculty(String studentId) {
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			Faculty s = facultyDirectory.get(i);
-			if (s.getId().contains(studentId)) {
-				facultyDirectory.remove(i);
+		if (studentId == null) {
+			return false;
+		}
+		Faculty f = idIndex.remove(foldId(studentId));
+		if (f == null) {
+			return false;
+		}
+		Iterator<Faculty> it = facultyDirectory.iterator();
+		for (int i = 0; it.hasNext(); i++) {
+			if (it.next() == f) {
+				it.remove();
+				changes.fireRemoved(i);
 				return true;
 			}
 		}
 		return false;
 	}
 
+	/**
+	 * Folds an id to the form used as the directory's index key, so that lookups
+	 * ignore case without comparing every id in the directory.
+	 * 
+	 * @param id the id to fold
+	 * @return the case-folded id
+	 */
+	private static String foldId(String id) {
+		return id.toLowerCase(Locale.ROOT);
+	}
+
 	/**
 	 * Returns all faculty in the directory with a column for first name, last name,
 	 * and id.
@@ -147,11 +202,12 @@ public class FacultyDirectory {
 	 */
 	public String[][] getFacultyDirectory() {
 		String[][] directory = new String[facultyDirectory.size()][3];
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			Faculty s = facultyDirectory.get(i);
+		int i = 0;
+		for (Faculty s : facultyDirectory) {
 			directory[i][0] = s.getFirstName();
 			directory[i][1] = s.getLastName();
 			directory[i][2] = s.getId();
+			i++;
 		}
 		return directory;
 	}
@@ -177,14 +233,10 @@ public class FacultyDirectory {
 	 * @return Matching faculty given id
 	 */
 	public Faculty getFacultyById(String id) {
-
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			if (facultyDirectory.get(i).getId().equalsIgnoreCase(id)) {
-				return facultyDirectory.get(i);
-			}
+		if (id == null) {
+			return null;
 		}
-
-		return null;
+		return idIndex.get(foldId(id));
 	}
 
 }
@@ -2,13 +2,19 @@ package edu.ncsu.csc216.pack_scheduler.directory;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 
+import edu.ncsu.csc216.pack_scheduler.io.RecordReport;
 import edu.ncsu.csc216.pack_scheduler.io.StudentRecordIO;
+import edu.ncsu.csc216.pack_scheduler.user.PasswordHasher;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeListener;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeSupport;
 
 /**
  * Maintains a directory of all students enrolled at NC State. All students have
@@ -20,10 +26,12 @@ import edu.ncsu.csc217.collections.list.SortedList;
  */
 public class StudentDirectory {
 
-	/** List of students in the directory */
-	private SortedList<Student> studentDirectory;
-	/** Hashing algorithm */
-	private static final String HASH_ALGORITHM = "SHA-256";
+	/** List of students in the directory, sorted by last name, first name and id */
+	private ArrayList<Student> studentDirectory;
+	/** Index of the directory's students keyed on their case-folded id */
+	private HashMap<String, Student> idIndex;
+	/** Listeners for changes to the directory's rows */
+	private final ListChangeSupport<Student> changes = new ListChangeSupport<Student>();
 
 	/**
 	 * Creates an empty student directory.
@@ -37,7 +45,9 @@ public class StudentDirectory {
 	 * list unless saved by the user.
 	 */
 	public void newStudentDirectory() {
-		studentDirectory = new SortedList<Student>();
+		studentDirectory = new ArrayList<Student>();
+		idIndex = new HashMap<String, Student>();
+		changes.fireReplaced(studentDirectory);
 	}
 
 	/**
@@ -48,11 +58,68 @@ public class StudentDirectory {
 	 * @throws IllegalArgumentException if file can't be read.
 	 */
 	public void loadStudentsFromFile(String fileName) {
+		Student[] students;
 		try {
-			studentDirectory = StudentRecordIO.readStudentRecords(fileName);
+			// The students come back sorted, so the list is built without insertion work
+			students = StudentRecordIO.readSortedStudents(fileName, new RecordReport());
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
+		studentDirectory = new ArrayList<Student>(Arrays.asList(students));
+		idIndex = new HashMap<String, Student>(students.length * 2);
+		for (Student s : students) {
+			idIndex.putIfAbsent(foldId(s.getId()), s);
+		}
+		changes.fireReplaced(studentDirectory);
+	}
+
+	/**
+	 * Replaces the directory with the given students, such as those read from a
+	 * snapshot. Students whose id matches an earlier student's are left out.
+	 * 
+	 * @param students students to load
+	 */
+	public void loadStudents(Student[] students) {
+		Student[] sorted = students.clone();
+		// Already sorted when saved from a directory, which the sort checks in one pass
+		Arrays.sort(sorted);
+		studentDirectory = new ArrayList<Student>(sorted.length);
+		idIndex = new HashMap<String, Student>(sorted.length * 2);
+		for (Student s : sorted) {
+			if (idIndex.putIfAbsent(foldId(s.getId()), s) == null) {
+				studentDirectory.add(s);
+			}
+		}
+		changes.fireReplaced(studentDirectory);
+	}
+
+	/**
+	 * Returns the students in the directory, sorted by last name, first name and
+	 * id.
+	 * 
+	 * @return unmodifiable view of the directory's students
+	 */
+	public List<Student> getStudents() {
+		return Collections.unmodifiableList(studentDirectory);
+	}
+
+	/**
+	 * Adds a listener that is told about every student inserted or removed, and
+	 * about the directory being replaced.
+	 * 
+	 * @param listener listener to add
+	 */
+	public void addListChangeListener(ListChangeListener<Student> listener) {
+		changes.addListener(listener);
+	}
+
+	/**
+	 * Removes a listener added with addListChangeListener().
+	 * 
+	 * @param listener listener to remove
+	 */
+	public void removeListChangeListener(ListChangeListener<Student> listener) {
+		changes.removeListener(listener);
 	}
 
 	/**
@@ -75,18 +142,7 @@ public class StudentDirectory {
 	 */
 	public boolean addStudent(String firstName, String lastName, String id, String email, String password,
 			String repeatPassword, int maxCredits) {
-		String hashPW = "";
-		String repeatHashPW = "";
-		if (password == null || repeatPassword == null || "".equals(password) || "".equals(repeatPassword)) {
-			throw new IllegalArgumentException("Invalid password");
-		}
-
-		hashPW = hashString(password);
-		repeatHashPW = hashString(repeatPassword);
-
-		if (!hashPW.equals(repeatHashPW)) {
-			throw new IllegalArgumentException("Passwords do not match");
-		}
+		String hashPW = PasswordHasher.hash(password, repeatPassword);
 
 		// If an IllegalArgumentException is thrown, it's passed up from Student
 		// to the GUI
@@ -97,32 +153,15 @@ public class StudentDirectory {
 			student = new Student(firstName, lastName, id, email, hashPW, maxCredits);
 		}
 
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			Student s = studentDirectory.get(i);
-			if (s.getId().equals(student.getId())) {
-				return false;
-			}
-		}
-		return studentDirectory.add(student);
-	}
-
-	/**
-	 * Hashes a String according to the SHA-256 algorithm, and outputs the digest in
-	 * base64 encoding. This allows the encoded digest to be safely copied, as it
-	 * only uses [a-zA-Z0-9+/=].
-	 * 
-	 * @param toHash the String to hash
-	 * @return the encoded digest of the hash algorithm in base64
-	 * @throws IllegalArgumentException if NoSuchAlgorithmException is found.
-	 */
-	private static String hashString(String toHash) {
-		try {
-			MessageDigest digest1 = MessageDigest.getInstance(HASH_ALGORITHM);
-			digest1.update(toHash.getBytes());
-			return Base64.getEncoder().encodeToString(digest1.digest());
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalArgumentException("Cannot hash password");
+		String key = foldId(student.getId());
+		if (idIndex.containsKey(key)) {
+			return false;
 		}
+		int i = insertionPoint(student);
+		studentDirectory.add(i, student);
+		idIndex.put(key, student);
+		changes.fireInserted(i, student);
+		return true;
 	}
 
 	/**
@@ -134,14 +173,85 @@ public class StudentDirectory {
 	 * @return true if removed
 	 */
 	public boolean removeStudent(String studentId) {
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			Student s = studentDirectory.get(i);
-			if (s.getId().contains(studentId)) {
-				studentDirectory.remove(i);
-				return true;
+		if (studentId == null) {
+			return false;
+		}
+		Student s = idIndex.remove(foldId(studentId));
+		if (s == null) {
+			return false;
+		}
+		int i = indexOf(s);
+		studentDirectory.remove(i);
+		changes.fireRemoved(i);
+		return true;
+	}
+
+	/**
+	 * Binary searches the sorted directory for the position of the given student.
+	 * Students that compare equal are checked by identity so the exact indexed
+	 * student is found.
+	 * 
+	 * @param student student to find
+	 * @return the position of the student in the directory, or -1 if not found
+	 */
+	private int indexOf(Student student) {
+		int low = 0;
+		int high = studentDirectory.size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = studentDirectory.get(mid).compareTo(student);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				for (int i = mid; i >= 0 && studentDirectory.get(i).compareTo(student) == 0; i--) {
+					if (studentDirectory.get(i) == student) {
+						return i;
+					}
+				}
+				for (int i = mid + 1; i < studentDirectory.size()
+						&& studentDirectory.get(i).compareTo(student) == 0; i++) {
+					if (studentDirectory.get(i) == student) {
+						return i;
+					}
+				}
+				return -1;
 			}
 		}
-		return false;
+		return -1;
+	}
+
+	/**
+	 * Binary searches the sorted directory for the position a new student would
+	 * be inserted at.
+	 * 
+	 * @param student student to insert
+	 * @return the first position whose student sorts after the given student
+	 */
+	private int insertionPoint(Student student) {
+		int low = 0;
+		int high = studentDirectory.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (studentDirectory.get(mid).compareTo(student) <= 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Folds an id to the form used as the directory's index key, so that lookups
+	 * ignore case without comparing every id in the directory.
+	 * 
+	 * @param id the id to fold
+	 * @return the case-folded id
+	 */
+	private static String foldId(String id) {
+		return id.toLowerCase(Locale.ROOT);
 	}
 
 	/**
@@ -182,14 +292,10 @@ public class StudentDirectory {
 	 * @return Matching student given id
 	 */
 	public Student getStudentById(String id) {
-
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			if (studentDirectory.get(i).getId().equalsIgnoreCase(id)) {
-				return studentDirectory.get(i);
-			}
+		if (id == null) {
+			return null;
 		}
-
-		return null;
+		return idIndex.get(foldId(id));
 	}
 
 }
@@ -0,0 +1,111 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Replaces a file without ever leaving it half written. Everything is written to
+ * a temporary file in the same directory, which commit() forces to disk and
+ * renames over the target. Until then the target keeps its old contents, and a
+ * crash at any point leaves either the old or the new file.
+ * 
+ * @author Chirag Sreedhara
+ */
+final class AtomicFile implements Closeable {
+
+	/** File being replaced */
+	private final Path target;
+	/** Temporary file being written */
+	private final Path temp;
+	/** Channel writing the temporary file */
+	private final FileChannel channel;
+	/** True once the temporary file has replaced the target */
+	private boolean committed;
+
+	/**
+	 * Starts replacing the given file.
+	 * 
+	 * @param fileName file to replace
+	 * @throws FileNotFoundException if the file's directory doesn't exist or can't
+	 *                               be written
+	 * @throws IOException           if the temporary file cannot be created
+	 */
+	AtomicFile(String fileName) throws IOException {
+		target = Paths.get(fileName).toAbsolutePath();
+		FileChannel created = null;
+		Path name = null;
+		while (created == null) {
+			// Not Files.createTempFile(), whose owner-only permissions would carry over
+			name = target.resolveSibling(
+					"." + target.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+			try {
+				created = FileChannel.open(name, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+			} catch (FileAlreadyExistsException e) {
+				// Try another name
+			} catch (NoSuchFileException e) {
+				throw new FileNotFoundException(fileName + " (No such file or directory)");
+			} catch (AccessDeniedException e) {
+				throw new FileNotFoundException(fileName + " (Permission denied)");
+			}
+		}
+		temp = name;
+		channel = created;
+	}
+
+	/**
+	 * Returns the channel writing the new contents.
+	 * 
+	 * @return channel of the temporary file
+	 */
+	FileChannel getChannel() {
+		return channel;
+	}
+
+	/**
+	 * Forces the new contents to disk and renames them over the target.
+	 * 
+	 * @throws IOException if the file cannot be written or renamed
+	 */
+	void commit() throws IOException {
+		channel.force(true);
+		channel.close();
+		try {
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+		committed = true;
+		// Persist the rename itself; not every platform can open a directory
+		try (FileChannel directory = FileChannel.open(target.getParent(), StandardOpenOption.READ)) {
+			directory.force(true);
+		} catch (IOException e) {
+			// The rename is still atomic, just not yet durable
+		}
+	}
+
+	/**
+	 * Discards the new contents unless they were committed, leaving the target as
+	 * it was.
+	 * 
+	 * @throws IOException if the temporary file cannot be removed
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!committed) {
+			channel.close();
+			Files.deleteIfExists(temp);
+		}
+	}
+}
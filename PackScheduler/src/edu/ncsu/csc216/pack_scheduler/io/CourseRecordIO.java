@@ -1,12 +1,16 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
@@ -31,51 +35,233 @@ public class CourseRecordIO {
 	 * @param fileName file to read Course records from
 	 * @return a list of valid Courses
 	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @deprecated Use readSortedCourses(), which returns the same Courses in an
+	 *             array. Building the SortedList costs O(n) per Course, since
+	 *             each add() checks the whole list for a duplicate.
 	 */
+	@Deprecated
 	public static SortedList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName)); // Create a file scanner to read the file
+		return readCourseRecords(fileName, new RecordReport());
+	}
+
+	/**
+	 * Reads course records from a file and generates a list of valid Courses. Any
+	 * invalid or duplicate Courses are skipped and recorded in the given report.
+	 * Instructors are looked up in the RegistrationManager's FacultyDirectory.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param report   report to record skipped lines in
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException    if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after opening
+	 * @deprecated Use readSortedCourses(), which returns the same Courses in an
+	 *             array. Building the SortedList costs O(n) per Course, since
+	 *             each add() checks the whole list for a duplicate.
+	 */
+	@Deprecated
+	public static SortedList<Course> readCourseRecords(String fileName, RecordReport report)
+			throws FileNotFoundException {
+		return readCourseRecords(fileName, RegistrationManager.getInstance().getFacultyDirectory()::getFacultyById,
+				report);
+	}
+
+	/**
+	 * Reads course records from a file and generates a list of valid Courses. All
+	 * lines are parsed first, and then each Course is added to the schedule of its
+	 * instructor in file order. A Course whose instructor cannot teach it is
+	 * skipped like an invalid line, and a Course whose instructor is not found is
+	 * kept without an instructor.
+	 * 
+	 * @param fileName    file to read Course records from
+	 * @param facultyById looks up a Faculty by id, returning null if there is none
+	 * @param report      report to record skipped lines in
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException    if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after opening
+	 * @deprecated Use readSortedCourses(), which returns the same Courses in an
+	 *             array. Building the SortedList costs O(n) per Course, since
+	 *             each add() checks the whole list for a duplicate.
+	 */
+	@Deprecated
+	public static SortedList<Course> readCourseRecords(String fileName, Function<String, Faculty> facultyById,
+			RecordReport report) throws FileNotFoundException {
+		Course[] sorted = readSortedCourses(fileName, facultyById, report);
 		SortedList<Course> courses = new SortedList<Course>(); // Create an empty array of Course objects
-		while (fileReader.hasNextLine()) { // While we have more lines in the file
-			try { // Attempt to do the following
-					// Read the line, process it in readCourse, and get the object
-					// If trying to construct a Course in readCourse() results in an exception, flow
-					// of control will transfer to the catch block, below
-				Course course = readCourse(fileReader.nextLine());
-
-				// Create a flag to see if the newly created Course is a duplicate of something
-				// already in the list
-				boolean duplicate = false;
-				// Look at all the courses in our list
-				for (int i = 0; i < courses.size(); i++) {
-					// Get the course at index i
-					Course current = courses.get(i);
-					// Check if the name and section are the same
-					if (course.getName().equals(current.getName())
-							&& course.getSection().equals(current.getSection())) {
-						// It's a duplicate!
-						duplicate = true;
-						break; // We can break out of the loop, no need to continue searching
-					}
+		// SortedList.add() walks the whole list in contains() before inserting, so
+		// this is O(n^2) even though the Courses are already sorted
+		for (Course c : sorted) {
+			courses.add(c);
+		}
+		// Return the List with all the courses we read!
+		return courses;
+	}
+
+	/**
+	 * Reads course records from a file into an array of valid Courses sorted by
+	 * name and section. Instructors are looked up in the RegistrationManager's
+	 * FacultyDirectory.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param report   report to record skipped lines in
+	 * @return sorted array of valid Courses
+	 * @throws FileNotFoundException    if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after opening
+	 */
+	public static Course[] readSortedCourses(String fileName, RecordReport report) throws FileNotFoundException {
+		return readSortedCourses(fileName, RegistrationManager.getInstance().getFacultyDirectory()::getFacultyById,
+				report);
+	}
+
+	/**
+	 * Reads course records from a file into an array of valid Courses sorted by
+	 * name and section. Instructors are bound in file order as in
+	 * readCourseRecords().
+	 * 
+	 * @param fileName    file to read Course records from
+	 * @param facultyById looks up a Faculty by id, returning null if there is none
+	 * @param report      report to record skipped lines in
+	 * @return sorted array of valid Courses
+	 * @throws FileNotFoundException    if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after opening
+	 */
+	public static Course[] readSortedCourses(String fileName, Function<String, Faculty> facultyById,
+			RecordReport report) throws FileNotFoundException {
+		return readUnboundCourses(fileName, report).bind(facultyById);
+	}
+
+	/**
+	 * Reads course records from a file without adding the Courses to their
+	 * instructors' schedules. The file is parsed in parallel shards, duplicate
+	 * name and section pairs are found through a hash set, and the Courses are
+	 * sorted once. Nothing outside the file is touched, so the read may run on any
+	 * thread and be cancelled through the report's progress.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param report   report to record skipped lines in
+	 * @return valid Courses waiting to be bound to their instructors
+	 * @throws FileNotFoundException    if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after opening
+	 * @throws CancellationException    if the read is cancelled
+	 */
+	public static UnboundCourses readUnboundCourses(String fileName, RecordReport report)
+			throws FileNotFoundException {
+		RecordShards<Course> shards = RecordShards.read(fileName, CourseRecordIO::readCourse, Course[]::new,
+				report.getProgress());
+		Course[] read = shards.getRecords();
+		int[] lineNumbers = shards.getRecordLines();
+
+		// Keeps the first Course read with each name and section
+		HashSet<String> keys = new HashSet<String>(read.length * 2);
+		int[] duplicateLines = new int[0];
+		int duplicates = 0;
+		int size = 0;
+		for (int i = 0; i < read.length; i++) {
+			Course course = read[i];
+			if (keys.add(course.getName() + ":" + course.getSection())) {
+				read[size] = course;
+				lineNumbers[size++] = lineNumbers[i];
+			} else {
+				if (duplicates == duplicateLines.length) {
+					duplicateLines = Arrays.copyOf(duplicateLines, Math.max(16, duplicates * 2));
 				}
-				// If the course is NOT a duplicate
-				if (!duplicate) {
-					courses.add(course); // Add to the List!
-				} // Otherwise ignore
+				duplicateLines[duplicates++] = lineNumbers[i];
+			}
+		}
+		shards.report(report, Arrays.copyOf(duplicateLines, duplicates));
+		return new UnboundCourses(Arrays.copyOf(read, size), Arrays.copyOf(lineNumbers, size), report);
+	}
+
+	/**
+	 * Valid Courses read from a file, in file order and sorted, whose instructors
+	 * have not been given them yet.
+	 */
+	public static final class UnboundCourses {
+
+		/** Courses in file order */
+		private final Course[] courses;
+		/** Line number of each Course */
+		private final int[] lineNumbers;
+		/** Courses sorted by name and section */
+		private final Course[] sorted;
+		/** Report of the read */
+		private final RecordReport report;
+
+		/**
+		 * Sorts the Courses read.
+		 * 
+		 * @param courses     Courses in file order
+		 * @param lineNumbers line number of each Course
+		 * @param report      report of the read
+		 */
+		private UnboundCourses(Course[] courses, int[] lineNumbers, RecordReport report) {
+			this.courses = courses;
+			this.lineNumbers = lineNumbers;
+			this.report = report;
+			sorted = courses.clone();
+			Arrays.parallelSort(sorted);
+		}
+
+		/**
+		 * Adds each Course to its instructor's schedule in file order, as
+		 * readCourseRecords() does, and skips the Courses an instructor can't teach.
+		 * Should be called once, on the thread that uses the faculty.
+		 * 
+		 * @param facultyById looks up a Faculty by id, returning null if there is none
+		 * @return Courses that were bound, sorted by name and section
+		 */
+		public Course[] bind(Function<String, Faculty> facultyById) {
+			Set<Course> rejected = Collections.newSetFromMap(new IdentityHashMap<Course, Boolean>());
+			for (int i = 0; i < courses.length; i++) {
+				if (!bindInstructor(courses[i], facultyById)) {
+					rejected.add(courses[i]);
+					report.skip(lineNumbers[i]);
+				}
+			}
+			if (rejected.isEmpty()) {
+				return sorted;
+			}
+			Course[] bound = new Course[sorted.length - rejected.size()];
+			int size = 0;
+			for (Course course : sorted) {
+				if (!rejected.contains(course)) {
+					bound[size++] = course;
+				}
+			}
+			return bound;
+		}
+	}
+
+	/**
+	 * Adds a Course read with an instructor id to that instructor's schedule. The
+	 * Course's instructor id is cleared first and is set again by the schedule if
+	 * the instructor exists.
+	 * 
+	 * @param course      Course to bind
+	 * @param facultyById looks up a Faculty by id
+	 * @return false if the instructor cannot be assigned the Course
+	 */
+	private static boolean bindInstructor(Course course, Function<String, Faculty> facultyById) {
+		String instructorId = course.getInstructorId();
+		if (instructorId == null) {
+			return true;
+		}
+		course.setInstructorId(null);
+		Faculty f = facultyById.apply(instructorId);
+		if (f != null) {
+			try {
+				f.getSchedule().addCourseToSchedule(course);
 			} catch (IllegalArgumentException e) {
-				// The line is invalid b/c we couldn't create a course, skip it!
+				return false;
 			}
 		}
-		// Close the Scanner b/c we're responsible with our file handles
-		fileReader.close();
-		// Return the List with all the courses we read!
-		return courses;
+		return true;
 	}
 
 	/**
 	 * Read individual line of a specific course and create a course object with the
 	 * specific information on the line.
 	 * 
-	 * @param line of a specific course from the file
+	 * @param scan reader positioned on the line of a specific course
 	 * @return a newly constructed Course object with the information about the
 	 *         course that was read from the line
 	 * @throws IllegalArgumentException if meeting days are arranged and there are
@@ -86,49 +272,42 @@ public class CourseRecordIO {
 	 * @throws IllegalArgumentException if the code catches an
 	 *                                  InputMismatchException
 	 */
-	private static Course readCourse(String line) {
-		try (Scanner scan = new Scanner(line)) {
-			scan.useDelimiter(",");
+	private static Course readCourse(RecordReader scan) {
+		try {
+			String name = scan.next();
+			String title = scan.next();
+			String section = scan.next();
+			int creditHours = scan.nextInt();
+			String instructorId = scan.next();
+			int enrollmentCap = scan.nextInt();
+			String meetingDays = scan.next();
+			// Kept on the Course until its instructor is bound
+			String instructor = instructorId.isEmpty() ? null : instructorId;
+			Course newCourse;
 
-			try {
-				String name = scan.next();
-				String title = scan.next();
-				String section = scan.next();
-				int creditHours = scan.nextInt();
-				String instructorId = scan.next();
-				int enrollmentCap = scan.nextInt();
-				String meetingDays = scan.next();
-				Course newCourse;
-
-				if ("A".equals(meetingDays)) {
-					if (scan.hasNext()) {
-						throw new IllegalArgumentException();
-					} else {
-						newCourse = new Course(name, title, section, creditHours, null, enrollmentCap, meetingDays);
-
-					}
+			if ("A".equals(meetingDays)) {
+				if (scan.hasNext()) {
+					throw new IllegalArgumentException();
 				} else {
-					int startTime = scan.nextInt();
-					int endTime = scan.nextInt();
-
-					if (scan.hasNext()) {
-						throw new IllegalArgumentException();
-					}
-
-					newCourse = new Course(name, title, section, creditHours, null, enrollmentCap, meetingDays,
-							startTime, endTime);
+					newCourse = new Course(name, title, section, creditHours, instructor, enrollmentCap, meetingDays);
 
 				}
+			} else {
+				int startTime = scan.nextInt();
+				int endTime = scan.nextInt();
 
-				Faculty f = RegistrationManager.getInstance().getFacultyDirectory().getFacultyById(instructorId);
-				if (f != null) {
-					f.getSchedule().addCourseToSchedule(newCourse);
+				if (scan.hasNext()) {
+					throw new IllegalArgumentException();
 				}
 
-				return newCourse;
-			} catch (NoSuchElementException e) {
-				throw new IllegalArgumentException();
+				newCourse = new Course(name, title, section, creditHours, instructor, enrollmentCap, meetingDays,
+						startTime, endTime);
+
 			}
+
+			return newCourse;
+		} catch (NoSuchElementException e) {
+			throw new IllegalArgumentException();
 		}
 	}
 
@@ -140,14 +319,60 @@ public class CourseRecordIO {
 	 * @throws IOException if cannot write to file
 	 */
 	public static void writeCourseRecords(String fileName, SortedList<Course> courses) throws IOException {
-		PrintStream fileWriter = new PrintStream(new File(fileName));
-
-		for (int i = 0; i < courses.size(); i++) {
-			fileWriter.println(courses.get(i).toString());
+		try (RecordWriter out = new RecordWriter(fileName)) {
+			for (int i = 0; i < courses.size(); i++) {
+				writeCourse(out, courses.get(i));
+			}
+			out.commit();
 		}
+	}
 
-		fileWriter.close();
+	/**
+	 * Writes the given list of Courses to a file in list order
+	 * 
+	 * @param fileName file to write schedule of Courses to
+	 * @param courses  list of Courses to write
+	 * @throws IOException if cannot write to file
+	 */
+	public static void writeCourseRecords(String fileName, List<Course> courses) throws IOException {
+		writeCourseRecords(fileName, courses, new RecordProgress());
+	}
+
+	/**
+	 * Writes the given list of Courses to a file in list order, adding the bytes
+	 * written to the given progress. If the progress is cancelled the file is
+	 * left as it was.
+	 * 
+	 * @param fileName file to write schedule of Courses to
+	 * @param courses  list of Courses to write
+	 * @param progress progress of the write
+	 * @throws IOException           if cannot write to file
+	 * @throws CancellationException if the write is cancelled
+	 */
+	public static void writeCourseRecords(String fileName, List<Course> courses, RecordProgress progress)
+			throws IOException {
+		try (RecordWriter out = new RecordWriter(fileName, progress)) {
+			for (Course c : courses) {
+				writeCourse(out, c);
+			}
+			out.commit();
+		}
+	}
 
+	/**
+	 * Writes a Course as a record in the same form as Course.toString()
+	 * 
+	 * @param out writer of the records file
+	 * @param c   Course to write
+	 * @throws IOException if cannot write to file
+	 */
+	private static void writeCourse(RecordWriter out, Course c) throws IOException {
+		out.field(c.getName()).field(c.getTitle()).field(c.getSection()).field(c.getCredits())
+				.field(c.getInstructorId()).field(c.getCourseRoll().getEnrollmentCap()).field(c.getMeetingDays());
+		if (!"A".equals(c.getMeetingDays())) {
+			out.field(c.getStartTime()).field(c.getEndTime());
+		}
+		out.endRecord();
 	}
 
 }
\ No newline at end of file
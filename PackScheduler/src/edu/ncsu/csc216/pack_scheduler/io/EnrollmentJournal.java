@@ -0,0 +1,470 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of registration events made since a snapshot. Appending
+ * only copies the event into a memory buffer. A background thread writes the
+ * buffered events to the file and forces them to disk together, so one fsync
+ * commits every event appended while the previous one ran.
+ * 
+ * The durability window is the longest an appended event may wait before its
+ * batch is written. A window of 0 makes append() wait until its event is on
+ * disk. Larger windows return straight away, so events appended within the
+ * window before a crash may be lost.
+ * 
+ * A journal starts with a header of magic, version and the checksum of the
+ * snapshot it follows, as ints. Each event is then an int body length, the body
+ * and a CRC32 of the body. A body is the event type as a byte followed by a user
+ * id, course name and section, each written as in SnapshotIO. Replay stops at
+ * the first event that was only partly written.
+ * 
+ * @author Chirag Sreedhara
+ */
+public class EnrollmentJournal implements Closeable {
+
+	/** Event for a student enrolling in a course */
+	public static final int ENROLL = 1;
+	/** Event for a student dropping a course, which may promote a waitlisted student */
+	public static final int DROP = 2;
+	/** Event for a faculty member being assigned a course */
+	public static final int ADD_FACULTY = 3;
+	/** Event for a faculty member being unassigned a course */
+	public static final int REMOVE_FACULTY = 4;
+	/** Event for a faculty member's schedule being reset; has no course */
+	public static final int RESET_FACULTY_SCHEDULE = 5;
+
+	/** First four bytes of every journal, "PKJN" */
+	private static final int MAGIC = 0x504B4A4E;
+
+	/** Version of the journal layout written */
+	private static final int VERSION = 1;
+
+	/** String length that stands for null */
+	private static final int NULL_STRING = 0xFFFF;
+
+	/** Strings in each event */
+	private static final int STRINGS = 3;
+
+	/** Smallest event body */
+	private static final int MIN_BODY_BYTES = Byte.BYTES + STRINGS * Short.BYTES;
+
+	/** Largest event body */
+	private static final int MAX_BODY_BYTES = MIN_BODY_BYTES + STRINGS * (NULL_STRING - 1);
+
+	/** Initial size of the event buffers */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/** Size the pending buffer may grow to before appends wait for the flusher */
+	private static final int MAX_BUFFER_SIZE = 1 << 24;
+
+	/** Name of the journal file */
+	private final String fileName;
+	/** Channel the journal is written to */
+	private final FileChannel channel;
+	/** Longest an event may wait to be written, in nanoseconds */
+	private final long durabilityWindow;
+	/** Thread writing batches of events to the file */
+	private final Thread flusher;
+
+	/** Guards every field below */
+	private final ReentrantLock lock = new ReentrantLock();
+	/** Signalled when the flusher has events to write */
+	private final Condition flushNeeded = lock.newCondition();
+	/** Signalled when a batch has been forced to disk */
+	private final Condition flushed = lock.newCondition();
+	/** Events appended since the last batch was taken */
+	private ByteBuffer pending = ByteBuffer.allocate(BUFFER_SIZE);
+	/** Spare buffer swapped in for pending when a batch is taken */
+	private ByteBuffer spare = ByteBuffer.allocate(BUFFER_SIZE);
+	/** Checksum reused for each event */
+	private final CRC32 crc = new CRC32();
+	/** Number of events appended */
+	private long appended;
+	/** Number of events forced to disk */
+	private long durable;
+	/** True if a caller is waiting for the pending events to be written */
+	private boolean syncRequested;
+	/** True once close() has been called */
+	private boolean closed;
+	/** Error that stopped the flusher, if any */
+	private IOException failure;
+
+	/**
+	 * Starts an empty journal following the snapshot with the given checksum,
+	 * replacing any journal already in the file.
+	 * 
+	 * @param fileName               file to journal to
+	 * @param snapshotChecksum       checksum of the snapshot the journal follows
+	 * @param durabilityWindowMillis longest an event may wait to be written, in
+	 *                               milliseconds
+	 * @throws IOException              if the file cannot be written
+	 * @throws IllegalArgumentException if the window is negative
+	 */
+	public EnrollmentJournal(String fileName, int snapshotChecksum, long durabilityWindowMillis)
+			throws IOException {
+		if (durabilityWindowMillis < 0) {
+			throw new IllegalArgumentException("Invalid durability window");
+		}
+		this.fileName = fileName;
+		this.durabilityWindow = TimeUnit.MILLISECONDS.toNanos(durabilityWindowMillis);
+		channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		ByteBuffer header = ByteBuffer.allocate(3 * Integer.BYTES);
+		header.putInt(MAGIC).putInt(VERSION).putInt(snapshotChecksum).flip();
+		try {
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			channel.force(true);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+		flusher = new Thread(this::flushLoop, "enrollment-journal");
+		flusher.setDaemon(true);
+		flusher.start();
+	}
+
+	/**
+	 * Appends an event. Returns once the event is on disk if the durability window
+	 * is 0, and straight away otherwise.
+	 * 
+	 * @param type    type of the event
+	 * @param userId  id of the student or faculty member
+	 * @param name    name of the course, or null
+	 * @param section section of the course, or null
+	 * @throws IllegalArgumentException if the journal is closed or can no longer
+	 *                                  be written
+	 */
+	public void append(int type, String userId, String name, String section) {
+		byte[] id = encode(userId);
+		byte[] courseName = encode(name);
+		byte[] courseSection = encode(section);
+		int length = MIN_BODY_BYTES + lengthOf(id) + lengthOf(courseName) + lengthOf(courseSection);
+		int frame = length + 2 * Integer.BYTES;
+		lock.lock();
+		try {
+			checkWritable();
+			while (pending.remaining() < frame) {
+				if (pending.capacity() < MAX_BUFFER_SIZE) {
+					ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, frame));
+					pending.flip();
+					pending = larger.put(pending);
+				} else {
+					syncRequested = true;
+					flushNeeded.signal();
+					flushed.awaitUninterruptibly();
+					checkWritable();
+				}
+			}
+			int start = pending.position() + Integer.BYTES;
+			pending.putInt(length);
+			pending.put((byte) type);
+			putString(pending, id);
+			putString(pending, courseName);
+			putString(pending, courseSection);
+			crc.reset();
+			crc.update(pending.array(), start, length);
+			pending.putInt((int) crc.getValue());
+			long event = ++appended;
+			if (durabilityWindow == 0) {
+				syncRequested = true;
+				flushNeeded.signal();
+				awaitDurable(event);
+				if (durable < event) {
+					throw new IllegalArgumentException("Unable to write to file " + fileName);
+				}
+			} else if (event - durable == 1) {
+				// The flusher only sleeps while nothing is pending
+				flushNeeded.signal();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Writes every appended event to disk now, without waiting out the durability
+	 * window.
+	 * 
+	 * @throws IOException if the events cannot be written
+	 */
+	public void sync() throws IOException {
+		lock.lock();
+		try {
+			syncRequested = true;
+			flushNeeded.signal();
+			awaitDurable(appended);
+			if (failure != null) {
+				throw failure;
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Writes every appended event to disk and closes the journal. Later appends
+	 * are rejected.
+	 * 
+	 * @throws IOException if the events cannot be written or the file closed
+	 */
+	@Override
+	public void close() throws IOException {
+		lock.lock();
+		try {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			flushNeeded.signal();
+		} finally {
+			lock.unlock();
+		}
+		boolean interrupted = false;
+		while (flusher.isAlive()) {
+			try {
+				flusher.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		channel.close();
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * Replays the events of a journal through a handler, in the order they were
+	 * appended. Nothing is replayed if the file doesn't exist or follows another
+	 * snapshot. Replay stops at an event that was only partly written.
+	 * 
+	 * @param fileName         journal file to replay
+	 * @param snapshotChecksum checksum of the snapshot the state was restored from
+	 * @param handler          handler to apply each event with
+	 * @return the number of events replayed
+	 * @throws IOException if the file cannot be read
+	 */
+	public static int replay(String fileName, int snapshotChecksum, EventHandler handler) throws IOException {
+		Path path = Paths.get(fileName);
+		if (!Files.exists(path)) {
+			return 0;
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < 3 * Integer.BYTES || size > Integer.MAX_VALUE) {
+				return 0;
+			}
+			MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			if (in.getInt() != MAGIC || in.getInt() != VERSION || in.getInt() != snapshotChecksum) {
+				return 0;
+			}
+			CRC32 crc = new CRC32();
+			byte[] scratch = new byte[NULL_STRING];
+			int count = 0;
+			while (in.remaining() >= Integer.BYTES) {
+				int length = in.getInt();
+				if (length < MIN_BODY_BYTES || length > MAX_BODY_BYTES || length > in.remaining() - Integer.BYTES) {
+					break;
+				}
+				ByteBuffer body = in.slice(in.position(), length);
+				crc.reset();
+				crc.update(body.duplicate());
+				in.position(in.position() + length);
+				if (in.getInt() != (int) crc.getValue()) {
+					break;
+				}
+				int type;
+				String userId;
+				String name;
+				String section;
+				try {
+					type = body.get();
+					userId = getString(body, scratch);
+					name = getString(body, scratch);
+					section = getString(body, scratch);
+				} catch (BufferUnderflowException e) {
+					break;
+				}
+				handler.apply(type, userId, name, section);
+				count++;
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * Takes batches of pending events, writes them and forces them to disk until
+	 * the journal is closed.
+	 */
+	private void flushLoop() {
+		lock.lock();
+		try {
+			while (true) {
+				while (appended == durable && !closed) {
+					flushNeeded.awaitUninterruptibly();
+				}
+				// Let more events join the batch, unless someone is waiting for it
+				long wait = durabilityWindow;
+				while (wait > 0 && !syncRequested && !closed) {
+					try {
+						wait = flushNeeded.awaitNanos(wait);
+					} catch (InterruptedException e) {
+						wait = 0;
+					}
+				}
+				if (appended == durable) {
+					return;
+				}
+				ByteBuffer batch = pending;
+				pending = spare;
+				long target = appended;
+				syncRequested = false;
+				lock.unlock();
+				IOException error = null;
+				try {
+					batch.flip();
+					while (batch.hasRemaining()) {
+						channel.write(batch);
+					}
+					channel.force(false);
+				} catch (IOException e) {
+					error = e;
+				} finally {
+					batch.clear();
+					lock.lock();
+				}
+				spare = batch;
+				if (error != null) {
+					failure = error;
+					flushed.signalAll();
+					return;
+				}
+				durable = target;
+				flushed.signalAll();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Waits, holding the lock, until the given number of events are on disk or the
+	 * flusher fails.
+	 * 
+	 * @param event number of events that must be on disk
+	 */
+	private void awaitDurable(long event) {
+		while (durable < event && failure == null) {
+			flushed.awaitUninterruptibly();
+		}
+	}
+
+	/**
+	 * Checks, holding the lock, that events can still be appended.
+	 * 
+	 * @throws IllegalArgumentException if the journal is closed or failed
+	 */
+	private void checkWritable() {
+		if (closed) {
+			throw new IllegalArgumentException("Journal is closed");
+		}
+		if (failure != null) {
+			throw new IllegalArgumentException("Unable to write to file " + fileName);
+		}
+	}
+
+	/**
+	 * Encodes a string for an event.
+	 * 
+	 * @param value string to encode, or null
+	 * @return the string's UTF-8 bytes, or null
+	 * @throws IllegalArgumentException if the string is too long
+	 */
+	private static byte[] encode(String value) {
+		if (value == null) {
+			return null;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length >= NULL_STRING) {
+			throw new IllegalArgumentException("String too long for journal.");
+		}
+		return bytes;
+	}
+
+	/**
+	 * Returns the number of bytes of an encoded string, not counting its length.
+	 * 
+	 * @param bytes encoded string, or null
+	 * @return number of bytes
+	 */
+	private static int lengthOf(byte[] bytes) {
+		return bytes == null ? 0 : bytes.length;
+	}
+
+	/**
+	 * Writes an encoded string preceded by its length.
+	 * 
+	 * @param out   buffer to write to
+	 * @param bytes encoded string, or null
+	 */
+	private static void putString(ByteBuffer out, byte[] bytes) {
+		if (bytes == null) {
+			out.putShort((short) NULL_STRING);
+		} else {
+			out.putShort((short) bytes.length);
+			out.put(bytes);
+		}
+	}
+
+	/**
+	 * Reads a string written by putString().
+	 * 
+	 * @param in      buffer to read from
+	 * @param scratch buffer large enough for any string's bytes
+	 * @return the string, or null
+	 */
+	private static String getString(ByteBuffer in, byte[] scratch) {
+		int length = in.getShort() & 0xFFFF;
+		if (length == NULL_STRING) {
+			return null;
+		}
+		in.get(scratch, 0, length);
+		return new String(scratch, 0, length, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Applies replayed journal events.
+	 */
+	public interface EventHandler {
+
+		/**
+		 * Applies an event.
+		 * 
+		 * @param type    type of the event
+		 * @param userId  id of the student or faculty member
+		 * @param name    name of the course, or null
+		 * @param section section of the course, or null
+		 */
+		void apply(int type, String userId, String name, String section);
+	}
+}
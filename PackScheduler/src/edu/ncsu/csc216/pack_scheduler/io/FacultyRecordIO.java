@@ -1,12 +1,13 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
+import java.util.concurrent.CancellationException;
 
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
@@ -30,22 +31,44 @@ public class FacultyRecordIO {
 	 * @throws FileNotFoundException if the file cannot be found or read
 	 */
 	public static LinkedList<Faculty> readFacultyRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName));
-		LinkedList<Faculty> studentDirectory = new LinkedList<Faculty>();
-
-		while (fileReader.hasNextLine()) {
-			try {
-				Faculty student = processFaculty(fileReader.nextLine());
+		return readFacultyRecords(fileName, new RecordReport());
+	}
 
-				studentDirectory.add(student);
+	/**
+	 * Reads faculty records from a file and generates a list of valid Faculty. Any
+	 * invalid Faculty are skipped and recorded in the given report.
+	 * 
+	 * @param fileName name of the file to read Faculty from
+	 * @param report   report to record skipped lines in
+	 * @return list of Faculty read from the given file
+	 * @throws FileNotFoundException    if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after opening
+	 */
+	public static LinkedList<Faculty> readFacultyRecords(String fileName, RecordReport report)
+			throws FileNotFoundException {
+		RecordShards<Faculty> shards = RecordShards.read(fileName, FacultyRecordIO::processFaculty, Faculty[]::new,
+				report.getProgress());
+		Faculty[] read = shards.getRecords();
+		int[] lines = shards.getRecordLines();
 
-			} catch (IllegalArgumentException e) {
-				// Skip
+		LinkedList<Faculty> studentDirectory = new LinkedList<Faculty>();
+		// Duplicates are found through a hash set and the rest appended through one
+		// iterator, instead of the list checking itself for every add
+		HashSet<Faculty> added = new HashSet<Faculty>(read.length * 2);
+		ListIterator<Faculty> end = studentDirectory.listIterator();
+		int[] duplicateLines = new int[0];
+		int duplicates = 0;
+		for (int i = 0; i < read.length; i++) {
+			if (added.add(read[i])) {
+				end.add(read[i]);
+			} else {
+				if (duplicates == duplicateLines.length) {
+					duplicateLines = Arrays.copyOf(duplicateLines, Math.max(16, duplicates * 2));
+				}
+				duplicateLines[duplicates++] = lines[i];
 			}
 		}
-
-		fileReader.close();
-
+		shards.report(report, Arrays.copyOf(duplicateLines, duplicates));
 		return studentDirectory;
 	}
 
@@ -59,42 +82,56 @@ public class FacultyRecordIO {
 	 * @throws IOException if a failure occurs when writing to the file
 	 */
 	public static void writeFacultyRecords(String fileName, LinkedList<Faculty> studentDirectory) throws IOException {
-		PrintStream fileWriter = new PrintStream(new File(fileName));
+		writeFacultyRecords(fileName, studentDirectory, new RecordProgress());
+	}
 
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			fileWriter.println(studentDirectory.get(i).toString());
+	/**
+	 * Writes the given list of Faculty to a file in list order, adding the bytes
+	 * written to the given progress. If the progress is cancelled the file is
+	 * left as it was.
+	 * 
+	 * @param fileName         name of the specific file that faculty should be
+	 *                         recorded to
+	 * @param studentDirectory list of Faculty to write
+	 * @param progress         progress of the write
+	 * @throws IOException           if a failure occurs when writing to the file
+	 * @throws CancellationException if the write is cancelled
+	 */
+	public static void writeFacultyRecords(String fileName, List<Faculty> studentDirectory, RecordProgress progress)
+			throws IOException {
+		try (RecordWriter out = new RecordWriter(fileName, progress)) {
+			// Iterating avoids walking the linked list from the front for every faculty
+			for (Faculty f : studentDirectory) {
+				out.field(f.getFirstName()).field(f.getLastName()).field(f.getId()).field(f.getEmail())
+						.field(f.getPassword()).field(f.getMaxCourses()).endRecord();
+			}
+			out.commit();
 		}
-
-		fileWriter.close();
-
 	}
 
 	/**
 	 * Read individual line of a specific student and create a student object with
 	 * the specific information on the line.
 	 * 
-	 * @param line line of a specific student from the file
+	 * @param scan reader positioned on the line of a specific faculty
 	 * @throws IllegalArgumentException if a specific element is not found in the
 	 *                                  file
 	 * @return newStudent specific student that was processed from one line in the
 	 *         file
 	 */
-	private static Faculty processFaculty(String line) {
-		try (Scanner scan = new Scanner(line)) {
-			scan.useDelimiter(",");
-			try {
-				String firstName = scan.next();
-				String lastName = scan.next();
-				String id = scan.next();
-				String email = scan.next();
-				String password = scan.next();
-				int maxCredits = scan.nextInt();
-
-				Faculty newStudent = new Faculty(firstName, lastName, id, email, password, maxCredits);
-				return newStudent;
-			} catch (NoSuchElementException e) {
-				throw new IllegalArgumentException();
-			}
+	private static Faculty processFaculty(RecordReader scan) {
+		try {
+			String firstName = scan.next();
+			String lastName = scan.next();
+			String id = scan.next();
+			String email = scan.next();
+			String password = scan.next();
+			int maxCredits = scan.nextInt();
+
+			Faculty newStudent = new Faculty(firstName, lastName, id, email, password, maxCredits);
+			return newStudent;
+		} catch (NoSuchElementException e) {
+			throw new IllegalArgumentException();
 		}
 	}
 
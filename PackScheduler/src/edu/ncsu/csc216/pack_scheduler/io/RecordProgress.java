@@ -0,0 +1,129 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks a records file being read or written while the work runs on other
+ * threads, and lets another thread cancel it. Readers and writers add to the
+ * counts in batches and check for cancellation between them, so the counts lag
+ * the work slightly and a cancelled task stops within one batch.
+ * 
+ * @author Chirag Sreedhara
+ */
+public class RecordProgress {
+
+	/** Number of non-blank lines parsed */
+	private final AtomicInteger linesParsed = new AtomicInteger();
+	/** Number of lines skipped */
+	private final AtomicInteger linesSkipped = new AtomicInteger();
+	/** Number of bytes read */
+	private final AtomicLong bytesRead = new AtomicLong();
+	/** Number of bytes written */
+	private final AtomicLong bytesWritten = new AtomicLong();
+	/** True once the work has been cancelled */
+	private volatile boolean cancelled;
+
+	/**
+	 * Records that lines were parsed.
+	 * 
+	 * @param parsed  number of non-blank lines parsed
+	 * @param skipped number of those lines that were skipped
+	 */
+	void linesParsed(int parsed, int skipped) {
+		linesParsed.addAndGet(parsed);
+		linesSkipped.addAndGet(skipped);
+	}
+
+	/**
+	 * Records that lines already parsed were skipped, as duplicates are.
+	 * 
+	 * @param skipped number of lines skipped
+	 */
+	void linesSkipped(int skipped) {
+		linesSkipped.addAndGet(skipped);
+	}
+
+	/**
+	 * Records that bytes were read.
+	 * 
+	 * @param count number of bytes read
+	 */
+	void bytesRead(long count) {
+		bytesRead.addAndGet(count);
+	}
+
+	/**
+	 * Records that bytes were written.
+	 * 
+	 * @param count number of bytes written
+	 */
+	void bytesWritten(long count) {
+		bytesWritten.addAndGet(count);
+	}
+
+	/**
+	 * Stops the work if it has been cancelled.
+	 * 
+	 * @throws CancellationException if the work has been cancelled
+	 */
+	void checkCancelled() {
+		if (cancelled) {
+			throw new CancellationException();
+		}
+	}
+
+	/**
+	 * Returns the number of non-blank lines parsed so far.
+	 * 
+	 * @return lines parsed
+	 */
+	public int getLinesParsed() {
+		return linesParsed.get();
+	}
+
+	/**
+	 * Returns the number of lines skipped so far.
+	 * 
+	 * @return lines skipped
+	 */
+	public int getLinesSkipped() {
+		return linesSkipped.get();
+	}
+
+	/**
+	 * Returns the number of bytes read so far.
+	 * 
+	 * @return bytes read
+	 */
+	public long getBytesRead() {
+		return bytesRead.get();
+	}
+
+	/**
+	 * Returns the number of bytes written so far.
+	 * 
+	 * @return bytes written
+	 */
+	public long getBytesWritten() {
+		return bytesWritten.get();
+	}
+
+	/**
+	 * Cancels the work. A read stops without returning records, and a write stops
+	 * without replacing the file, unless it already has.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Returns true if the work has been cancelled.
+	 * 
+	 * @return true if cancelled
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+}
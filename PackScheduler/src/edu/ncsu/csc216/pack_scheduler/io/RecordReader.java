@@ -0,0 +1,285 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads comma separated records from a file one line at a time. The file is
+ * read through a buffered channel and each line is copied into a reused byte
+ * array, so fields and ints are parsed in place without regular expressions.
+ * Lines end at \n, \r\n, or \r. A reader may cover just a line-aligned byte
+ * range of the file, so that ranges can be parsed in parallel.
+ * 
+ * @author Chirag Sreedhara
+ */
+final class RecordReader implements Closeable {
+
+	/** Size of the channel read buffer */
+	private static final int BUFFER_SIZE = 1 << 16;
+	/** Field delimiter */
+	private static final byte DELIMITER = ',';
+
+	/** Channel for the file being read */
+	private final FileChannel channel;
+	/** Bytes read from the channel and not yet consumed */
+	private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+	/** Bytes of the current line */
+	private byte[] line = new byte[256];
+	/** Length of the current line */
+	private int length;
+	/** Position of the next field in the current line */
+	private int position;
+	/** 1-based number of the current line */
+	private int lineNumber;
+	/** True if the last line ended with \r and a following \n should be skipped */
+	private boolean skipLineFeed;
+	/** True once the channel has no more bytes */
+	private boolean endOfFile;
+	/** Bytes of the range not yet read from the channel */
+	private long unread;
+	/** Bytes read from the channel */
+	private long bytesRead;
+
+	/**
+	 * Opens a reader on the given file.
+	 * 
+	 * @param fileName file to read records from
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	RecordReader(String fileName) throws FileNotFoundException {
+		channel = new FileInputStream(fileName).getChannel();
+		unread = Long.MAX_VALUE;
+		buffer.flip();
+	}
+
+	/**
+	 * Opens a reader on a byte range of the given file. The range should start at
+	 * the beginning of a line, and line numbers count from its start.
+	 * 
+	 * @param fileName file to read records from
+	 * @param start    offset of the first byte to read
+	 * @param end      offset just past the last byte to read
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IOException           if the file cannot be positioned
+	 */
+	RecordReader(String fileName, long start, long end) throws IOException {
+		channel = new FileInputStream(fileName).getChannel();
+		try {
+			channel.position(start);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+		unread = end - start;
+		buffer.flip();
+	}
+
+	/**
+	 * Moves to the next line of the file.
+	 * 
+	 * @return true if there is another line, false at the end of the file
+	 * @throws IOException if the file cannot be read
+	 */
+	boolean nextLine() throws IOException {
+		length = 0;
+		position = 0;
+		boolean started = false;
+		while (true) {
+			if (!buffer.hasRemaining()) {
+				if (endOfFile || !fill()) {
+					if (started) {
+						lineNumber++;
+					}
+					return started;
+				}
+			}
+			byte[] bytes = buffer.array();
+			int start = buffer.position();
+			int limit = buffer.limit();
+			if (skipLineFeed) {
+				skipLineFeed = false;
+				if (bytes[start] == '\n') {
+					buffer.position(++start);
+					continue;
+				}
+			}
+			int end = start;
+			while (end < limit && bytes[end] != '\n' && bytes[end] != '\r') {
+				end++;
+			}
+			append(bytes, start, end - start);
+			started = true;
+			if (end < limit) {
+				skipLineFeed = bytes[end] == '\r';
+				buffer.position(end + 1);
+				lineNumber++;
+				return true;
+			}
+			buffer.position(end);
+		}
+	}
+
+	/**
+	 * Reads more bytes from the channel into the buffer.
+	 * 
+	 * @return true if bytes were read, false at the end of the file
+	 * @throws IOException if the file cannot be read
+	 */
+	private boolean fill() throws IOException {
+		buffer.clear();
+		if (unread < buffer.capacity()) {
+			buffer.limit((int) unread);
+		}
+		int read = 0;
+		while (read == 0 && buffer.hasRemaining()) {
+			read = channel.read(buffer);
+		}
+		buffer.flip();
+		if (read <= 0) {
+			endOfFile = true;
+			return false;
+		}
+		unread -= read;
+		bytesRead += read;
+		return true;
+	}
+
+	/**
+	 * Appends bytes to the current line, growing the line array as needed.
+	 * 
+	 * @param bytes  array to copy from
+	 * @param offset first byte to copy
+	 * @param count  number of bytes to copy
+	 */
+	private void append(byte[] bytes, int offset, int count) {
+		if (length + count > line.length) {
+			byte[] larger = new byte[Math.max(line.length * 2, length + count)];
+			System.arraycopy(line, 0, larger, 0, length);
+			line = larger;
+		}
+		System.arraycopy(bytes, offset, line, length, count);
+		length += count;
+	}
+
+	/**
+	 * Returns the number of bytes read from the file so far, including those
+	 * buffered but not yet returned as lines.
+	 * 
+	 * @return bytes read
+	 */
+	long getBytesRead() {
+		return bytesRead;
+	}
+
+	/**
+	 * Returns the 1-based number of the current line.
+	 * 
+	 * @return current line number
+	 */
+	int getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * Returns true if the current line is empty.
+	 * 
+	 * @return true if the line has no characters
+	 */
+	boolean isBlank() {
+		return length == 0;
+	}
+
+	/**
+	 * Returns true if the current line has another field.
+	 * 
+	 * @return true if there are more fields
+	 */
+	boolean hasNext() {
+		return position < length;
+	}
+
+	/**
+	 * Returns the next field of the current line.
+	 * 
+	 * @return next field
+	 * @throws NoSuchElementException if there are no more fields
+	 */
+	String next() {
+		int start = position;
+		int end = fieldEnd();
+		return new String(line, start, end - start, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the next field of the current line as an int.
+	 * 
+	 * @return next field as an int
+	 * @throws NoSuchElementException    if there are no more fields
+	 * @throws InputMismatchException if the field is not an int
+	 */
+	int nextInt() {
+		int start = position;
+		int end = fieldEnd();
+		int i = start;
+		boolean negative = false;
+		if (i < end && (line[i] == '-' || line[i] == '+')) {
+			negative = line[i] == '-';
+			i++;
+		}
+		if (i == end) {
+			throw new InputMismatchException();
+		}
+		long value = 0;
+		for (; i < end; i++) {
+			int digit = line[i] - '0';
+			if (digit < 0 || digit > 9) {
+				throw new InputMismatchException();
+			}
+			value = value * 10 + digit;
+			if (value > (long) Integer.MAX_VALUE + 1) {
+				throw new InputMismatchException();
+			}
+		}
+		value = negative ? -value : value;
+		if (value > Integer.MAX_VALUE) {
+			throw new InputMismatchException();
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Finds the end of the next field and moves past its delimiter.
+	 * 
+	 * @return index just past the last byte of the field
+	 * @throws NoSuchElementException if there are no more fields
+	 */
+	private int fieldEnd() {
+		if (position >= length) {
+			throw new NoSuchElementException();
+		}
+		int end = position;
+		while (end < length && line[end] != DELIMITER) {
+			end++;
+		}
+		position = end < length ? end + 1 : length;
+		return end;
+	}
+
+	/**
+	 * Closes the file.
+	 * 
+	 * @throws IOException if the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+}
@@ -0,0 +1,125 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.util.Arrays;
+
+/**
+ * Counts the lines skipped while reading a records file and remembers the
+ * first few of their line numbers.
+ * 
+ * @author Chirag Sreedhara
+ */
+public class RecordReport {
+
+	/** Number of skipped line numbers kept */
+	private static final int MAX_LINES_KEPT = 20;
+
+	/** Number of lines read */
+	private int linesRead;
+	/** Number of lines skipped */
+	private int skippedCount;
+	/** First skipped line numbers */
+	private int[] skippedLines = new int[MAX_LINES_KEPT];
+	/** Progress of the read the report is for */
+	private final RecordProgress progress;
+
+	/**
+	 * Creates an empty report.
+	 */
+	public RecordReport() {
+		this(new RecordProgress());
+	}
+
+	/**
+	 * Creates an empty report for a read whose progress is tracked, and which may
+	 * be cancelled, through the given progress.
+	 * 
+	 * @param progress progress of the read
+	 */
+	public RecordReport(RecordProgress progress) {
+		this.progress = progress;
+	}
+
+	/**
+	 * Returns the progress of the read the report is for.
+	 * 
+	 * @return progress of the read
+	 */
+	RecordProgress getProgress() {
+		return progress;
+	}
+
+	/**
+	 * Records that a line was read.
+	 */
+	void lineRead() {
+		linesRead++;
+	}
+
+	/**
+	 * Records that the given number of lines were read.
+	 * 
+	 * @param count number of lines read
+	 */
+	void linesRead(int count) {
+		linesRead += count;
+	}
+
+	/**
+	 * Records that a line was skipped because it was invalid or a duplicate.
+	 * 
+	 * @param lineNumber 1-based number of the skipped line
+	 */
+	void skip(int lineNumber) {
+		if (skippedCount < MAX_LINES_KEPT) {
+			skippedLines[skippedCount] = lineNumber;
+		}
+		skippedCount++;
+	}
+
+	/**
+	 * Returns the number of non-blank lines read.
+	 * 
+	 * @return lines read
+	 */
+	public int getLinesRead() {
+		return linesRead;
+	}
+
+	/**
+	 * Returns the number of lines skipped.
+	 * 
+	 * @return lines skipped
+	 */
+	public int getSkippedCount() {
+		return skippedCount;
+	}
+
+	/**
+	 * Returns the line numbers of the first skipped lines.
+	 * 
+	 * @return up to 20 skipped line numbers in file order
+	 */
+	public int[] getSkippedLines() {
+		return Arrays.copyOf(skippedLines, Math.min(skippedCount, MAX_LINES_KEPT));
+	}
+
+	/**
+	 * Returns a summary of the skipped lines.
+	 * 
+	 * @return summary of the report
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Skipped ").append(skippedCount).append(" of ").append(linesRead).append(" lines");
+		int[] lines = getSkippedLines();
+		for (int i = 0; i < lines.length; i++) {
+			sb.append(i == 0 ? ": " : ", ").append(lines[i]);
+		}
+		if (skippedCount > lines.length) {
+			sb.append(", ...");
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,360 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+
+/**
+ * Parses a records file in parallel. The file is split into line-aligned byte
+ * ranges that are parsed on the common ForkJoin pool, then the records are put
+ * back together in file order with their line numbers. Lines whose record
+ * can't be parsed are skipped, and files smaller than one shard are parsed by
+ * the calling thread alone. Shards add to the read's progress as they go and
+ * stop once it is cancelled.
+ * 
+ * @param <T> type of record
+ * @author Chirag Sreedhara
+ */
+final class RecordShards<T> {
+
+	/** Smallest range worth parsing on its own */
+	private static final long MIN_SHARD_SIZE = 1 << 20;
+
+	/** Ranges per pool thread, so uneven ranges still keep every thread busy */
+	private static final int SHARDS_PER_THREAD = 4;
+
+	/** Lines a shard parses between progress updates */
+	private static final int LINES_PER_UPDATE = 1 << 12;
+
+	/**
+	 * Parses one record from a line.
+	 * 
+	 * @param <T> type of record
+	 */
+	interface Parser<T> {
+
+		/**
+		 * Parses the record on the reader's current line.
+		 * 
+		 * @param reader reader positioned on a non-blank line
+		 * @return record read from the line
+		 * @throws IllegalArgumentException if the line isn't a valid record
+		 */
+		T parse(RecordReader reader);
+	}
+
+	/** Records in file order */
+	private final T[] records;
+	/** Line number of each record */
+	private final int[] recordLines;
+	/** Line numbers of skipped lines in file order */
+	private final int[] skippedLines;
+	/** Number of non-blank lines */
+	private final int linesRead;
+
+	/**
+	 * Parses a records file in shards of at least MIN_SHARD_SIZE bytes, up to a
+	 * few per pool thread.
+	 * 
+	 * @param <T>       type of record
+	 * @param fileName  file to read records from
+	 * @param parser    parses one record
+	 * @param generator creates an array of records
+	 * @param progress  progress of the read
+	 * @return records read from the file
+	 * @throws FileNotFoundException    if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after opening
+	 * @throws CancellationException    if the read is cancelled
+	 */
+	static <T> RecordShards<T> read(String fileName, Parser<T> parser, IntFunction<T[]> generator,
+			RecordProgress progress) throws FileNotFoundException {
+		long count = Math.min(new File(fileName).length() / MIN_SHARD_SIZE + 1,
+				(long) ForkJoinPool.getCommonPoolParallelism() * SHARDS_PER_THREAD);
+		return read(fileName, parser, generator, (int) count, progress);
+	}
+
+	/**
+	 * Parses a records file in the given number of shards, or fewer if the file
+	 * has fewer lines.
+	 * 
+	 * @param <T>        type of record
+	 * @param fileName   file to read records from
+	 * @param parser     parses one record
+	 * @param generator  creates an array of records
+	 * @param shardCount number of shards to split the file into
+	 * @param progress   progress of the read
+	 * @return records read from the file
+	 * @throws FileNotFoundException    if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after opening
+	 * @throws CancellationException    if the read is cancelled
+	 */
+	static <T> RecordShards<T> read(String fileName, Parser<T> parser, IntFunction<T[]> generator, int shardCount,
+			RecordProgress progress) throws FileNotFoundException {
+		List<Shard<T>> shards = new ArrayList<Shard<T>>();
+		try (FileChannel channel = new FileInputStream(fileName).getChannel()) {
+			long size = channel.size();
+			long start = 0;
+			for (int i = 1; i <= shardCount && start < size; i++) {
+				long end = i == shardCount ? size : lineStart(channel, Math.max(start, size * i / shardCount), size);
+				if (end > start) {
+					shards.add(new Shard<T>(fileName, start, end, parser, progress));
+					start = end;
+				}
+			}
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+
+		if (shards.size() == 1) {
+			shards.get(0).invoke();
+		} else {
+			ForkJoinTask.invokeAll(shards);
+		}
+		progress.checkCancelled();
+		for (Shard<T> shard : shards) {
+			if (shard.error instanceof FileNotFoundException) {
+				throw (FileNotFoundException) shard.error;
+			} else if (shard.error != null) {
+				throw new IllegalArgumentException("Unable to read file " + fileName);
+			}
+		}
+		return new RecordShards<T>(shards, generator);
+	}
+
+	/**
+	 * Finds the start of the first line beginning at or after the given offset.
+	 * 
+	 * @param channel channel of the file
+	 * @param offset  offset to start looking from
+	 * @param size    size of the file
+	 * @return offset of the start of the line, or the size of the file
+	 * @throws IOException if the file cannot be read
+	 */
+	private static long lineStart(FileChannel channel, long offset, long size) throws IOException {
+		if (offset == 0) {
+			return 0;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(1 << 12);
+		// A line starts at the offset only if the byte before it ends a line
+		long position = offset - 1;
+		boolean carriageReturn = false;
+		while (position < size) {
+			buffer.clear();
+			int read = channel.read(buffer, position);
+			if (read <= 0) {
+				break;
+			}
+			for (int i = 0; i < read; i++) {
+				byte b = buffer.get(i);
+				if (carriageReturn) {
+					// \r\n ends after the \n, a lone \r right after itself
+					return b == '\n' ? position + i + 1 : position + i;
+				} else if (b == '\n') {
+					return position + i + 1;
+				} else if (b == '\r') {
+					carriageReturn = true;
+				}
+			}
+			position += read;
+		}
+		return size;
+	}
+
+	/**
+	 * Joins the parsed shards in file order, numbering their lines from the start
+	 * of the file.
+	 * 
+	 * @param shards    parsed shards in file order
+	 * @param generator creates an array of records
+	 */
+	private RecordShards(List<Shard<T>> shards, IntFunction<T[]> generator) {
+		int recordCount = 0;
+		int skippedCount = 0;
+		int lines = 0;
+		for (Shard<T> shard : shards) {
+			recordCount += shard.records.size();
+			skippedCount += shard.skippedCount;
+			lines += shard.linesRead;
+		}
+		records = generator.apply(recordCount);
+		recordLines = new int[recordCount];
+		skippedLines = new int[skippedCount];
+		linesRead = lines;
+
+		int record = 0;
+		int skipped = 0;
+		int firstLine = 0;
+		for (Shard<T> shard : shards) {
+			for (int i = 0; i < shard.records.size(); i++) {
+				records[record] = shard.records.get(i);
+				recordLines[record++] = firstLine + shard.recordLines[i];
+			}
+			for (int i = 0; i < shard.skippedCount; i++) {
+				skippedLines[skipped++] = firstLine + shard.skippedLines[i];
+			}
+			firstLine += shard.lineCount;
+		}
+	}
+
+	/**
+	 * Returns the records in file order.
+	 * 
+	 * @return records read
+	 */
+	T[] getRecords() {
+		return records;
+	}
+
+	/**
+	 * Returns the line number of each record.
+	 * 
+	 * @return 1-based line numbers in the order of getRecords()
+	 */
+	int[] getRecordLines() {
+		return recordLines;
+	}
+
+	/**
+	 * Returns the line numbers of lines that weren't valid records.
+	 * 
+	 * @return 1-based line numbers in file order
+	 */
+	int[] getSkippedLines() {
+		return skippedLines;
+	}
+
+	/**
+	 * Records the lines read and the given skipped lines in a report, in file
+	 * order.
+	 * 
+	 * @param report       report to record lines in
+	 * @param otherSkipped line numbers of other lines to skip, in file order
+	 */
+	void report(RecordReport report, int[] otherSkipped) {
+		report.linesRead(linesRead);
+		report.getProgress().linesSkipped(otherSkipped.length);
+		int i = 0;
+		int j = 0;
+		while (i < skippedLines.length || j < otherSkipped.length) {
+			if (j == otherSkipped.length || i < skippedLines.length && skippedLines[i] < otherSkipped[j]) {
+				report.skip(skippedLines[i++]);
+			} else {
+				report.skip(otherSkipped[j++]);
+			}
+		}
+	}
+
+	/**
+	 * Parses one line-aligned range of a records file.
+	 * 
+	 * @param <T> type of record
+	 */
+	private static final class Shard<T> extends RecursiveAction {
+
+		/** Serial version */
+		private static final long serialVersionUID = 1L;
+
+		/** File to read */
+		private final String fileName;
+		/** Offset of the range's first byte */
+		private final long start;
+		/** Offset just past the range's last byte */
+		private final long end;
+		/** Parses one record */
+		private final transient Parser<T> parser;
+		/** Progress of the whole read */
+		private final transient RecordProgress progress;
+
+		/** Records parsed */
+		private final transient ArrayList<T> records = new ArrayList<T>();
+		/** Line number of each record, counted from the start of the range */
+		private int[] recordLines = new int[16];
+		/** Line numbers of skipped lines, counted from the start of the range */
+		private int[] skippedLines = new int[16];
+		/** Number of skipped lines */
+		private int skippedCount;
+		/** Number of non-blank lines */
+		private int linesRead;
+		/** Number of lines in the range */
+		private int lineCount;
+		/** Error reading the range, if any */
+		private IOException error;
+
+		/**
+		 * Creates a shard for a range of the file.
+		 * 
+		 * @param fileName file to read
+		 * @param start    offset of the range's first byte
+		 * @param end      offset just past the range's last byte
+		 * @param parser   parses one record
+		 * @param progress progress of the whole read
+		 */
+		Shard(String fileName, long start, long end, Parser<T> parser, RecordProgress progress) {
+			this.fileName = fileName;
+			this.start = start;
+			this.end = end;
+			this.parser = parser;
+			this.progress = progress;
+		}
+
+		/**
+		 * Parses the range, adding to the progress every LINES_PER_UPDATE lines.
+		 * 
+		 * @throws CancellationException if the read is cancelled
+		 */
+		@Override
+		protected void compute() {
+			progress.checkCancelled();
+			int linesReported = 0;
+			int skippedReported = 0;
+			long bytesReported = 0;
+			try (RecordReader reader = new RecordReader(fileName, start, end)) {
+				while (reader.nextLine()) {
+					if (reader.isBlank()) {
+						continue;
+					}
+					if (linesRead - linesReported == LINES_PER_UPDATE) {
+						progress.linesParsed(linesRead - linesReported, skippedCount - skippedReported);
+						progress.bytesRead(reader.getBytesRead() - bytesReported);
+						linesReported = linesRead;
+						skippedReported = skippedCount;
+						bytesReported = reader.getBytesRead();
+						progress.checkCancelled();
+					}
+					linesRead++;
+					try {
+						T record = parser.parse(reader);
+						if (records.size() == recordLines.length) {
+							recordLines = Arrays.copyOf(recordLines, recordLines.length * 2);
+						}
+						recordLines[records.size()] = reader.getLineNumber();
+						records.add(record);
+					} catch (IllegalArgumentException e) {
+						if (skippedCount == skippedLines.length) {
+							skippedLines = Arrays.copyOf(skippedLines, skippedLines.length * 2);
+						}
+						skippedLines[skippedCount++] = reader.getLineNumber();
+					}
+				}
+				lineCount = reader.getLineNumber();
+				progress.linesParsed(linesRead - linesReported, skippedCount - skippedReported);
+				progress.bytesRead(reader.getBytesRead() - bytesReported);
+			} catch (IOException e) {
+				error = e;
+			}
+		}
+	}
+}
@@ -0,0 +1,225 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Writes comma separated records files through an AtomicFile, so a save either
+ * fully replaces the old file or leaves it untouched. Fields are copied straight
+ * into a character buffer and encoded in bulk, instead of building a string for
+ * every record. Records are encoded in the default charset and end with the line
+ * separator, as PrintStream.println() writes them. Each write to the file adds
+ * to the save's progress, and a cancelled save stops before the file is
+ * replaced.
+ * 
+ * @author Chirag Sreedhara
+ */
+class RecordWriter implements Closeable {
+
+	/** Characters buffered before encoding */
+	private static final int CHAR_BUFFER_SIZE = 1 << 13;
+
+	/** Bytes buffered before each write to the file */
+	private static final int BYTE_BUFFER_SIZE = 1 << 16;
+
+	/** Line separator ending each record */
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	/** File being replaced */
+	private final AtomicFile file;
+	/** Progress of the save */
+	private final RecordProgress progress;
+	/** Characters not yet encoded */
+	private final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+	/** Encoded bytes not yet written */
+	private final ByteBuffer bytes = ByteBuffer.allocateDirect(BYTE_BUFFER_SIZE);
+	/** Encoder for the default charset */
+	private final CharsetEncoder encoder;
+	/** True if the next field starts a record */
+	private boolean recordStart = true;
+
+	/**
+	 * Starts replacing a records file.
+	 * 
+	 * @param fileName file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	RecordWriter(String fileName) throws IOException {
+		this(fileName, new RecordProgress());
+	}
+
+	/**
+	 * Starts replacing a records file, tracking the save through the given
+	 * progress.
+	 * 
+	 * @param fileName file to write
+	 * @param progress progress of the save
+	 * @throws IOException if the file cannot be written
+	 */
+	RecordWriter(String fileName, RecordProgress progress) throws IOException {
+		this.progress = progress;
+		file = new AtomicFile(fileName);
+		// Characters the charset can't encode become '?' as in PrintStream
+		encoder = Charset.defaultCharset().newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	/**
+	 * Writes a text field. A null field is written as "null", as string
+	 * concatenation would.
+	 * 
+	 * @param value field to write
+	 * @return this writer
+	 * @throws IOException if the file cannot be written
+	 */
+	RecordWriter field(String value) throws IOException {
+		separate();
+		String text = String.valueOf(value);
+		int written = 0;
+		while (written < text.length()) {
+			if (!chars.hasRemaining()) {
+				encode(false);
+			}
+			int chunk = Math.min(chars.remaining(), text.length() - written);
+			text.getChars(written, written + chunk, chars.array(), chars.arrayOffset() + chars.position());
+			chars.position(chars.position() + chunk);
+			written += chunk;
+		}
+		return this;
+	}
+
+	/**
+	 * Writes a number field.
+	 * 
+	 * @param value field to write
+	 * @return this writer
+	 * @throws IOException if the file cannot be written
+	 */
+	RecordWriter field(int value) throws IOException {
+		separate();
+		// Enough for any int with its sign
+		ensure(11);
+		if (value < 0) {
+			chars.put('-');
+		}
+		int start = chars.position();
+		long remaining = Math.abs((long) value);
+		do {
+			chars.put((char) ('0' + remaining % 10));
+			remaining /= 10;
+		} while (remaining != 0);
+		// The digits were put lowest first
+		char[] array = chars.array();
+		for (int i = start + chars.arrayOffset(), j = chars.position() + chars.arrayOffset() - 1; i < j; i++, j--) {
+			char swap = array[i];
+			array[i] = array[j];
+			array[j] = swap;
+		}
+		return this;
+	}
+
+	/**
+	 * Ends the current record.
+	 * 
+	 * @throws IOException if the file cannot be written
+	 */
+	void endRecord() throws IOException {
+		ensure(LINE_SEPARATOR.length());
+		chars.put(LINE_SEPARATOR);
+		recordStart = true;
+	}
+
+	/**
+	 * Writes out everything buffered and replaces the file with what was written.
+	 * 
+	 * @throws IOException           if the file cannot be written or replaced
+	 * @throws CancellationException if the save is cancelled
+	 */
+	void commit() throws IOException {
+		encode(true);
+		while (encoder.flush(bytes).isOverflow()) {
+			drain();
+		}
+		drain();
+		progress.checkCancelled();
+		file.commit();
+	}
+
+	/**
+	 * Discards what was written unless it was committed.
+	 * 
+	 * @throws IOException if the temporary file cannot be removed
+	 */
+	@Override
+	public void close() throws IOException {
+		file.close();
+	}
+
+	/**
+	 * Writes the comma before every field but the first of a record.
+	 * 
+	 * @throws IOException if the file cannot be written
+	 */
+	private void separate() throws IOException {
+		if (recordStart) {
+			recordStart = false;
+		} else {
+			ensure(1);
+			chars.put(',');
+		}
+	}
+
+	/**
+	 * Makes room in the character buffer.
+	 * 
+	 * @param count characters needed
+	 * @throws IOException if the file cannot be written
+	 */
+	private void ensure(int count) throws IOException {
+		if (chars.remaining() < count) {
+			encode(false);
+		}
+	}
+
+	/**
+	 * Encodes the buffered characters, writing out bytes as the byte buffer fills.
+	 * 
+	 * @param endOfInput true if no more characters follow
+	 * @throws IOException if the file cannot be written
+	 */
+	private void encode(boolean endOfInput) throws IOException {
+		chars.flip();
+		while (true) {
+			CoderResult result = encoder.encode(chars, bytes, endOfInput);
+			if (!result.isOverflow()) {
+				break;
+			}
+			drain();
+		}
+		chars.compact();
+	}
+
+	/**
+	 * Writes the buffered bytes to the file.
+	 * 
+	 * @throws IOException           if the file cannot be written
+	 * @throws CancellationException if the save is cancelled
+	 */
+	private void drain() throws IOException {
+		progress.checkCancelled();
+		bytes.flip();
+		int count = bytes.remaining();
+		while (bytes.hasRemaining()) {
+			file.getChannel().write(bytes);
+		}
+		bytes.clear();
+		progress.bytesWritten(count);
+	}
+}
@@ -0,0 +1,518 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Writes and reads binary snapshots of the whole registration state: the course
+ * catalog, the student and faculty directories, course rolls and waitlists, and
+ * student and faculty schedules. Snapshots are written through a FileChannel and
+ * read back from a memory-mapped view of the file, copied out in one pass. A
+ * snapshot replaces the old file only once it is fully written, so a crash
+ * mid-write keeps the previous one.
+ * 
+ * A snapshot is big-endian and laid out as:
+ * <ul>
+ * <li>header: magic, version, then the faculty, student and course counts as
+ * ints</li>
+ * <li>each faculty: first name, last name, id, email and password, then max
+ * courses as a byte</li>
+ * <li>each student: first name, last name, id, email, password and schedule
+ * title, then max credits as a byte</li>
+ * <li>each course: name, title and section, credits as a byte, instructor id,
+ * enrollment cap as a short, meeting days, then start and end times as
+ * shorts</li>
+ * <li>each course roll: the enrolled students, then the waitlisted students
+ * first in line first</li>
+ * <li>each faculty schedule, then each student schedule: its courses in
+ * schedule order</li>
+ * <li>a CRC32 of everything before it, as an int</li>
+ * </ul>
+ * Strings are an unsigned short byte count, or 0xFFFF for null, followed by
+ * UTF-8 bytes. Lists of students or courses are an int count followed by int
+ * indexes into the snapshot's students or courses. Rolls and schedules only keep
+ * students and courses that are in the snapshot's directories and catalog.
+ * 
+ * @author Chirag Sreedhara
+ */
+public class SnapshotIO {
+
+	/** First four bytes of every snapshot, "PKSN" */
+	private static final int MAGIC = 0x504B534E;
+
+	/** Version of the snapshot layout written */
+	private static final int VERSION = 1;
+
+	/** Bytes in the header */
+	private static final int HEADER_BYTES = 5 * Integer.BYTES;
+
+	/** String length that stands for null */
+	private static final int NULL_STRING = 0xFFFF;
+
+	/** Bytes buffered before each write to the channel */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Writes a snapshot of the given courses, students and faculty, along with
+	 * their rolls and schedules, to a file.
+	 * 
+	 * @param fileName file to write the snapshot to
+	 * @param courses  catalog courses, in catalog order
+	 * @param students directory students, in directory order
+	 * @param faculty  directory faculty, in directory order
+	 * @return the snapshot's checksum
+	 * @throws IOException if the file cannot be written
+	 */
+	public static int writeSnapshot(String fileName, List<Course> courses, List<Student> students,
+			List<Faculty> faculty) throws IOException {
+		IdentityHashMap<Course, Integer> courseIndex = new IdentityHashMap<Course, Integer>();
+		for (int i = 0; i < courses.size(); i++) {
+			courseIndex.put(courses.get(i), i);
+		}
+		IdentityHashMap<Student, Integer> studentIndex = new IdentityHashMap<Student, Integer>();
+		for (int i = 0; i < students.size(); i++) {
+			studentIndex.put(students.get(i), i);
+		}
+
+		try (AtomicFile file = new AtomicFile(fileName)) {
+			SnapshotWriter out = new SnapshotWriter(file.getChannel());
+			out.putInt(MAGIC);
+			out.putInt(VERSION);
+			out.putInt(faculty.size());
+			out.putInt(students.size());
+			out.putInt(courses.size());
+
+			for (Faculty f : faculty) {
+				putUser(out, f.getFirstName(), f.getLastName(), f.getId(), f.getEmail(), f.getPassword());
+				out.putByte(f.getMaxCourses());
+			}
+			for (Student s : students) {
+				putUser(out, s.getFirstName(), s.getLastName(), s.getId(), s.getEmail(), s.getPassword());
+				out.putString(s.getSchedule().getTitle());
+				out.putByte(s.getMaxCredits());
+			}
+			for (Course c : courses) {
+				out.putString(c.getName());
+				out.putString(c.getTitle());
+				out.putString(c.getSection());
+				out.putByte(c.getCredits());
+				out.putString(c.getInstructorId());
+				out.putShort(c.getCourseRoll().getEnrollmentCap());
+				out.putString(c.getMeetingDays());
+				out.putShort(c.getStartTime());
+				out.putShort(c.getEndTime());
+			}
+			for (Course c : courses) {
+				CourseRoll roll = c.getCourseRoll();
+				putIndexes(out, roll.getEnrolledStudents(), studentIndex);
+				putIndexes(out, roll.getWaitlistedStudents(), studentIndex);
+			}
+			for (Faculty f : faculty) {
+				putIndexes(out, f.getSchedule().getCourses(), courseIndex);
+			}
+			for (Student s : students) {
+				putIndexes(out, s.getSchedule().getCourses(), courseIndex);
+			}
+			int checksum = out.finish();
+			file.commit();
+			return checksum;
+		}
+	}
+
+	/**
+	 * Reads a snapshot written by writeSnapshot(). The courses, students and
+	 * faculty are rebuilt with their rolls and schedules.
+	 * 
+	 * @param fileName file to read the snapshot from
+	 * @return the snapshot's courses, students and faculty
+	 * @throws IOException              if the file cannot be read
+	 * @throws IllegalArgumentException if the file is not a valid snapshot
+	 */
+	public static Snapshot readSnapshot(String fileName) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < HEADER_BYTES + Integer.BYTES || size > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("Invalid snapshot file " + fileName);
+			}
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			// One bulk copy out of the mapping lets strings be decoded straight from
+			// the array, which is far cheaper than a buffer call per string
+			byte[] body = new byte[(int) size - Integer.BYTES];
+			mapped.get(0, body);
+			CRC32 crc = new CRC32();
+			crc.update(body);
+			ByteBuffer in = ByteBuffer.wrap(body);
+			if (in.getInt(0) != MAGIC || in.getInt(Integer.BYTES) != VERSION
+					|| mapped.getInt(body.length) != (int) crc.getValue()) {
+				throw new IllegalArgumentException("Invalid snapshot file " + fileName);
+			}
+			in.position(2 * Integer.BYTES);
+			try {
+				return readBody(in, (int) crc.getValue());
+			} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+				throw new IllegalArgumentException("Invalid snapshot file " + fileName);
+			}
+		}
+	}
+
+	/**
+	 * Rebuilds the snapshot's objects from the buffer, which is positioned after
+	 * the magic and version.
+	 * 
+	 * @param in       snapshot contents
+	 * @param checksum the snapshot's checksum
+	 * @return the snapshot's courses, students and faculty
+	 * @throws IllegalArgumentException if a saved object or its state is invalid
+	 */
+	private static Snapshot readBody(ByteBuffer in, int checksum) {
+		Faculty[] faculty = new Faculty[in.getInt()];
+		Student[] students = new Student[in.getInt()];
+		Course[] courses = new Course[in.getInt()];
+
+		for (int i = 0; i < faculty.length; i++) {
+			String firstName = getString(in);
+			String lastName = getString(in);
+			String id = getString(in);
+			String email = getString(in);
+			String password = getString(in);
+			faculty[i] = new Faculty(firstName, lastName, id, email, password, in.get());
+		}
+		for (int i = 0; i < students.length; i++) {
+			String firstName = getString(in);
+			String lastName = getString(in);
+			String id = getString(in);
+			String email = getString(in);
+			String password = getString(in);
+			String title = getString(in);
+			students[i] = new Student(firstName, lastName, id, email, password, in.get());
+			// Most students keep the default title, which every new schedule shares
+			if (!title.equals(students[i].getSchedule().getTitle())) {
+				students[i].getSchedule().setTitle(title);
+			}
+		}
+		for (int i = 0; i < courses.length; i++) {
+			String name = getString(in);
+			String title = getString(in);
+			String section = getString(in);
+			int credits = in.get();
+			String instructorId = getString(in);
+			int enrollmentCap = in.getShort();
+			String meetingDays = getString(in);
+			int startTime = in.getShort();
+			int endTime = in.getShort();
+			courses[i] = new Course(name, title, section, credits, instructorId, enrollmentCap, meetingDays,
+					startTime, endTime);
+		}
+
+		for (Course c : courses) {
+			Student[] enrolled = getStudents(in, students);
+			c.getCourseRoll().restore(enrolled, getStudents(in, students));
+		}
+		for (Faculty f : faculty) {
+			int count = in.getInt();
+			for (int j = 0; j < count; j++) {
+				Course c = courses[in.getInt()];
+				// The schedule sets the instructor id again
+				c.setInstructorId(null);
+				f.getSchedule().addCourseToSchedule(c);
+			}
+		}
+		// Saved schedules held together when written, so they are put back without
+		// checking each course against the others
+		for (int i = 0; i < students.length; i++) {
+			Course[] scheduled = new Course[in.getInt()];
+			for (int j = 0; j < scheduled.length; j++) {
+				scheduled[j] = courses[in.getInt()];
+			}
+			students[i].getSchedule().restore(scheduled);
+		}
+		if (in.hasRemaining()) {
+			throw new IllegalArgumentException();
+		}
+		return new Snapshot(courses, students, faculty, checksum);
+	}
+
+	/**
+	 * Writes the string fields shared by every user.
+	 * 
+	 * @param out       snapshot being written
+	 * @param firstName user's first name
+	 * @param lastName  user's last name
+	 * @param id        user's id
+	 * @param email     user's email
+	 * @param password  user's hashed password
+	 * @throws IOException if the file cannot be written
+	 */
+	private static void putUser(SnapshotWriter out, String firstName, String lastName, String id, String email,
+			String password) throws IOException {
+		out.putString(firstName);
+		out.putString(lastName);
+		out.putString(id);
+		out.putString(email);
+		out.putString(password);
+	}
+
+	/**
+	 * Writes the indexes of the given objects that are in the index, preceded by
+	 * their count.
+	 * 
+	 * @param <E>     type of the objects
+	 * @param out     snapshot being written
+	 * @param objects objects to write
+	 * @param index   snapshot index of each object
+	 * @throws IOException if the file cannot be written
+	 */
+	private static <E> void putIndexes(SnapshotWriter out, E[] objects, IdentityHashMap<E, Integer> index)
+			throws IOException {
+		int count = 0;
+		for (E o : objects) {
+			if (index.containsKey(o)) {
+				count++;
+			}
+		}
+		out.putInt(count);
+		for (E o : objects) {
+			Integer i = index.get(o);
+			if (i != null) {
+				out.putInt(i);
+			}
+		}
+	}
+
+	/**
+	 * Reads a count and that many student indexes.
+	 * 
+	 * @param in       snapshot contents
+	 * @param students the snapshot's students
+	 * @return the indexed students
+	 */
+	private static Student[] getStudents(ByteBuffer in, Student[] students) {
+		Student[] result = new Student[in.getInt()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = students[in.getInt()];
+		}
+		return result;
+	}
+
+	/**
+	 * Reads a string.
+	 * 
+	 * @param in snapshot contents, backed by an array
+	 * @return the string, or null
+	 */
+	private static String getString(ByteBuffer in) {
+		int length = in.getShort() & 0xFFFF;
+		if (length == NULL_STRING) {
+			return null;
+		}
+		int start = in.position();
+		in.position(start + length);
+		return new String(in.array(), start, length, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Buffers snapshot bytes on their way to a channel and keeps a running CRC32
+	 * of them.
+	 */
+	private static class SnapshotWriter {
+
+		/** Channel the snapshot is written to */
+		private final FileChannel channel;
+		/** Bytes not yet written */
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		/** Checksum of the bytes written so far */
+		private final CRC32 crc = new CRC32();
+
+		/**
+		 * Creates a writer for the given channel.
+		 * 
+		 * @param channel channel to write to
+		 */
+		SnapshotWriter(FileChannel channel) {
+			this.channel = channel;
+		}
+
+		/**
+		 * Writes a byte.
+		 * 
+		 * @param value value to write, which must fit in a byte
+		 * @throws IOException if the file cannot be written
+		 */
+		void putByte(int value) throws IOException {
+			ensure(Byte.BYTES);
+			buffer.put((byte) value);
+		}
+
+		/**
+		 * Writes a short.
+		 * 
+		 * @param value value to write, which must fit in a short
+		 * @throws IOException if the file cannot be written
+		 */
+		void putShort(int value) throws IOException {
+			ensure(Short.BYTES);
+			buffer.putShort((short) value);
+		}
+
+		/**
+		 * Writes an int.
+		 * 
+		 * @param value value to write
+		 * @throws IOException if the file cannot be written
+		 */
+		void putInt(int value) throws IOException {
+			ensure(Integer.BYTES);
+			buffer.putInt(value);
+		}
+
+		/**
+		 * Writes a string.
+		 * 
+		 * @param value string to write, or null
+		 * @throws IOException              if the file cannot be written
+		 * @throws IllegalArgumentException if the string is too long
+		 */
+		void putString(String value) throws IOException {
+			if (value == null) {
+				putShort(NULL_STRING);
+				return;
+			}
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			if (bytes.length >= NULL_STRING) {
+				throw new IllegalArgumentException("String too long for snapshot.");
+			}
+			putShort(bytes.length);
+			int written = 0;
+			while (written < bytes.length) {
+				ensure(1);
+				int chunk = Math.min(buffer.remaining(), bytes.length - written);
+				buffer.put(bytes, written, chunk);
+				written += chunk;
+			}
+		}
+
+		/**
+		 * Writes out the buffer and the checksum.
+		 * 
+		 * @return the checksum
+		 * @throws IOException if the file cannot be written
+		 */
+		int finish() throws IOException {
+			flush();
+			int checksum = (int) crc.getValue();
+			buffer.putInt(checksum);
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			return checksum;
+		}
+
+		/**
+		 * Makes room in the buffer for the given number of bytes.
+		 * 
+		 * @param bytes bytes needed
+		 * @throws IOException if the file cannot be written
+		 */
+		private void ensure(int bytes) throws IOException {
+			if (buffer.remaining() < bytes) {
+				flush();
+			}
+		}
+
+		/**
+		 * Adds the buffered bytes to the checksum and writes them to the channel.
+		 * 
+		 * @throws IOException if the file cannot be written
+		 */
+		private void flush() throws IOException {
+			buffer.flip();
+			crc.update(buffer.duplicate());
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+	}
+
+	/**
+	 * Courses, students and faculty read from a snapshot.
+	 */
+	public static final class Snapshot {
+
+		/** Catalog courses, in catalog order */
+		private final Course[] courses;
+		/** Directory students, in directory order */
+		private final Student[] students;
+		/** Directory faculty, in directory order */
+		private final Faculty[] faculty;
+		/** Checksum stored in the snapshot */
+		private final int checksum;
+
+		/**
+		 * Creates a snapshot of the given objects.
+		 * 
+		 * @param courses  catalog courses
+		 * @param students directory students
+		 * @param faculty  directory faculty
+		 * @param checksum checksum stored in the snapshot
+		 */
+		private Snapshot(Course[] courses, Student[] students, Faculty[] faculty, int checksum) {
+			this.courses = courses;
+			this.students = students;
+			this.faculty = faculty;
+			this.checksum = checksum;
+		}
+
+		/**
+		 * Returns the catalog courses, in catalog order.
+		 * 
+		 * @return the snapshot's courses
+		 */
+		public Course[] getCourses() {
+			return courses;
+		}
+
+		/**
+		 * Returns the directory students, in directory order.
+		 * 
+		 * @return the snapshot's students
+		 */
+		public Student[] getStudents() {
+			return students;
+		}
+
+		/**
+		 * Returns the directory faculty, in directory order.
+		 * 
+		 * @return the snapshot's faculty
+		 */
+		public Faculty[] getFaculty() {
+			return faculty;
+		}
+
+		/**
+		 * Returns the checksum stored in the snapshot, which tells snapshots with
+		 * different contents apart.
+		 * 
+		 * @return the snapshot's checksum
+		 */
+		public int getChecksum() {
+			return checksum;
+		}
+	}
+}
@@ -1,12 +1,14 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc217.collections.list.SortedList;
@@ -28,26 +30,87 @@ public class StudentRecordIO {
 	 * @param fileName name of the file to read Students from
 	 * @return studentDirectory of Students read from the given file
 	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @deprecated Kept for callers that need a SortedList. Each add checks the whole
+	 *             list for a duplicate, so the read is quadratic in the number of
+	 *             Students; use readSortedStudents() instead.
 	 */
+	@Deprecated
 	public static SortedList<Student> readStudentRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName));
+		return readStudentRecords(fileName, new RecordReport());
+	}
+
+	/**
+	 * Reads student records from a file and generates a list of valid Students. Any
+	 * invalid or duplicate Students are skipped and recorded in the given report.
+	 * @param fileName name of the file to read Students from
+	 * @param report report to record skipped lines in
+	 * @return studentDirectory of Students read from the given file
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after opening
+	 * @deprecated Kept for callers that need a SortedList. Each add checks the whole
+	 *             list for a duplicate, so the read is quadratic in the number of
+	 *             Students; use readSortedStudents() instead.
+	 */
+	@Deprecated
+	public static SortedList<Student> readStudentRecords(String fileName, RecordReport report) throws FileNotFoundException {
 		SortedList<Student> studentDirectory = new SortedList<Student>();
-		
-		while(fileReader.hasNextLine()) {
-			try {
-				Student student = processStudent(fileReader.nextLine());
-				
-				studentDirectory.add(student);
-				
+		for (Student student : readSortedStudents(fileName, report)) {
+			studentDirectory.add(student);
+		}
+		return studentDirectory;
+	}
+
+	/**
+	 * Reads student records from a file into an array of valid Students in sorted
+	 * order. The file is parsed in parallel shards and sorted once, and a Student
+	 * equal to one earlier in the file is skipped as readStudentRecords() would.
+	 * @param fileName name of the file to read Students from
+	 * @param report report to record skipped lines in
+	 * @return sorted array of valid Students
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after opening
+	 */
+	public static Student[] readSortedStudents(String fileName, RecordReport report) throws FileNotFoundException {
+		RecordShards<Student> shards = RecordShards.read(fileName, StudentRecordIO::processStudent, Student[]::new,
+				report.getProgress());
+		Student[] sorted = shards.getRecords().clone();
+		// The sort is stable, so equal Students stay in file order
+		Arrays.parallelSort(sorted);
+
+		// Equal Students compare the same, so duplicates are within runs of Students
+		// that compare the same
+		Set<Student> duplicates = Collections.newSetFromMap(new IdentityHashMap<Student, Boolean>());
+		int size = 0;
+		int runStart = 0;
+		for (int i = 0; i < sorted.length; i++) {
+			Student student = sorted[i];
+			if (size > runStart && sorted[size - 1].compareTo(student) != 0) {
+				runStart = size;
+			}
+			boolean duplicate = false;
+			for (int j = runStart; j < size && !duplicate; j++) {
+				duplicate = sorted[j].equals(student);
 			}
-			catch(IllegalArgumentException e) {
-				//Skip
+			if (duplicate) {
+				duplicates.add(student);
+			} else {
+				sorted[size++] = student;
 			}
 		}
-		
-		fileReader.close();
-		
-		return studentDirectory;
+
+		int[] duplicateLines = new int[duplicates.size()];
+		if (!duplicates.isEmpty()) {
+			Student[] read = shards.getRecords();
+			int[] lines = shards.getRecordLines();
+			int d = 0;
+			for (int i = 0; i < read.length; i++) {
+				if (duplicates.contains(read[i])) {
+					duplicateLines[d++] = lines[i];
+				}
+			}
+		}
+		shards.report(report, duplicateLines);
+		return Arrays.copyOf(sorted, size);
 	}
 
 	/**
@@ -57,40 +120,76 @@ public class StudentRecordIO {
 	 * @throws IOException if a failure occurs when writing to the file
 	 */
 	public static void writeStudentRecords(String fileName, SortedList<Student> studentDirectory) throws IOException {
-		PrintStream fileWriter = new PrintStream(new File(fileName));
-		
-		for(int i = 0; i < studentDirectory.size(); i++) {
-			fileWriter.println(studentDirectory.get(i).toString());
+		try (RecordWriter out = new RecordWriter(fileName)) {
+			for (int i = 0; i < studentDirectory.size(); i++) {
+				writeStudent(out, studentDirectory.get(i));
+			}
+			out.commit();
 		}
-		
-		fileWriter.close();
-		
+	}
+	
+	/**
+	 * Writes the given list of Students to a file in list order
+	 * @param fileName name of the specific file that students should be recorded to
+	 * @param students list of Students to write
+	 * @throws IOException if a failure occurs when writing to the file
+	 */
+	public static void writeStudentRecords(String fileName, List<Student> students) throws IOException {
+		writeStudentRecords(fileName, students, new RecordProgress());
+	}
+	
+	/**
+	 * Writes the given list of Students to a file in list order, adding the bytes
+	 * written to the given progress. If the progress is cancelled the file is left
+	 * as it was.
+	 * @param fileName name of the specific file that students should be recorded to
+	 * @param students list of Students to write
+	 * @param progress progress of the write
+	 * @throws IOException if a failure occurs when writing to the file
+	 * @throws CancellationException if the write is cancelled
+	 */
+	public static void writeStudentRecords(String fileName, List<Student> students, RecordProgress progress)
+			throws IOException {
+		try (RecordWriter out = new RecordWriter(fileName, progress)) {
+			for (Student s : students) {
+				writeStudent(out, s);
+			}
+			out.commit();
+		}
+	}
+	
+	/**
+	 * Writes a Student as a record in the same form as Student.toString()
+	 * @param out writer of the records file
+	 * @param s Student to write
+	 * @throws IOException if a failure occurs when writing to the file
+	 */
+	private static void writeStudent(RecordWriter out, Student s) throws IOException {
+		out.field(s.getFirstName()).field(s.getLastName()).field(s.getId()).field(s.getEmail())
+				.field(s.getPassword()).field(s.getMaxCredits()).endRecord();
 	}
 	
 	/**
 	 * Read individual line of a specific student and create a student object with the
 	 * specific information on the line.
-	 * @param line line of a specific student from the file
+	 * @param scan reader positioned on the line of a specific student
 	 * @throws IllegalArgumentException if a specific element is not found in the file
 	 * @return newStudent specific student that was processed from one line in the file
 	 */
-	private static Student processStudent(String line) {
-		try (Scanner scan = new Scanner(line)) {
-			scan.useDelimiter(",");
-			try {
-				String firstName = scan.next();
-				String lastName = scan.next();
-				String id = scan.next();
-				String email = scan.next();
-				String password = scan.next();
-				int maxCredits = scan.nextInt();
-				
-				Student newStudent = new Student(firstName, lastName, id, email, password, maxCredits);
-				return newStudent;
-			}
-			catch(NoSuchElementException e) {
-				throw new IllegalArgumentException();
-			}
+	private static Student processStudent(RecordReader scan) {
+		try {
+			String firstName = scan.next();
+			String lastName = scan.next();
+			String id = scan.next();
+			String email = scan.next();
+			String password = scan.next();
+			int maxCredits = scan.nextInt();
+			
+			Student newStudent = new Student(firstName, lastName, id, email, password, maxCredits);
+			return newStudent;
+		}
+		catch(NoSuchElementException e) {
+			throw new IllegalArgumentException();
 		}
 	}
 
@@ -0,0 +1,196 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Striped locks guarding course rolls, student schedules and faculty schedules
+ * during registration. Each course, student and faculty member maps to one lock
+ * stripe. Callers always lock course stripes before faculty and student
+ * stripes, and several stripes of the same kind in increasing stripe order, so
+ * transactions can't deadlock.
+ * 
+ * @author Chirag Sreedhara
+ */
+class RegistrationLocks {
+
+	/** Number of stripes of each kind, a power of two */
+	private static final int STRIPES = 1024;
+
+	/** Lock stripes for course rolls */
+	private final ReentrantLock[] courseLocks;
+
+	/** Lock stripes for student schedules */
+	private final ReentrantLock[] studentLocks;
+
+	/** Lock stripes for faculty schedules */
+	private final ReentrantLock[] facultyLocks;
+
+	/**
+	 * Creates the course, student and faculty lock stripes
+	 */
+	RegistrationLocks() {
+		courseLocks = new ReentrantLock[STRIPES];
+		studentLocks = new ReentrantLock[STRIPES];
+		facultyLocks = new ReentrantLock[STRIPES];
+		for (int i = 0; i < STRIPES; i++) {
+			courseLocks[i] = new ReentrantLock();
+			studentLocks[i] = new ReentrantLock();
+			facultyLocks[i] = new ReentrantLock();
+		}
+	}
+
+	/**
+	 * Locks the stripe of a course. Must be called before any student stripe is
+	 * held.
+	 * 
+	 * @param c the course to lock
+	 */
+	void lockCourse(Course c) {
+		courseLocks[stripe(c)].lock();
+	}
+
+	/**
+	 * Unlocks the stripe of a course
+	 * 
+	 * @param c the course to unlock
+	 */
+	void unlockCourse(Course c) {
+		courseLocks[stripe(c)].unlock();
+	}
+
+	/**
+	 * Locks the stripe of a faculty member. Must be called after the stripe of any
+	 * course being assigned is locked.
+	 * 
+	 * @param f the faculty member to lock
+	 */
+	void lockFaculty(Faculty f) {
+		facultyLocks[stripe(f)].lock();
+	}
+
+	/**
+	 * Unlocks the stripe of a faculty member
+	 * 
+	 * @param f the faculty member to unlock
+	 */
+	void unlockFaculty(Faculty f) {
+		facultyLocks[stripe(f)].unlock();
+	}
+
+	/**
+	 * Locks the stripe of a student
+	 * 
+	 * @param s the student to lock
+	 */
+	void lockStudent(Student s) {
+		studentLocks[stripe(s)].lock();
+	}
+
+	/**
+	 * Unlocks the stripe of a student
+	 * 
+	 * @param s the student to unlock
+	 */
+	void unlockStudent(Student s) {
+		studentLocks[stripe(s)].unlock();
+	}
+
+	/**
+	 * Locks the stripes of a student and of several others in stripe order. Used
+	 * when any of the others may be changed, such as the students on a waitlist.
+	 * 
+	 * @param s      the student to lock
+	 * @param others other students to lock
+	 */
+	void lockStudents(Student s, Student[] others) {
+		for (int stripe : stripes(s, others)) {
+			studentLocks[stripe].lock();
+		}
+	}
+
+	/**
+	 * Unlocks the stripes locked by lockStudents() for the same student and others
+	 * 
+	 * @param s      the student to unlock
+	 * @param others the other students that were locked
+	 */
+	void unlockStudents(Student s, Student[] others) {
+		int[] stripes = stripes(s, others);
+		for (int i = stripes.length - 1; i >= 0; i--) {
+			studentLocks[stripes[i]].unlock();
+		}
+	}
+
+	/**
+	 * Returns the distinct stripes of a student and several others in increasing
+	 * order.
+	 * 
+	 * @param s      a student
+	 * @param others other students
+	 * @return the students' stripes, sorted and without repeats
+	 */
+	private static int[] stripes(Student s, Student[] others) {
+		int[] stripes = new int[others.length + 1];
+		stripes[0] = stripe(s);
+		for (int i = 0; i < others.length; i++) {
+			stripes[i + 1] = stripe(others[i]);
+		}
+		Arrays.sort(stripes);
+		int n = 0;
+		for (int i = 0; i < stripes.length; i++) {
+			if (i == 0 || stripes[i] != stripes[i - 1]) {
+				stripes[n++] = stripes[i];
+			}
+		}
+		return Arrays.copyOf(stripes, n);
+	}
+
+	/**
+	 * Locks every course stripe, then every faculty stripe and then every student
+	 * stripe, in stripe order, stopping all registration until unlockAll() is
+	 * called.
+	 */
+	void lockAll() {
+		for (ReentrantLock lock : courseLocks) {
+			lock.lock();
+		}
+		for (ReentrantLock lock : facultyLocks) {
+			lock.lock();
+		}
+		for (ReentrantLock lock : studentLocks) {
+			lock.lock();
+		}
+	}
+
+	/**
+	 * Unlocks the stripes locked by lockAll()
+	 */
+	void unlockAll() {
+		for (int i = STRIPES - 1; i >= 0; i--) {
+			studentLocks[i].unlock();
+		}
+		for (int i = STRIPES - 1; i >= 0; i--) {
+			facultyLocks[i].unlock();
+		}
+		for (int i = STRIPES - 1; i >= 0; i--) {
+			courseLocks[i].unlock();
+		}
+	}
+
+	/**
+	 * Maps an object to its stripe. Identity hash codes are used because Course,
+	 * Student and Faculty hash codes change when their fields are edited.
+	 * 
+	 * @param o the object to map
+	 * @return the object's stripe
+	 */
+	private static int stripe(Object o) {
+		int h = System.identityHashCode(o);
+		return (h ^ (h >>> 16)) & (STRIPES - 1);
+	}
+}
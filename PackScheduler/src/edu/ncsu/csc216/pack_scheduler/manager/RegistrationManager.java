@@ -3,9 +3,7 @@ package edu.ncsu.csc216.pack_scheduler.manager;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import java.util.List;
 import java.util.Properties;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
@@ -13,7 +11,10 @@ import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
 import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.EnrollmentJournal;
+import edu.ncsu.csc216.pack_scheduler.io.SnapshotIO;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.PasswordHasher;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.User;
 import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
@@ -31,7 +32,7 @@ public class RegistrationManager {
 	/**
 	 * singleton alive instance of the manager
 	 */
-	private static RegistrationManager instance;
+	private static volatile RegistrationManager instance;
 	/**
 	 * the managed course catalog
 	 */
@@ -49,11 +50,19 @@ public class RegistrationManager {
 	 */
 	private User registrar;
 	/**
-	 * the current logged in user
+	 * the session of the user logged in through login()
 	 */
-	private User currentUser;
-	/** Hashing algorithm */
-	private static final String HASH_ALGORITHM = "SHA-256";
+	private volatile Session currentSession;
+	/**
+	 * lock stripes guarding the course rolls and the student and faculty schedules
+	 * shared between sessions
+	 */
+	private final RegistrationLocks locks = new RegistrationLocks();
+	/**
+	 * journal of registration changes since the last checkpoint, or null if
+	 * changes aren't journaled. Only replaced while every lock is held.
+	 */
+	private volatile EnrollmentJournal journal;
 	/**
 	 * file the registrar info is stored in
 	 */
@@ -81,7 +90,7 @@ public class RegistrationManager {
 		try (InputStream input = new FileInputStream(PROP_FILE)) {
 			prop.load(input);
 
-			String hashPW = hashPW(prop.getProperty("pw"));
+			String hashPW = PasswordHasher.hash(prop.getProperty("pw"));
 
 			registrar = new Registrar(prop.getProperty("first"), prop.getProperty("last"), prop.getProperty("id"),
 					prop.getProperty("email"), hashPW);
@@ -90,33 +99,23 @@ public class RegistrationManager {
 		}
 	}
 
-	/**
-	 * Encodes (hashes) given password
-	 * 
-	 * @param pw password to be hashed
-	 * @return hashed version of pw
-	 * @throws IllegalArgumentException if pw can't be hashed.
-	 */
-	private String hashPW(String pw) {
-		try {
-			MessageDigest digest1 = MessageDigest.getInstance(HASH_ALGORITHM);
-			digest1.update(pw.getBytes());
-			return Base64.getEncoder().encodeToString(digest1.digest());
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalArgumentException("Cannot hash password");
-		}
-	}
-
 	/**
 	 * singleton entry point for the Registration Manager
 	 * 
 	 * @return the single instance of the Registration manager
 	 */
 	public static RegistrationManager getInstance() {
-		if (instance == null) {
-			instance = new RegistrationManager();
+		RegistrationManager manager = instance;
+		if (manager == null) {
+			synchronized (RegistrationManager.class) {
+				manager = instance;
+				if (manager == null) {
+					manager = new RegistrationManager();
+					instance = manager;
+				}
+			}
 		}
-		return instance;
+		return manager;
 	}
 
 	/**
@@ -128,8 +127,16 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException if not valid roles.
 	 */
 	public boolean addFacultyToCourse(Course c, Faculty f) {
-		if (currentUser != null && currentUser == registrar) {
-			f.getSchedule().addCourseToSchedule(c);
+		if (isRegistrarLoggedIn()) {
+			locks.lockCourse(c);
+			locks.lockFaculty(f);
+			try {
+				journal(EnrollmentJournal.ADD_FACULTY, f.getId(), c);
+				f.getSchedule().addCourseToSchedule(c);
+			} finally {
+				locks.unlockFaculty(f);
+				locks.unlockCourse(c);
+			}
 			return true;
 		}
 		throw new IllegalArgumentException();
@@ -144,8 +151,16 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException if not valid roles.
 	 */
 	public boolean removeFacultyFromCourse(Course c, Faculty f) {
-		if (currentUser != null && currentUser == registrar) {
-			f.getSchedule().removeCourseFromSchedule(c);
+		if (isRegistrarLoggedIn()) {
+			locks.lockCourse(c);
+			locks.lockFaculty(f);
+			try {
+				journal(EnrollmentJournal.REMOVE_FACULTY, f.getId(), c);
+				f.getSchedule().removeCourseFromSchedule(c);
+			} finally {
+				locks.unlockFaculty(f);
+				locks.unlockCourse(c);
+			}
 			return true;
 		}
 		throw new IllegalArgumentException();
@@ -158,8 +173,15 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException if not valid roles.
 	 */
 	public void resetFacultySchedule(Faculty f) {
-		if (currentUser != null && currentUser == registrar) {
-			f.getSchedule().resetSchedule();
+		if (isRegistrarLoggedIn()) {
+			// The faculty's courses aren't known until the schedule is read
+			locks.lockAll();
+			try {
+				journal(EnrollmentJournal.RESET_FACULTY_SCHEDULE, f.getId(), null);
+				f.getSchedule().resetSchedule();
+			} finally {
+				locks.unlockAll();
+			}
 		} else {
 			throw new IllegalArgumentException();
 		}
@@ -193,7 +215,9 @@ public class RegistrationManager {
 	}
 
 	/**
-	 * log a user in
+	 * log a user in as the manager's current user. Only one user can be logged in
+	 * this way at a time; use openSession() to have several users logged in at
+	 * once.
 	 * 
 	 * @param id       of user trying to log in
 	 * @param password of the user trying to log in
@@ -202,41 +226,72 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException if the user specified in the input does not
 	 *                                  exist
 	 */
-	public boolean login(String id, String password) {
-		if (id == null || password == null || currentUser != null) {
+	public synchronized boolean login(String id, String password) {
+		if (currentSession != null) {
+			return false;
+		}
+		Session session = openSession(id, password);
+		if (session == null) {
 			return false;
 		}
-		String localHashPW = hashPW(password);
-		System.err.println();
+		currentSession = session;
+		return true;
+	}
+
+	/**
+	 * Opens a new session for a user. Any number of sessions can be open at once,
+	 * so many users can register concurrently through their own session.
+	 * 
+	 * @param id       of user trying to log in
+	 * @param password of the user trying to log in
+	 * @return the new session, or null if the id or password is null or the
+	 *         password is wrong
+	 * 
+	 * @throws IllegalArgumentException if the user specified in the input does not
+	 *                                  exist
+	 */
+	public Session openSession(String id, String password) {
+		if (id == null || password == null) {
+			return null;
+		}
 		if (registrar != null && registrar.getId().equals(id)) {
-			if (registrar.getPassword().equals(localHashPW)) {
-				currentUser = registrar;
-				return true;
+			if (PasswordHasher.matches(password, registrar.getPassword())) {
+				return new Session(registrar);
 			} else {
-				return false;
+				return null;
 			}
 		}
 
 		Student s = studentDirectory.getStudentById(id);
 		Faculty f = facultyDirectory.getFacultyById(id);
-		if (s != null && s.getPassword().equals(localHashPW)) {
-			currentUser = s;
-			return true;
+		if (s != null && PasswordHasher.matches(password, s.getPassword())) {
+			return new Session(s);
 		} else if (f == null && s == null) {
 			throw new IllegalArgumentException("User doesn't exist.");
-		} else if (f != null && f.getPassword().equals(localHashPW)) {
-			currentUser = f;
-			return true;
+		} else if (f != null && PasswordHasher.matches(password, f.getPassword())) {
+			return new Session(f);
 		}
 
-		return false;
+		return null;
 	}
 
 	/**
 	 * logs the current user out
 	 */
-	public void logout() {
-		currentUser = null;
+	public synchronized void logout() {
+		logout(currentSession);
+		currentSession = null;
+	}
+
+	/**
+	 * Closes the given session. Closed sessions can no longer be used to register.
+	 * 
+	 * @param session the session to close
+	 */
+	public void logout(Session session) {
+		if (session != null) {
+			session.open = false;
+		}
 	}
 
 	/**
@@ -245,18 +300,295 @@ public class RegistrationManager {
 	 * @return the current user
 	 */
 	public User getCurrentUser() {
-		return currentUser;
+		Session session = currentSession;
+		return session == null ? null : session.getUser();
+	}
+
+	/**
+	 * getter for the current user's session
+	 * 
+	 * @return the session of the current user, or null if no one is logged in
+	 */
+	public Session getCurrentSession() {
+		return currentSession;
+	}
+
+	/**
+	 * Checks whether the current user is the registrar
+	 * 
+	 * @return true if the registrar is logged in
+	 */
+	private boolean isRegistrarLoggedIn() {
+		User user = getCurrentUser();
+		return user != null && user == registrar;
 	}
 
 	/**
 	 * clears the current data, resetting the course and student catalogs
 	 */
 	public void clearData() {
+		stopJournal();
 		courseCatalog.newCourseCatalog();
 		studentDirectory.newStudentDirectory();
 		facultyDirectory.newFacultyDirectory();
 	}
 
+	/**
+	 * Saves the catalog, directories, course rolls, waitlists and schedules to a
+	 * binary snapshot. Registration is paused while the snapshot is written so it
+	 * is consistent.
+	 * 
+	 * @param fileName file to save the snapshot to
+	 * @throws IllegalArgumentException if the file cannot be written
+	 */
+	public void saveSnapshot(String fileName) {
+		locks.lockAll();
+		try {
+			SnapshotIO.writeSnapshot(fileName, courseCatalog.getCourses(), studentDirectory.getStudents(),
+					facultyDirectory.getFaculty());
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write to file " + fileName);
+		} finally {
+			locks.unlockAll();
+		}
+	}
+
+	/**
+	 * Replaces the catalog, directories, course rolls, waitlists and schedules with
+	 * those of a snapshot written by saveSnapshot(). Like clearData(), users
+	 * logged in before the load keep their old objects and should log in again,
+	 * and any journal is stopped.
+	 * 
+	 * @param fileName file to load the snapshot from
+	 * @throws IllegalArgumentException if the file cannot be read or is not a
+	 *                                  valid snapshot
+	 */
+	public void loadSnapshot(String fileName) {
+		SnapshotIO.Snapshot snapshot = readSnapshot(fileName);
+		locks.lockAll();
+		try {
+			restore(snapshot);
+		} finally {
+			locks.unlockAll();
+		}
+	}
+
+	/**
+	 * Starts journaling registration changes. The current state is checkpointed to
+	 * a snapshot, and every later enrollment, drop and faculty assignment is
+	 * appended to a new journal before it is made. Changes to the catalog and
+	 * directories themselves are only kept by the next checkpoint.
+	 * 
+	 * @param snapshotFile           file to save the checkpoint snapshot to
+	 * @param journalFile            file to journal changes to
+	 * @param durabilityWindowMillis longest a change may wait to be written to
+	 *                               disk, in milliseconds; 0 makes every change
+	 *                               wait until it is on disk
+	 * @throws IllegalArgumentException if either file cannot be written or the
+	 *                                  window is negative
+	 */
+	public void startJournal(String snapshotFile, String journalFile, long durabilityWindowMillis) {
+		if (durabilityWindowMillis < 0) {
+			throw new IllegalArgumentException("Invalid durability window");
+		}
+		locks.lockAll();
+		try {
+			closeJournal();
+			int checksum;
+			try {
+				checksum = SnapshotIO.writeSnapshot(snapshotFile, courseCatalog.getCourses(),
+						studentDirectory.getStudents(), facultyDirectory.getFaculty());
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Unable to write to file " + snapshotFile);
+			}
+			try {
+				journal = new EnrollmentJournal(journalFile, checksum, durabilityWindowMillis);
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Unable to write to file " + journalFile);
+			}
+		} finally {
+			locks.unlockAll();
+		}
+	}
+
+	/**
+	 * Recovers from a crash by loading the checkpoint snapshot and replaying the
+	 * changes journaled after it. A journal left from an earlier checkpoint is
+	 * ignored, as the snapshot already holds its changes. Journaling then starts
+	 * again from a new checkpoint of the recovered state.
+	 * 
+	 * @param snapshotFile           file the checkpoint snapshot was saved to
+	 * @param journalFile            file changes were journaled to
+	 * @param durabilityWindowMillis longest a change may wait to be written to
+	 *                               disk from now on, in milliseconds
+	 * @return the number of journaled changes replayed
+	 * @throws IllegalArgumentException if either file cannot be read or written,
+	 *                                  or the snapshot is invalid
+	 */
+	public int recover(String snapshotFile, String journalFile, long durabilityWindowMillis) {
+		SnapshotIO.Snapshot snapshot = readSnapshot(snapshotFile);
+		locks.lockAll();
+		try {
+			restore(snapshot);
+			int replayed;
+			try {
+				replayed = EnrollmentJournal.replay(journalFile, snapshot.getChecksum(), this::replay);
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Unable to read file " + journalFile);
+			}
+			startJournal(snapshotFile, journalFile, durabilityWindowMillis);
+			return replayed;
+		} finally {
+			locks.unlockAll();
+		}
+	}
+
+	/**
+	 * Stops journaling, after writing every journaled change to disk
+	 * 
+	 * @throws IllegalArgumentException if the journal cannot be written
+	 */
+	public void stopJournal() {
+		locks.lockAll();
+		try {
+			closeJournal();
+		} finally {
+			locks.unlockAll();
+		}
+	}
+
+	/**
+	 * Reads a snapshot file
+	 * 
+	 * @param fileName file to read
+	 * @return the snapshot
+	 * @throws IllegalArgumentException if the file cannot be read or is not a
+	 *                                  valid snapshot
+	 */
+	private SnapshotIO.Snapshot readSnapshot(String fileName) {
+		try {
+			return SnapshotIO.readSnapshot(fileName);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+	}
+
+	/**
+	 * Stops any journal and replaces the catalog and directories with a
+	 * snapshot's. Every lock must be held.
+	 * 
+	 * @param snapshot snapshot to restore
+	 */
+	private void restore(SnapshotIO.Snapshot snapshot) {
+		closeJournal();
+		courseCatalog.loadCourses(snapshot.getCourses());
+		studentDirectory.loadStudents(snapshot.getStudents());
+		facultyDirectory.loadFaculty(snapshot.getFaculty());
+	}
+
+	/**
+	 * Closes the journal, if any. Every lock must be held.
+	 * 
+	 * @throws IllegalArgumentException if the journal cannot be written
+	 */
+	private void closeJournal() {
+		EnrollmentJournal closing = journal;
+		journal = null;
+		if (closing != null) {
+			try {
+				closing.close();
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Unable to write to journal");
+			}
+		}
+	}
+
+	/**
+	 * Appends a change to the journal, if changes are being journaled
+	 * 
+	 * @param type   type of the change
+	 * @param userId id of the student or faculty member changed
+	 * @param c      course changed, or null
+	 */
+	private void journal(int type, String userId, Course c) {
+		EnrollmentJournal current = journal;
+		if (current != null) {
+			current.append(type, userId, c == null ? null : c.getName(), c == null ? null : c.getSection());
+		}
+	}
+
+	/**
+	 * Applies a journaled change during recovery. The change is made the same way
+	 * it first was, so a dropped course promotes the same waitlisted student, and
+	 * a change that failed then fails again and is skipped.
+	 * 
+	 * @param type    type of the change
+	 * @param userId  id of the student or faculty member changed
+	 * @param name    name of the course changed, or null
+	 * @param section section of the course changed, or null
+	 */
+	private void replay(int type, String userId, String name, String section) {
+		Course c = name == null ? null : courseCatalog.getCourseFromCatalog(name, section);
+		Student s = studentDirectory.getStudentById(userId);
+		Faculty f = facultyDirectory.getFacultyById(userId);
+		try {
+			if (type == EnrollmentJournal.ENROLL && s != null && c != null) {
+				enroll(s, c);
+			} else if (type == EnrollmentJournal.DROP && s != null && c != null) {
+				dropCourse(s, c);
+			} else if (type == EnrollmentJournal.ADD_FACULTY && f != null && c != null) {
+				f.getSchedule().addCourseToSchedule(c);
+			} else if (type == EnrollmentJournal.REMOVE_FACULTY && f != null && c != null) {
+				f.getSchedule().removeCourseFromSchedule(c);
+			} else if (type == EnrollmentJournal.RESET_FACULTY_SCHEDULE && f != null) {
+				f.getSchedule().resetSchedule();
+			}
+		} catch (IllegalArgumentException e) {
+			// Failed the same way when first made
+		}
+	}
+
+	/**
+	 * Handle for a user logged in to the manager. Registration actions that take a
+	 * session act on behalf of the session's user.
+	 * 
+	 * @author Chirag Sreedhara
+	 */
+	public static final class Session {
+		/** the user the session belongs to */
+		private final User user;
+		/** whether the session can still be used */
+		private volatile boolean open;
+
+		/**
+		 * Opens a session for a user
+		 * 
+		 * @param user the logged in user
+		 */
+		private Session(User user) {
+			this.user = user;
+			this.open = true;
+		}
+
+		/**
+		 * getter for the session's user
+		 * 
+		 * @return the user the session belongs to
+		 */
+		public User getUser() {
+			return user;
+		}
+
+		/**
+		 * Checks whether the session is still open
+		 * 
+		 * @return true if the session has not been logged out
+		 */
+		public boolean isOpen() {
+			return open;
+		}
+	}
+
 	/**
 	 * Registrar class that acts is an extension of the abstract class User
 	 * 
@@ -287,26 +619,113 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException if student is invalid
 	 */
 	public boolean enrollStudentInCourse(Course c) {
-		if (!(currentUser instanceof Student)) {
-			throw new IllegalArgumentException("Illegal Action");
-		}
+		return enrollStudentInCourse(currentSession, c);
+	}
+
+	/**
+	 * Returns true if the session's student can enroll in the given course.
+	 * 
+	 * @param session session of the student to enroll
+	 * @param c       Course to enroll in
+	 * @return true if enrolled
+	 * @throws IllegalArgumentException if the session is not an open student
+	 *                                  session
+	 */
+	public boolean enrollStudentInCourse(Session session, Course c) {
+		return enroll(getSessionStudent(session), c);
+	}
+
+	/**
+	 * Enrolls a student in a course, or puts them on its waitlist
+	 * 
+	 * @param s student to enroll
+	 * @param c course to enroll in
+	 * @return true if enrolled or waitlisted
+	 */
+	private boolean enroll(Student s, Course c) {
+		locks.lockCourse(c);
+		locks.lockStudent(s);
 		try {
-			Student s = (Student) currentUser;
 			Schedule schedule = s.getSchedule();
 			CourseRoll roll = c.getCourseRoll();
 
 			if (s.canAdd(c) && roll.canEnroll(s)) {
+				journal(EnrollmentJournal.ENROLL, s.getId(), c);
 				schedule.addCourseToSchedule(c);
-				roll.enroll(s);
+				try {
+					roll.enroll(s);
+				} catch (IllegalArgumentException e) {
+					schedule.removeCourseFromSchedule(c);
+					throw e;
+				}
+				// Open seats changed
+				courseCatalog.courseUpdated(c);
 				return true;
 			}
 
 		} catch (IllegalArgumentException e) {
 			return false;
+		} finally {
+			locks.unlockStudent(s);
+			locks.unlockCourse(c);
 		}
 		return false;
 	}
 
+	/**
+	 * Returns every catalog course the logged in student could enroll in right
+	 * now.
+	 * 
+	 * @return the addable courses, sorted by name and section
+	 * @throws IllegalArgumentException if the current user is not a student
+	 */
+	public List<Course> getAddableCourses() {
+		return getAddableCourses(currentSession);
+	}
+
+	/**
+	 * Returns every catalog course the session's student could enroll in right
+	 * now: courses that are not duplicates of or in conflict with a scheduled
+	 * course, that keep the student within their max credits, and that have an
+	 * open seat or room on the waitlist. The result is a snapshot, so enrolling
+	 * in one of the courses may still fail if another session gets there first.
+	 * 
+	 * @param session session of the student to check
+	 * @return the addable courses, sorted by name and section
+	 * @throws IllegalArgumentException if the session is not an open student
+	 *                                  session
+	 */
+	public List<Course> getAddableCourses(Session session) {
+		Student s = getSessionStudent(session);
+		List<Course> addable;
+		locks.lockStudent(s);
+		try {
+			addable = courseCatalog.getAddableCourses(s.getSchedule(), s.getMaxCredits());
+		} finally {
+			locks.unlockStudent(s);
+		}
+		// Course locks come before student locks, so the rolls are checked after the
+		// schedule is released
+		addable.removeIf(c -> !canEnroll(s, c));
+		return addable;
+	}
+
+	/**
+	 * Returns true if the course's roll would take the student.
+	 * 
+	 * @param s student to check
+	 * @param c Course to check
+	 * @return true if the student could be enrolled or waitlisted
+	 */
+	private boolean canEnroll(Student s, Course c) {
+		locks.lockCourse(c);
+		try {
+			return c.getCourseRoll().canEnroll(s);
+		} finally {
+			locks.unlockCourse(c);
+		}
+	}
+
 	/**
 	 * Returns true if the logged in student can drop the given course.
 	 * 
@@ -315,15 +734,50 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException if student is invalid
 	 */
 	public boolean dropStudentFromCourse(Course c) {
-		if (!(currentUser instanceof Student)) {
-			throw new IllegalArgumentException("Illegal Action");
-		}
+		return dropStudentFromCourse(currentSession, c);
+	}
+
+	/**
+	 * Returns true if the session's student can drop the given course.
+	 * 
+	 * @param session session of the student dropping the course
+	 * @param c       Course to drop
+	 * @return true if dropped
+	 * @throws IllegalArgumentException if the session is not an open student
+	 *                                  session
+	 */
+	public boolean dropStudentFromCourse(Session session, Course c) {
+		return dropCourse(getSessionStudent(session), c);
+	}
+
+	/**
+	 * Drops a student from a course as one transaction. The course is locked
+	 * first, which fixes who is on its waitlist, and then the dropping student and
+	 * every waitlisted student are locked, since the seat goes to the first of them
+	 * whose schedule can take the course.
+	 * 
+	 * @param s student dropping the course
+	 * @param c Course to drop
+	 * @return true if dropped
+	 */
+	private boolean dropCourse(Student s, Course c) {
+		locks.lockCourse(c);
 		try {
-			Student s = (Student) currentUser;
-			c.getCourseRoll().drop(s);
-			return s.getSchedule().removeCourseFromSchedule(c);
+			CourseRoll roll = c.getCourseRoll();
+			Student[] waiting = roll.getWaitlistedStudents();
+			locks.lockStudents(s, waiting);
+			try {
+				journal(EnrollmentJournal.DROP, s.getId(), c);
+				roll.drop(s);
+				courseCatalog.courseUpdated(c);
+				return s.getSchedule().removeCourseFromSchedule(c);
+			} finally {
+				locks.unlockStudents(s, waiting);
+			}
 		} catch (IllegalArgumentException e) {
 			return false;
+		} finally {
+			locks.unlockCourse(c);
 		}
 	}
 
@@ -334,20 +788,57 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException if exception encountered.
 	 */
 	public void resetSchedule() {
-		if (!(currentUser instanceof Student)) {
-			throw new IllegalArgumentException("Illegal Action");
+		resetSchedule(currentSession);
+	}
+
+	/**
+	 * Resets the session's student's schedule by dropping them from every course
+	 * and then resetting the schedule.
+	 * 
+	 * @param session session of the student whose schedule is reset
+	 * @throws IllegalArgumentException if the session is not an open student
+	 *                                  session
+	 */
+	public void resetSchedule(Session session) {
+		Student s = getSessionStudent(session);
+		Schedule schedule = s.getSchedule();
+		String[][] scheduleArray;
+		locks.lockStudent(s);
+		try {
+			scheduleArray = schedule.getScheduledCourses();
+		} finally {
+			locks.unlockStudent(s);
+		}
+		// Course locks come before student locks, so each course is dropped in its
+		// own transaction
+		for (int i = 0; i < scheduleArray.length; i++) {
+			Course c = courseCatalog.getCourseFromCatalog(scheduleArray[i][0], scheduleArray[i][1]);
+			if (c != null) {
+				dropCourse(s, c);
+			}
 		}
+		locks.lockStudent(s);
 		try {
-			Student s = (Student) currentUser;
-			Schedule schedule = s.getSchedule();
-			String[][] scheduleArray = schedule.getScheduledCourses();
-			for (int i = 0; i < scheduleArray.length; i++) {
-				Course c = courseCatalog.getCourseFromCatalog(scheduleArray[i][0], scheduleArray[i][1]);
-				c.getCourseRoll().drop(s);
+			if (schedule.getScheduledCourses().length == 0) {
+				schedule.resetSchedule();
 			}
-			schedule.resetSchedule();
-		} catch (IllegalArgumentException e) {
-			// do nothing
+		} finally {
+			locks.unlockStudent(s);
+		}
+	}
+
+	/**
+	 * Returns the student a session belongs to
+	 * 
+	 * @param session the session to check
+	 * @return the session's student
+	 * @throws IllegalArgumentException if the session is null, closed, or does not
+	 *                                  belong to a student
+	 */
+	private Student getSessionStudent(Session session) {
+		if (session == null || !session.isOpen() || !(session.getUser() instanceof Student)) {
+			throw new IllegalArgumentException("Illegal Action");
 		}
+		return (Student) session.getUser();
 	}
 }
@@ -9,6 +9,8 @@ import java.awt.event.ActionListener;
 import java.awt.event.ItemEvent;
 import java.awt.event.ItemListener;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -25,9 +27,11 @@ import javax.swing.ListSelectionModel;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
-import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.pack_scheduler.io.RecordReport;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
 
 /**
@@ -373,27 +377,27 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 		if (e.getSource() == btnLoadCourseCatalog) {
 			try {
 				String fileName = getFileName(true);
-				catalog.loadCoursesFromFile(fileName);
-				courseCatalogTableModel.updateData();
-				scrollCourseCatalog.revalidate();
-				scrollCourseCatalog.repaint();
-				courseCatalogTableModel.fireTableDataChanged();
+				// Instructors' schedules are only changed once the whole file is read
+				RecordTask.load(this, fileName,
+						progress -> CourseRecordIO.readUnboundCourses(fileName, new RecordReport(progress)),
+						unbound -> catalog.loadCourses(
+								unbound.bind(RegistrationManager.getInstance().getFacultyDirectory()::getFacultyById)));
 			} catch (IllegalArgumentException | IllegalStateException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
 		} else if (e.getSource() == btnSaveCourseCatalog) {
 			try {
 				String fileName = getFileName(false);
-				catalog.saveCourseCatalog(fileName);
+				List<Course> courses = new ArrayList<Course>(catalog.getCourses());
+				RecordTask.save(this, fileName, progress -> {
+					CourseRecordIO.writeCourseRecords(fileName, courses, progress);
+					return null;
+				});
 			} catch (IllegalArgumentException | IllegalStateException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
 		} else if (e.getSource() == btnNewCourseCatalog) {
 			catalog.newCourseCatalog();
-			courseCatalogTableModel.updateData();
-			scrollCourseCatalog.revalidate();
-			scrollCourseCatalog.repaint();
-			courseCatalogTableModel.fireTableDataChanged();
 		} else if (e.getSource() == btnAddCourse) {
 			String name = txtName.getText();
 			String title = txtTitle.getText();
@@ -488,7 +492,6 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 			} catch (IllegalArgumentException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
-			courseCatalogTableModel.updateData();
 		} else if (e.getSource() == btnRemoveCourse) {
 			int row = tableCourseCatalog.getSelectedRow();
 			if (row == -1 || row == courseCatalogTableModel.getRowCount()) {
@@ -500,7 +503,6 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 					JOptionPane.showMessageDialog(this, "No course selected.");
 				}
 			}
-			courseCatalogTableModel.updateData();
 		}
 		
 		this.validate();
@@ -534,81 +536,43 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 	
 	/**
 	 * CourseCatalogTableModel is the object underlying the JTable object that displays
-	 * the list of Courses to the user.
+	 * the list of Courses to the user. Rows follow the catalog's change events.
 	 * @author Sarah Heckman
 	 */
-	private class CourseCatalogTableModel extends AbstractTableModel {
+	private class CourseCatalogTableModel extends ListTableModel<Course> {
 		
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String [] columnNames = {"Name", "Section", "Title", "Meeting Information", "Open Seats"};
-		/** Data stored in the table */
-		private Object [][] data;
 		
 		/**
-		 * Constructs the CourseCatalogTableModel by requesting the latest information
-		 * from the RequirementTrackerModel.
+		 * Constructs the CourseCatalogTableModel with the catalog's courses and listens
+		 * for changes to the catalog.
 		 */
 		public CourseCatalogTableModel() {
-			updateData();
+			super(new String[] {"Name", "Section", "Title", "Meeting Information", "Open Seats"}, catalog.getCourses());
+			catalog.addListChangeListener(this);
 		}
 
 		/**
-		 * Returns the number of columns in the table.
-		 * @return the number of columns in the table.
-		 */
-		public int getColumnCount() {
-			return columnNames.length;
-		}
-
-		/**
-		 * Returns the number of rows in the table.
-		 * @return the number of rows in the table.
-		 */
-		public int getRowCount() {
-			if (data == null) 
-				return 0;
-			return data.length;
-		}
-		
-		/**
-		 * Returns the column name at the given index.
-		 * @param col column index
-		 * @return the column name at the given column.
-		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
-		}
-
-		/**
-		 * Returns the data at the given {row, col} index.
-		 * @param row row index
+		 * Returns a column of a Course's short display array.
+		 * @param c Course of the row
 		 * @param col column index
-		 * @return the data at the given location.
-		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-		
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * @param value Object to modify in the data.
-		 * @param row location to modify the data.
-		 * @param col location to modify the data.
+		 * @return the data at the given column.
 		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
-		}
-		
-		/**
-		 * Updates the given model with Course information from the CourseCatalog.
-		 */
-		public void updateData() {
-			data = catalog.getCourseCatalog();
+		@Override
+		protected Object getColumnValue(Course c, int col) {
+			switch (col) {
+			case 0:
+				return c.getName();
+			case 1:
+				return c.getSection();
+			case 2:
+				return c.getTitle();
+			case 3:
+				return c.getMeetingString();
+			default:
+				return String.valueOf(c.getCourseRoll().getOpenSeats());
+			}
 		}
 	}
 
@@ -7,6 +7,8 @@ import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -23,9 +25,10 @@ import javax.swing.ListSelectionModel;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
-import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.FacultyRecordIO;
+import edu.ncsu.csc216.pack_scheduler.io.RecordReport;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 
@@ -222,28 +225,19 @@ public class FacultyDirectoryPanel extends JPanel implements ActionListener {
 	public void actionPerformed(ActionEvent e) {
 		if (e.getSource() == btnLoadFacultyList) {
 			String fileName = getFileName(true);
-			try {
-				facultyDirectory.loadFacultyFromFile(fileName);
-				facultyDirectoryTableModel.updateData();
-				scrollFacultyDirectory.revalidate();
-				scrollFacultyDirectory.repaint();
-				facultyDirectoryTableModel.fireTableDataChanged();
-			} catch (IllegalArgumentException iae) {
-				JOptionPane.showMessageDialog(this, iae.getMessage());
-			}
+			RecordTask.load(this, fileName,
+					progress -> FacultyRecordIO.readFacultyRecords(fileName, new RecordReport(progress))
+							.toArray(new Faculty[0]),
+					facultyDirectory::loadFaculty);
 		} else if (e.getSource() == btnSaveFacultyList) {
 			String fileName = getFileName(false);
-			try {
-				facultyDirectory.saveFacultyDirectory(fileName);
-			} catch (IllegalArgumentException iae) {
-				JOptionPane.showMessageDialog(this, iae.getMessage());
-			}
+			List<Faculty> faculty = new ArrayList<Faculty>(facultyDirectory.getFaculty());
+			RecordTask.save(this, fileName, progress -> {
+				FacultyRecordIO.writeFacultyRecords(fileName, faculty, progress);
+				return null;
+			});
 		} else if (e.getSource() == btnNewFacultyList) {
 			facultyDirectory.newFacultyDirectory();
-			facultyDirectoryTableModel.updateData();
-			scrollFacultyDirectory.revalidate();
-			scrollFacultyDirectory.repaint();
-			facultyDirectoryTableModel.fireTableDataChanged();
 		} else if (e.getSource() == btnAddFaculty) {
 			String firstName = txtFirstName.getText();
 			String lastName = txtLastName.getText();
@@ -284,7 +278,6 @@ public class FacultyDirectoryPanel extends JPanel implements ActionListener {
 			} catch (IllegalArgumentException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
-			facultyDirectoryTableModel.updateData();
 		} else if (e.getSource() == btnRemoveFaculty) {
 			int row = tableFacultyDirectory.getSelectedRow();
 			if (row == -1) {
@@ -296,7 +289,6 @@ public class FacultyDirectoryPanel extends JPanel implements ActionListener {
 					JOptionPane.showMessageDialog(this, "No faculty selected.");
 				}
 			}
-			facultyDirectoryTableModel.updateData();
 		}
 
 		this.validate();
@@ -331,88 +323,42 @@ public class FacultyDirectoryPanel extends JPanel implements ActionListener {
 
 	/**
 	 * {@link FacultyDirectoryTableModel} is the object underlying the
-	 * {@link JTable} object that displays the list of Faculty to the system.
+	 * {@link JTable} object that displays the list of Faculty to the system. Rows
+	 * follow the directory's change events.
 	 * 
 	 * @author Sarah Heckman
 	 */
-	private class FacultyDirectoryTableModel extends AbstractTableModel {
+	private class FacultyDirectoryTableModel extends ListTableModel<Faculty> {
 
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String[] columnNames = { "First Name", "Last Name", "Faculty ID" };
-		/** Data stored in the table */
-		private Object[][] data;
 
 		/**
-		 * Constructs the {@link FacultyDirectoryTableModel} by requesting the latest
-		 * information from the {@link RequirementTrackerModel}.
+		 * Constructs the {@link FacultyDirectoryTableModel} with the directory's
+		 * faculty and listens for changes to the directory.
 		 */
 		public FacultyDirectoryTableModel() {
-			updateData();
+			super(new String[] { "First Name", "Last Name", "Faculty ID" }, facultyDirectory.getFaculty());
+			facultyDirectory.addListChangeListener(this);
 		}
 
 		/**
-		 * Returns the number of columns in the table.
+		 * Returns the first name, last name or id of a Faculty.
 		 * 
-		 * @return the number of columns in the table.
+		 * @param f   Faculty of the row
+		 * @param col column index
+		 * @return the data at the given column.
 		 */
-		public int getColumnCount() {
-			return columnNames.length;
-		}
-
-		/**
-		 * Returns the number of rows in the table.
-		 * 
-		 * @return the number of rows in the table.
-		 */
-		public int getRowCount() {
-			if (data == null)
-				return 0;
-			return data.length;
-		}
-
-		/**
-		 * Returns the column name at the given index.
-		 * 
-		 * @param col location of the column
-		 * @return the column name at the given column.
-		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
-		}
-
-		/**
-		 * Returns the data at the given {row, col} index.
-		 * 
-		 * @param row location to get the data
-		 * @param col location to get the data
-		 * @return the data at the given location.
-		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * 
-		 * @param value Object to modify in the data.
-		 * @param row   location to modify the data.
-		 * @param col   location to modify the data.
-		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
-		}
-
-		/**
-		 * Updates the given model with {@link Faculty} information from the
-		 * {@link FacultyDirectory}.
-		 */
-		public void updateData() {
-			data = facultyDirectory.getFacultyDirectory();
+		@Override
+		protected Object getColumnValue(Faculty f, int col) {
+			switch (col) {
+			case 0:
+				return f.getFirstName();
+			case 1:
+				return f.getLastName();
+			default:
+				return f.getId();
+			}
 		}
 	}
 
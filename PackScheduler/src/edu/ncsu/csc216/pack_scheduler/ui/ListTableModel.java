@@ -0,0 +1,164 @@
+package edu.ncsu.csc216.pack_scheduler.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeListener;
+
+/**
+ * Table model that shows a list of items one row per item and follows the
+ * list's change events. Only the items are kept, and each cell is built from
+ * its item when the table asks for it, so a change costs one row event instead
+ * of rebuilding every row. Every event is applied on the event dispatch thread
+ * in the order it was sent. An event sent on the event dispatch thread is
+ * applied right away unless events sent earlier from other threads are still
+ * waiting, in which case it waits behind them.
+ * 
+ * @author Chirag Sreedhara
+ * @param <E> type of item shown in each row
+ */
+abstract class ListTableModel<E> extends AbstractTableModel implements ListChangeListener<E> {
+
+	/** ID number used for object serialization. */
+	private static final long serialVersionUID = 1L;
+	/** Column names for the table */
+	private final String[] columnNames;
+	/** Item shown in each row */
+	private transient List<E> rows;
+	/** Number of events waiting to be applied on the event dispatch thread */
+	private final transient AtomicInteger pending = new AtomicInteger();
+
+	/**
+	 * Constructs the model with the list's current items.
+	 * 
+	 * @param columnNames names of the columns
+	 * @param items       items to show
+	 */
+	ListTableModel(String[] columnNames, List<E> items) {
+		this.columnNames = columnNames;
+		rows = new ArrayList<E>(items);
+	}
+
+	/**
+	 * Returns the value shown in a column for an item.
+	 * 
+	 * @param item item of the row
+	 * @param col  column index
+	 * @return value of the cell
+	 */
+	protected abstract Object getColumnValue(E item, int col);
+
+	/**
+	 * Returns the number of columns in the table.
+	 * @return the number of columns in the table.
+	 */
+	@Override
+	public int getColumnCount() {
+		return columnNames.length;
+	}
+
+	/**
+	 * Returns the number of rows in the table.
+	 * @return the number of rows in the table.
+	 */
+	@Override
+	public int getRowCount() {
+		return rows.size();
+	}
+
+	/**
+	 * Returns the column name at the given index.
+	 * @param col column index
+	 * @return the column name at the given column.
+	 */
+	@Override
+	public String getColumnName(int col) {
+		return columnNames[col];
+	}
+
+	/**
+	 * Returns the data at the given {row, col} index.
+	 * @param row row index
+	 * @param col column index
+	 * @return the data at the given location.
+	 */
+	@Override
+	public Object getValueAt(int row, int col) {
+		return getColumnValue(rows.get(row), col);
+	}
+
+	/**
+	 * Adds a row for an inserted item.
+	 * @param index position of the new item
+	 * @param item  item inserted
+	 */
+	@Override
+	public void itemInserted(int index, E item) {
+		onEventThread(() -> {
+			rows.add(index, item);
+			fireTableRowsInserted(index, index);
+		});
+	}
+
+	/**
+	 * Removes the row of a removed item.
+	 * @param index position the item was removed from
+	 */
+	@Override
+	public void itemRemoved(int index) {
+		onEventThread(() -> {
+			rows.remove(index);
+			fireTableRowsDeleted(index, index);
+		});
+	}
+
+	/**
+	 * Repaints the row of a changed item. The row is found on the event dispatch
+	 * thread, and an item with no row is ignored.
+	 * @param item item that changed
+	 */
+	@Override
+	public void itemUpdated(E item) {
+		onEventThread(() -> {
+			for (int i = 0; i < rows.size(); i++) {
+				if (rows.get(i) == item) {
+					fireTableRowsUpdated(i, i);
+					return;
+				}
+			}
+		});
+	}
+
+	/**
+	 * Replaces every row.
+	 * @param items new items
+	 */
+	@Override
+	public void listReplaced(List<E> items) {
+		onEventThread(() -> {
+			rows = new ArrayList<E>(items);
+			fireTableDataChanged();
+		});
+	}
+
+	/**
+	 * Runs a change on the event dispatch thread after every change sent before
+	 * it, right away if already on that thread and none are waiting.
+	 * @param change change to the rows
+	 */
+	private void onEventThread(Runnable change) {
+		if (SwingUtilities.isEventDispatchThread() && pending.get() == 0) {
+			change.run();
+		} else {
+			pending.incrementAndGet();
+			SwingUtilities.invokeLater(() -> {
+				pending.decrementAndGet();
+				change.run();
+			});
+		}
+	}
+}
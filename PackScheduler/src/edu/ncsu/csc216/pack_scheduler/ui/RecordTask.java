@@ -0,0 +1,254 @@
+package edu.ncsu.csc216.pack_scheduler.ui;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Dialog.ModalityType;
+import java.awt.FlowLayout;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+
+import edu.ncsu.csc216.pack_scheduler.io.RecordProgress;
+
+/**
+ * Loads or saves a records file on a background thread so the GUI keeps
+ * painting. If the task takes more than a moment, a modal dialog shows the
+ * lines parsed and skipped or the bytes written and lets the user cancel. A
+ * load hands its result to the panel on the event dispatch thread once the
+ * whole file has been read, so the tables switch to the new data in one step
+ * or not at all.
+ * 
+ * @author Chirag Sreedhara
+ * @param <T> type of the task's result
+ */
+final class RecordTask<T> extends SwingWorker<T, Void> {
+
+	/** Milliseconds before the progress dialog is shown */
+	private static final int DIALOG_DELAY = 300;
+	/** Milliseconds between progress updates */
+	private static final int UPDATE_INTERVAL = 100;
+	/** Steps in a determinate progress bar */
+	private static final int PROGRESS_STEPS = 1000;
+
+	/**
+	 * Work done on the background thread.
+	 * 
+	 * @param <T> type of the work's result
+	 */
+	interface Work<T> {
+
+		/**
+		 * Reads or writes the file.
+		 * 
+		 * @param progress progress to report to and check for cancellation
+		 * @return result of the work
+		 * @throws IOException if the file cannot be read or written
+		 */
+		T run(RecordProgress progress) throws IOException;
+	}
+
+	/** Component the dialogs are shown over */
+	private final Component parent;
+	/** File read or written */
+	private final String fileName;
+	/** True if the file is being read */
+	private final boolean reading;
+	/** Size of the file being read, or 0 if writing */
+	private final long fileSize;
+	/** Work done on the background thread */
+	private final Work<T> work;
+	/** Takes the result on the event dispatch thread, or null if there is none */
+	private final Consumer<T> install;
+	/** Progress of the work */
+	private final RecordProgress progress = new RecordProgress();
+
+	/** Dialog showing the progress */
+	private final JDialog dialog;
+	/** Counts shown in the dialog */
+	private final JLabel lblStatus = new JLabel(" ");
+	/** Progress bar in the dialog */
+	private final JProgressBar progressBar = new JProgressBar(0, PROGRESS_STEPS);
+	/** Button cancelling the work */
+	private final JButton btnCancel = new JButton("Cancel");
+	/** Shows the dialog after DIALOG_DELAY */
+	private final Timer showTimer;
+	/** Updates the dialog every UPDATE_INTERVAL */
+	private final Timer updateTimer;
+
+	/**
+	 * Creates a task.
+	 * 
+	 * @param parent   component the dialogs are shown over
+	 * @param fileName file read or written
+	 * @param reading  true if the file is being read
+	 * @param work     work done on the background thread
+	 * @param install  takes the result on the event dispatch thread, or null
+	 */
+	private RecordTask(Component parent, String fileName, boolean reading, Work<T> work, Consumer<T> install) {
+		this.parent = parent;
+		this.fileName = fileName;
+		this.reading = reading;
+		this.fileSize = reading ? new File(fileName).length() : 0;
+		this.work = work;
+		this.install = install;
+
+		String name = new File(fileName).getName();
+		dialog = new JDialog(SwingUtilities.getWindowAncestor(parent), (reading ? "Loading " : "Saving ") + name,
+				ModalityType.DOCUMENT_MODAL);
+		progressBar.setIndeterminate(!reading || fileSize == 0);
+		btnCancel.addActionListener(e -> cancelWork());
+		dialog.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+		dialog.addWindowListener(new WindowAdapter() {
+			@Override
+			public void windowClosing(WindowEvent e) {
+				cancelWork();
+			}
+		});
+		JPanel pnlProgress = new JPanel(new BorderLayout(0, 5));
+		pnlProgress.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+		pnlProgress.add(lblStatus, BorderLayout.NORTH);
+		pnlProgress.add(progressBar, BorderLayout.CENTER);
+		JPanel pnlButton = new JPanel(new FlowLayout(FlowLayout.RIGHT, 0, 0));
+		pnlButton.add(btnCancel);
+		pnlProgress.add(pnlButton, BorderLayout.SOUTH);
+		dialog.add(pnlProgress);
+		updateStatus();
+		dialog.pack();
+		dialog.setSize(Math.max(dialog.getWidth(), 360), dialog.getHeight());
+		dialog.setLocationRelativeTo(parent);
+
+		updateTimer = new Timer(UPDATE_INTERVAL, e -> updateStatus());
+		showTimer = new Timer(DIALOG_DELAY, e -> {
+			// The task may have finished after the timer fired
+			if (!isDone()) {
+				dialog.setVisible(true);
+			}
+		});
+		showTimer.setRepeats(false);
+	}
+
+	/**
+	 * Starts reading a file in the background. The result is given to install on
+	 * the event dispatch thread unless the load fails or is cancelled.
+	 * 
+	 * @param <T>      type of data read
+	 * @param parent   component the dialogs are shown over
+	 * @param fileName file to read
+	 * @param read     reads the file on the background thread
+	 * @param install  takes the data read on the event dispatch thread
+	 */
+	static <T> void load(Component parent, String fileName, Work<T> read, Consumer<T> install) {
+		new RecordTask<T>(parent, fileName, true, read, install).start();
+	}
+
+	/**
+	 * Starts writing a file in the background. The data written should be copied
+	 * before starting, since the GUI may change it while the file is written.
+	 * 
+	 * @param parent   component the dialogs are shown over
+	 * @param fileName file to write
+	 * @param write    writes the file on the background thread
+	 */
+	static void save(Component parent, String fileName, Work<Void> write) {
+		new RecordTask<Void>(parent, fileName, false, write, null).start();
+	}
+
+	/**
+	 * Starts the work and the dialog's timers.
+	 */
+	private void start() {
+		updateTimer.start();
+		showTimer.start();
+		execute();
+	}
+
+	/**
+	 * Does the work on the background thread.
+	 * 
+	 * @return result of the work
+	 * @throws IOException if the file cannot be read or written
+	 */
+	@Override
+	protected T doInBackground() throws IOException {
+		return work.run(progress);
+	}
+
+	/**
+	 * Closes the dialog and installs the result, or reports why there is none. A
+	 * cancelled task ends quietly.
+	 */
+	@Override
+	protected void done() {
+		showTimer.stop();
+		updateTimer.stop();
+		dialog.dispose();
+		T result;
+		try {
+			result = get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (!(cause instanceof CancellationException)) {
+				JOptionPane.showMessageDialog(parent, messageFor(cause));
+			}
+			return;
+		}
+		if (install != null) {
+			install.accept(result);
+		}
+	}
+
+	/**
+	 * Asks the work to stop. It stops at its next progress update.
+	 */
+	private void cancelWork() {
+		progress.cancel();
+		btnCancel.setEnabled(false);
+		btnCancel.setText("Cancelling...");
+	}
+
+	/**
+	 * Shows the current counts in the dialog.
+	 */
+	private void updateStatus() {
+		if (reading) {
+			lblStatus.setText(String.format("%,d lines parsed, %,d skipped", progress.getLinesParsed(),
+					progress.getLinesSkipped()));
+			if (fileSize > 0) {
+				progressBar.setValue((int) (Math.min(progress.getBytesRead(), fileSize) * PROGRESS_STEPS / fileSize));
+			}
+		} else {
+			lblStatus.setText(String.format("%,d bytes written", progress.getBytesWritten()));
+		}
+	}
+
+	/**
+	 * Returns the message shown for a failed task.
+	 * 
+	 * @param cause error the work ended with
+	 * @return message for the user
+	 */
+	private String messageFor(Throwable cause) {
+		if (cause instanceof IllegalArgumentException && cause.getMessage() != null) {
+			return cause.getMessage();
+		}
+		return (reading ? "Unable to read file " : "Unable to write to file ") + fileName;
+	}
+}
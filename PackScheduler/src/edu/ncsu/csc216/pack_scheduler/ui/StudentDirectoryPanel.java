@@ -7,6 +7,8 @@ import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -22,10 +24,12 @@ import javax.swing.ListSelectionModel;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
-import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.RecordReport;
+import edu.ncsu.csc216.pack_scheduler.io.StudentRecordIO;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
 
 /**
  * Creates a user interface for working with the StudentDirectory.
@@ -217,27 +221,25 @@ public class StudentDirectoryPanel extends JPanel implements ActionListener {
 		if (e.getSource() == btnLoadStudentList) {
 			try {
 				String fileName = getFileName(true);
-				studentDirectory.loadStudentsFromFile(fileName);
-				studentDirectoryTableModel.updateData();
-				scrollStudentDirectory.revalidate();
-				scrollStudentDirectory.repaint();
-				studentDirectoryTableModel.fireTableDataChanged();
+				RecordTask.load(this, fileName,
+						progress -> StudentRecordIO.readSortedStudents(fileName, new RecordReport(progress)),
+						studentDirectory::loadStudents);
 			} catch (IllegalArgumentException | IllegalStateException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
 		} else if (e.getSource() == btnSaveStudentList) {
 			try {
 				String fileName = getFileName(false);
-				studentDirectory.saveStudentDirectory(fileName);
+				List<Student> students = new ArrayList<Student>(studentDirectory.getStudents());
+				RecordTask.save(this, fileName, progress -> {
+					StudentRecordIO.writeStudentRecords(fileName, students, progress);
+					return null;
+				});
 			} catch (IllegalArgumentException | IllegalStateException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
 		} else if (e.getSource() == btnNewStudentList) {
 			studentDirectory.newStudentDirectory();
-			studentDirectoryTableModel.updateData();
-			scrollStudentDirectory.revalidate();
-			scrollStudentDirectory.repaint();
-			studentDirectoryTableModel.fireTableDataChanged();
 		} else if (e.getSource() == btnAddStudent) {
 			String firstName = txtFirstName.getText();
 			String lastName = txtLastName.getText();
@@ -277,7 +279,6 @@ public class StudentDirectoryPanel extends JPanel implements ActionListener {
 			} catch (IllegalArgumentException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
-			studentDirectoryTableModel.updateData();
 		} else if (e.getSource() == btnRemoveStudent) {
 			int row = tableStudentDirectory.getSelectedRow();
 			if (row == -1  || row == tableStudentDirectory.getRowCount()) {
@@ -289,7 +290,6 @@ public class StudentDirectoryPanel extends JPanel implements ActionListener {
 					JOptionPane.showMessageDialog(this, "No student selected.");
 				}
 			}
-			studentDirectoryTableModel.updateData();
 		}
 		
 		this.validate();
@@ -323,81 +323,39 @@ public class StudentDirectoryPanel extends JPanel implements ActionListener {
 	
 	/**
 	 * StudentDirectoryTableModel is the object underlying the JTable object that displays
-	 * the list of Students to the user.
+	 * the list of Students to the user. Rows follow the directory's change events.
 	 * @author Sarah Heckman
 	 */
-	private class StudentDirectoryTableModel extends AbstractTableModel {
+	private class StudentDirectoryTableModel extends ListTableModel<Student> {
 		
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String [] columnNames = {"First Name", "Last Name", "Student ID"};
-		/** Data stored in the table */
-		private Object [][] data;
 		
 		/**
-		 * Constructs the StudentDirectoryTableModel by requesting the latest information
-		 * from the RegistrationManager.
+		 * Constructs the StudentDirectoryTableModel with the directory's students and listens
+		 * for changes to the directory.
 		 */
 		public StudentDirectoryTableModel() {
-			updateData();
+			super(new String[] {"First Name", "Last Name", "Student ID"}, studentDirectory.getStudents());
+			studentDirectory.addListChangeListener(this);
 		}
 
 		/**
-		 * Returns the number of columns in the table.
-		 * @return the number of columns in the table.
-		 */
-		public int getColumnCount() {
-			return columnNames.length;
-		}
-
-		/**
-		 * Returns the number of rows in the table.
-		 * @return the number of rows in the table.
-		 */
-		public int getRowCount() {
-			if (data == null) 
-				return 0;
-			return data.length;
-		}
-		
-		/**
-		 * Returns the column name at the given index.
-		 * @param col column index
-		 * @return the column name at the given column.
-		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
-		}
-
-		/**
-		 * Returns the data at the given {row, col} index.
-		 * @param row row index
+		 * Returns the first name, last name or id of a Student.
+		 * @param u Student of the row
 		 * @param col column index
-		 * @return the data at the given location.
-		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-		
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * @param value Object to modify in the data.
-		 * @param row location to modify the data.
-		 * @param col location to modify the data.
+		 * @return the data at the given column.
 		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
-		}
-		
-		/**
-		 * Updates the given model with Student information from the StudentDirectory.
-		 */
-		public void updateData() {
-			data = studentDirectory.getStudentDirectory();
+		@Override
+		protected Object getColumnValue(Student u, int col) {
+			switch (col) {
+			case 0:
+				return u.getFirstName();
+			case 1:
+				return u.getLastName();
+			default:
+				return u.getId();
+			}
 		}
 	}
 
@@ -0,0 +1,121 @@
+package edu.ncsu.csc216.pack_scheduler.user;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Hashes user passwords with SHA-256 and encodes the digests in base64, which
+ * only uses [a-zA-Z0-9+/=] and so can be safely copied into records files.
+ * Each thread reuses its own MessageDigest rather than looking the algorithm
+ * up on every hash.
+ * 
+ * @author Chirag Sreedhara
+ */
+public final class PasswordHasher {
+
+	/** Hashing algorithm */
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	/** Digest reused by each thread */
+	private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalArgumentException("Cannot hash password");
+		}
+	});
+
+	/**
+	 * Not constructed; all methods are static.
+	 */
+	private PasswordHasher() {
+	}
+
+	/**
+	 * Hashes the given password.
+	 * 
+	 * @param password password to hash
+	 * @return the encoded digest of the password
+	 * @throws IllegalArgumentException if the password is null or can't be hashed
+	 */
+	public static String hash(String password) {
+		if (password == null) {
+			throw new IllegalArgumentException("Invalid password");
+		}
+		return Base64.getEncoder().encodeToString(digest(DIGEST.get(), password));
+	}
+
+	/**
+	 * Hashes a new password after checking it against its repeat. The repeat is
+	 * compared as plain bytes so only the password itself is hashed.
+	 * 
+	 * @param password       password to hash
+	 * @param repeatPassword the password as typed a second time
+	 * @return the encoded digest of the password
+	 * @throws IllegalArgumentException if either password is null or empty, or if
+	 *                                  they do not match
+	 */
+	public static String hash(String password, String repeatPassword) {
+		if (password == null || repeatPassword == null || "".equals(password) || "".equals(repeatPassword)) {
+			throw new IllegalArgumentException("Invalid password");
+		}
+		if (!MessageDigest.isEqual(password.getBytes(), repeatPassword.getBytes())) {
+			throw new IllegalArgumentException("Passwords do not match");
+		}
+		return hash(password);
+	}
+
+	/**
+	 * Hashes each of the given passwords with a single digest, for importing
+	 * accounts in bulk.
+	 * 
+	 * @param passwords passwords to hash
+	 * @return the encoded digests, in the same order as the passwords
+	 * @throws IllegalArgumentException if any password is null or can't be hashed
+	 */
+	public static String[] hashAll(String... passwords) {
+		MessageDigest digest = DIGEST.get();
+		Base64.Encoder encoder = Base64.getEncoder();
+		String[] hashes = new String[passwords.length];
+		for (int i = 0; i < passwords.length; i++) {
+			if (passwords[i] == null) {
+				throw new IllegalArgumentException("Invalid password");
+			}
+			hashes[i] = encoder.encodeToString(digest(digest, passwords[i]));
+		}
+		return hashes;
+	}
+
+	/**
+	 * Checks a password against a stored hash. The digests are compared in
+	 * constant time so the comparison doesn't leak how much of the hash matched.
+	 * 
+	 * @param password   password to check
+	 * @param storedHash encoded digest to check it against
+	 * @return true if the password hashes to storedHash
+	 */
+	public static boolean matches(String password, String storedHash) {
+		if (password == null || storedHash == null) {
+			return false;
+		}
+		byte[] stored;
+		try {
+			stored = Base64.getDecoder().decode(storedHash);
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+		return MessageDigest.isEqual(digest(DIGEST.get(), password), stored);
+	}
+
+	/**
+	 * Runs the password through the given digest, which is left reset.
+	 * 
+	 * @param digest   digest to hash with
+	 * @param password password to hash
+	 * @return the raw digest
+	 */
+	private static byte[] digest(MessageDigest digest, String password) {
+		return digest.digest(password.getBytes());
+	}
+}
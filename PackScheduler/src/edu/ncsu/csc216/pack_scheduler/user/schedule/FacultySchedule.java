@@ -1,6 +1,6 @@
 package edu.ncsu.csc216.pack_scheduler.user.schedule;
 
-import edu.ncsu.csc216.pack_scheduler.course.ConflictException;
+import edu.ncsu.csc216.pack_scheduler.course.Activity;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedListRecursive;
 
@@ -15,6 +15,10 @@ public class FacultySchedule {
 	private LinkedListRecursive<Course> schedule;
 	/** Instructor id for updating courses */
 	private String instructorId;
+	/** Union of the occupancy masks of every scheduled course */
+	private long[] occupied;
+	/** Number of scheduled courses meeting on days outside the occupancy mask */
+	private int unmaskedCount;
 
 	/**
 	 * Creates an empty schedule.
@@ -24,6 +28,7 @@ public class FacultySchedule {
 	public FacultySchedule(String instructorId) {
 		schedule = new LinkedListRecursive<Course>();
 		this.instructorId = instructorId;
+		occupied = new long[Activity.OCCUPANCY_WORDS];
 	}
 
 	/**
@@ -33,13 +38,12 @@ public class FacultySchedule {
 	 * @return true if added
 	 */
 	public boolean addCourseToSchedule(Course course) {
-		for (int i = 0; i < schedule.size(); i++) {
-			if (schedule.get(i).isDuplicate(course) && schedule.get(i).getSection().equals(course.getSection())) {
+		boolean mayConflict = course.overlapsOccupancy(occupied) || course.hasUnmaskedDays() && unmaskedCount > 0;
+		for (Course scheduled : schedule) {
+			if (scheduled.isDuplicate(course) && scheduled.getSection().equals(course.getSection())) {
 				throw new IllegalArgumentException("Already assigned " + course.getName());
 			}
-			try {
-				schedule.get(i).checkConflict(course);
-			} catch (ConflictException e) {
+			if (mayConflict && scheduled.conflictsWith(course)) {
 				throw new IllegalArgumentException("The course cannot be assigned due to a conflict.");
 			}
 		}
@@ -48,6 +52,7 @@ public class FacultySchedule {
 		}
 		if (schedule.add(course)) {
 			course.setInstructorId(instructorId);
+			occupy(course);
 			return true;
 		}
 		return false;
@@ -62,19 +67,38 @@ public class FacultySchedule {
 	public boolean removeCourseFromSchedule(Course course) {
 		if (schedule.remove(course)) {
 			course.setInstructorId(null);
+			occupied = new long[Activity.OCCUPANCY_WORDS];
+			unmaskedCount = 0;
+			for (Course scheduled : schedule) {
+				occupy(scheduled);
+			}
 			return true;
 		}
 		return false;
 	}
 
+	/**
+	 * Adds a scheduled course to the occupancy mask.
+	 * 
+	 * @param course Course added to the schedule
+	 */
+	private void occupy(Course course) {
+		course.addOccupancyTo(occupied);
+		if (course.hasUnmaskedDays()) {
+			unmaskedCount++;
+		}
+	}
+
 	/**
 	 * Resets the schedule to an empty schedule
 	 */
 	public void resetSchedule() {
-		int startingSize = schedule.size();
-		for (int i = 0; i < startingSize; i++) {
-			removeCourseFromSchedule(schedule.get(0)); // also removes from Course
+		for (Course scheduled : schedule) {
+			scheduled.setInstructorId(null);
 		}
+		schedule.clear();
+		occupied = new long[Activity.OCCUPANCY_WORDS];
+		unmaskedCount = 0;
 	}
 
 	/**
@@ -84,12 +108,27 @@ public class FacultySchedule {
 	 */
 	public String[][] getScheduledCourses() {
 		String[][] scheduleArray = new String[schedule.size()][4];
-		for (int i = 0; i < schedule.size(); i++) {
-			scheduleArray[i] = schedule.get(i).getShortDisplayArray();
+		int i = 0;
+		for (Course scheduled : schedule) {
+			scheduleArray[i++] = scheduled.getShortDisplayArray();
 		}
 		return scheduleArray;
 	}
 
+	/**
+	 * Returns the scheduled courses in the order they were added.
+	 * 
+	 * @return scheduled courses
+	 */
+	public Course[] getCourses() {
+		Course[] courses = new Course[schedule.size()];
+		int i = 0;
+		for (Course scheduled : schedule) {
+			courses[i++] = scheduled;
+		}
+		return courses;
+	}
+
 	/**
 	 * Returns the number of courses the faculty is scheduled to teach.
 	 * 
@@ -1,6 +1,8 @@
 package edu.ncsu.csc216.pack_scheduler.user.schedule;
 
-import edu.ncsu.csc216.pack_scheduler.course.ConflictException;
+import java.util.HashSet;
+
+import edu.ncsu.csc216.pack_scheduler.course.Activity;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.util.ArrayList;
 
@@ -19,6 +21,25 @@ public class Schedule {
 	/** ArrayList of everything in schedule */
 	private ArrayList<Course> schedule;
 
+	/**
+	 * Union of the occupancy masks of every scheduled course, or null until a
+	 * check needs it. Most schedules are never checked between being loaded and
+	 * being saved again, so the masks and names are only built on demand.
+	 */
+	private long[] occupied;
+
+	/** Union of the slots fully covered by a scheduled course, built with occupied */
+	private long[] covered;
+
+	/** Number of scheduled courses meeting on days outside the occupancy mask */
+	private int unmaskedCount;
+
+	/** Names of the scheduled courses, built with occupied */
+	private HashSet<String> names;
+
+	/** Total credits of the scheduled courses */
+	private int credits;
+
 	/**
 	 * Constructor method for schedule
 	 */
@@ -37,17 +58,28 @@ public class Schedule {
 	 * @throws IllegalArgumentException if conflict or duplicate
 	 */
 	public boolean addCourseToSchedule(Course c) {
-		for (int i = 0; i < schedule.size(); i++) {
-			if (schedule.get(i).getName().equals(c.getName())) {
-				throw new IllegalArgumentException(String.format("You are already enrolled in %s", c.getName()));
-			}
-			try {
-				schedule.get(i).checkConflict(c);
-			} catch (ConflictException e) {
-				throw new IllegalArgumentException("The course cannot be added due to a conflict.");
+		index();
+		boolean duplicate = names.contains(c.getName());
+		if (mayConflict(c)) {
+			// Report whichever of the duplicate and the conflict is scheduled first
+			for (int i = 0; i < schedule.size(); i++) {
+				if (duplicate && schedule.get(i).getName().equals(c.getName())) {
+					throw new IllegalArgumentException(String.format("You are already enrolled in %s", c.getName()));
+				}
+				if (schedule.get(i).conflictsWith(c)) {
+					throw new IllegalArgumentException("The course cannot be added due to a conflict.");
+				}
 			}
+		} else if (duplicate) {
+			throw new IllegalArgumentException(String.format("You are already enrolled in %s", c.getName()));
 		}
-		return schedule.add(c);
+		if (schedule.add(c)) {
+			occupy(c);
+			names.add(c.getName());
+			credits += c.getCredits();
+			return true;
+		}
+		return false;
 	}
 
 	/**
@@ -59,7 +91,9 @@ public class Schedule {
 	public boolean removeCourseFromSchedule(Course c) {
 		for (int i = 0; i < schedule.size(); i++) {
 			if (schedule.get(i).equals(c)) {
-				schedule.remove(i);
+				Course removed = schedule.remove(i);
+				credits -= removed.getCredits();
+				clearIndex();
 				return true;
 			}
 		}
@@ -71,9 +105,133 @@ public class Schedule {
 	 */
 	public void resetSchedule() {
 		schedule = new ArrayList<Course>();
+		credits = 0;
+		clearIndex();
 		title = "My Schedule";
 	}
 
+	/**
+	 * Replaces the scheduled courses with saved ones, such as those read from a
+	 * snapshot. The courses are trusted to fit together as they did when saved,
+	 * so they are not checked against each other.
+	 * 
+	 * @param courses courses to schedule, in schedule order
+	 * @throws NullPointerException if a course is null
+	 */
+	public void restore(Course[] courses) {
+		int restoredCredits = 0;
+		for (Course c : courses) {
+			restoredCredits += c.getCredits();
+		}
+		// A new schedule's empty list is filled in place rather than replaced
+		ArrayList<Course> restored = schedule.size() == 0 ? schedule : new ArrayList<Course>();
+		for (Course c : courses) {
+			restored.add(c);
+		}
+		schedule = restored;
+		credits = restoredCredits;
+		clearIndex();
+	}
+
+	/**
+	 * Returns true if the course may conflict with a scheduled course. A false
+	 * result is exact, so the scheduled courses only need to be compared when
+	 * this returns true.
+	 * 
+	 * @param c Course to check
+	 * @return true if the course's time may overlap the schedule
+	 */
+	private boolean mayConflict(Course c) {
+		return c.overlapsOccupancy(occupied) || c.hasUnmaskedDays() && unmaskedCount > 0;
+	}
+
+	/**
+	 * Adds a scheduled course to the occupancy and coverage masks.
+	 * 
+	 * @param c Course added to the schedule
+	 */
+	private void occupy(Course c) {
+		c.addOccupancyTo(occupied);
+		c.addCoverageTo(covered);
+		if (c.hasUnmaskedDays()) {
+			unmaskedCount++;
+		}
+	}
+
+	/**
+	 * Builds the occupancy and coverage masks and the course names from the
+	 * scheduled courses, unless they are already built.
+	 */
+	private void index() {
+		if (occupied != null) {
+			return;
+		}
+		occupied = new long[Activity.OCCUPANCY_WORDS];
+		covered = new long[Activity.OCCUPANCY_WORDS];
+		unmaskedCount = 0;
+		names = new HashSet<String>();
+		for (int i = 0; i < schedule.size(); i++) {
+			occupy(schedule.get(i));
+			names.add(schedule.get(i).getName());
+		}
+	}
+
+	/**
+	 * Drops the masks and course names so they are rebuilt when next needed.
+	 */
+	private void clearIndex() {
+		occupied = null;
+		covered = null;
+		unmaskedCount = 0;
+		names = null;
+	}
+
+	/**
+	 * Adds the slots occupied by the scheduled courses to the given mask.
+	 * 
+	 * @param mask occupancy mask of Activity.OCCUPANCY_WORDS longs to add to
+	 */
+	public void addOccupancyTo(long[] mask) {
+		index();
+		for (int i = 0; i < occupied.length; i++) {
+			mask[i] |= occupied[i];
+		}
+	}
+
+	/**
+	 * Adds the slots fully covered by a scheduled course to the given mask.
+	 * Anything meeting in one of these slots conflicts with the schedule.
+	 * 
+	 * @param mask occupancy mask of Activity.OCCUPANCY_WORDS longs to add to
+	 */
+	public void addCoverageTo(long[] mask) {
+		index();
+		for (int i = 0; i < covered.length; i++) {
+			mask[i] |= covered[i];
+		}
+	}
+
+	/**
+	 * Returns true if a scheduled course meets on a day outside the occupancy
+	 * mask.
+	 * 
+	 * @return true if the schedule has unmasked meeting days
+	 */
+	public boolean hasUnmaskedDays() {
+		index();
+		return unmaskedCount > 0;
+	}
+
+	/**
+	 * Returns the names of the scheduled courses.
+	 * 
+	 * @return scheduled course names, in no particular order
+	 */
+	public String[] getCourseNames() {
+		index();
+		return names.toArray(new String[names.size()]);
+	}
+
 	/**
 	 * Converts abbreviated version of scheduled courses into a 2D array for use in
 	 * GUI
@@ -90,6 +248,19 @@ public class Schedule {
 		return schedCourses;
 	}
 
+	/**
+	 * Returns the scheduled courses in the order they were added.
+	 * 
+	 * @return scheduled courses
+	 */
+	public Course[] getCourses() {
+		Course[] courses = new Course[schedule.size()];
+		for (int i = 0; i < courses.length; i++) {
+			courses[i] = schedule.get(i);
+		}
+		return courses;
+	}
+
 	/**
 	 * Sets the schedule title
 	 * 
@@ -118,12 +289,6 @@ public class Schedule {
 	 * @return total num of credits in schedule
 	 */
 	public int getScheduleCredits() {
-		int credits = 0;
-
-		for (int i = 0; i < schedule.size(); i++) {
-			credits += schedule.get(i).getCredits();
-		}
-
 		return credits;
 	}
 
@@ -138,17 +303,17 @@ public class Schedule {
 		if (c == null) {
 			return false;
 		}
-		for (int i = 0; i < schedule.size(); i++) {
-			if (c.getName().equals(schedule.get(i).getName())) {
-				return false;
-			}
-			try {
-				c.checkConflict(schedule.get(i));
-			} catch (ConflictException e) {
-				return false;
+		index();
+		if (names.contains(c.getName())) {
+			return false;
+		}
+		if (mayConflict(c)) {
+			for (int i = 0; i < schedule.size(); i++) {
+				if (c.conflictsWith(schedule.get(i))) {
+					return false;
+				}
 			}
 		}
-
 		return true;
 	}
 
@@ -1,10 +1,14 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
 import java.util.AbstractList;
+import java.util.Arrays;
 
 /**
  * Self implementation of the ArrayList concept. This implementation does not
- * permit duplicates
+ * permit duplicates. By default duplicates are found by scanning the list; a
+ * hash indexed list finds them through a hash side table instead, which makes
+ * add, set, and contains constant time for elements whose equals() and
+ * hashCode() do not change while they are in the list.
  * 
  * @author Fahad Ansari
  * @author Ryan Stauffer
@@ -27,14 +31,30 @@ public class ArrayList<E> extends AbstractList<E> {
 	 * non-empty elements in the Array List
 	 */
 	private int size;
+	/**
+	 * hash side table of the elements, or null if duplicates are found by scanning
+	 */
+	private final HashIndex<E> index;
 
 	/**
 	 * Constructor for ArrayList. Suppression is allowed
 	 */
-	@SuppressWarnings("unchecked")
 	public ArrayList() {
+		this(false);
+	}
+
+	/**
+	 * Constructor for ArrayList that can find duplicates through a hash side
+	 * table. Elements of a hash indexed list must not change their equals() or
+	 * hashCode() while in the list.
+	 * 
+	 * @param hashIndexed true to find duplicates through a hash side table
+	 */
+	@SuppressWarnings("unchecked")
+	public ArrayList(boolean hashIndexed) {
 		this.list = (E[]) new Object[INIT_SIZE];
 		this.size = 0;
+		this.index = hashIndexed ? new HashIndex<E>(INIT_SIZE) : null;
 	}
 
 	/**
@@ -59,15 +79,16 @@ public class ArrayList<E> extends AbstractList<E> {
 		if (index < 0 || index >= size()) {
 			throw new IndexOutOfBoundsException();
 		}
-		for (int i = 0; i < size(); i++) {
-
-			if (list[i].equals(element)) {
-				throw new IllegalArgumentException();
-			}
+		if (contains(element)) {
+			throw new IllegalArgumentException();
 		}
 
 		E returnElem = list[index];
 		list[index] = element;
+		if (this.index != null) {
+			this.index.remove(returnElem);
+			this.index.add(element);
+		}
 		return returnElem;
 	};
 
@@ -93,23 +114,15 @@ public class ArrayList<E> extends AbstractList<E> {
 		if (index < 0 || index > size()) {
 			throw new IndexOutOfBoundsException();
 		}
-		for (int i = 0; i < size(); i++) {
-
-			if (list[i].equals(element)) {
-				throw new IllegalArgumentException();
-			}
+		if (this.index != null ? !this.index.add(element) : contains(element)) {
+			throw new IllegalArgumentException();
 		}
 
 		if (size == list.length) {
 			growArray();
 		}
 
-		for (int i = list.length - 1; i >= index; i--) {
-			if (i == list.length - 1) {
-				continue;
-			}
-			list[i + 1] = list[i];
-		}
+		System.arraycopy(list, index, list, index + 1, size - index);
 
 		list[index] = element;
 		size++;
@@ -134,11 +147,12 @@ public class ArrayList<E> extends AbstractList<E> {
 		}
 		E returnElem = list[index];
 
-		for (int i = index; i < list.length - 1; i++) {
-			list[i] = list[i + 1];
-		}
-		list[list.length - 1] = null;
+		System.arraycopy(list, index + 1, list, index, size - index - 1);
+		list[size - 1] = null;
 		size--;
+		if (this.index != null) {
+			this.index.remove(returnElem);
+		}
 		return returnElem;
 	}
 
@@ -146,15 +160,32 @@ public class ArrayList<E> extends AbstractList<E> {
 	 * doubles the internal Array size
 	 */
 	private void growArray() {
-		@SuppressWarnings("unchecked")
-		E[] newList = (E[]) new Object[list.length * 2];
-		for (int i = 0; i < list.length; i++) {
-			newList[i] = list[i];
-		}
-		list = null;
-		list = newList;
+		list = Arrays.copyOf(list, list.length * 2);
 	};
 
+	/**
+	 * Returns true if an element equal to `o` is in the list. A hash indexed list
+	 * checks its side table, otherwise the list is scanned.
+	 * 
+	 * @param o - element to look for
+	 * @return true if the element is in the list
+	 */
+	@Override
+	public boolean contains(Object o) {
+		if (o == null) {
+			return false;
+		}
+		if (index != null) {
+			return index.contains(o);
+		}
+		for (int i = 0; i < size; i++) {
+			if (list[i].equals(o)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * getter for size - we assert that each method handles size change correctly
 	 * for this
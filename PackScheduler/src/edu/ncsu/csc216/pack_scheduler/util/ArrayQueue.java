@@ -1,28 +1,50 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
+import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 
 /**
- * Array based Queue
+ * Array based Queue. Elements are kept in a circular buffer sized to the
+ * capacity, so enqueue and dequeue are constant time and allocate nothing. By
+ * default duplicate elements are rejected using a hash side index.
  * 
  * @author David Martinez
  * @author Chirag Sreedhara
  * @param <E> Object in list
  */
-public class ArrayQueue<E> implements Queue<E> {
+public class ArrayQueue<E> implements Queue<E>, Iterable<E> {
 
-	/** ArrayList for the queue */
-	private ArrayList<E> list;
-	/** Capacity of the queue */
-	private int capacity;
+	/** Circular buffer of queued elements */
+	private E[] elements;
+	/** Index of the front of the queue */
+	private int head;
+	/** Number of queued elements */
+	private int size;
+	/** Index of queued elements, or null if duplicates are allowed */
+	private final HashIndex<E> index;
 
 	/**
-	 * ArrayQueue constructer, set the intial capacity of the list
+	 * ArrayQueue constructer, set the intial capacity of the list. The queue
+	 * rejects duplicate elements.
 	 * 
 	 * @param capacity intitial capacity
 	 */
 	public ArrayQueue(int capacity) {
-		list = new ArrayList<>();
+		this(capacity, true);
+	}
+
+	/**
+	 * ArrayQueue constructer, set the intial capacity of the list and whether
+	 * duplicate elements are rejected
+	 * 
+	 * @param capacity intitial capacity
+	 * @param unique   true if equal elements cannot be queued at the same time
+	 */
+	@SuppressWarnings("unchecked")
+	public ArrayQueue(int capacity, boolean unique) {
+		elements = (E[]) new Object[0];
+		index = unique ? new HashIndex<E>(0) : null;
 		setCapacity(capacity);
 	}
 
@@ -30,14 +52,27 @@ public class ArrayQueue<E> implements Queue<E> {
 	 * Queue an element, puts the element in the back of the queue
 	 * 
 	 * @param element element to queue
-	 * @throws IllegalArgumentException if queue full
+	 * @throws NullPointerException     if the element is null
+	 * @throws IllegalArgumentException if queue full or the element is already
+	 *                                  queued in a unique queue
 	 */
 	@Override
 	public void enqueue(E element) {
-		if (list.size() == capacity) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+		if (size == elements.length) {
 			throw new IllegalArgumentException("Queue is full.");
 		}
-		list.add(list.size(), element);
+		if (index != null && !index.add(element)) {
+			throw new IllegalArgumentException("Element already in queue.");
+		}
+		int tail = head + size;
+		if (tail >= elements.length) {
+			tail -= elements.length;
+		}
+		elements[tail] = element;
+		size++;
 	}
 
 	/**
@@ -51,7 +86,51 @@ public class ArrayQueue<E> implements Queue<E> {
 		if (isEmpty()) {
 			throw new NoSuchElementException("Queue is empty.");
 		}
-		return list.remove(0);
+		E element = elements[head];
+		elements[head] = null;
+		head++;
+		if (head == elements.length) {
+			head = 0;
+		}
+		size--;
+		if (index != null) {
+			index.remove(element);
+		}
+		return element;
+	}
+
+	/**
+	 * Returns the element at the front of the queue without removing it
+	 * 
+	 * @return the element at the front of the queue
+	 * @throws NoSuchElementException if Queue is empty.
+	 */
+	public E peek() {
+		if (isEmpty()) {
+			throw new NoSuchElementException("Queue is empty.");
+		}
+		return elements[head];
+	}
+
+	/**
+	 * Returns true if an element equal to the given one is queued
+	 * 
+	 * @param element element to look for
+	 * @return true if the element is in the queue
+	 */
+	public boolean contains(E element) {
+		if (element == null) {
+			return false;
+		}
+		if (index != null) {
+			return index.contains(element);
+		}
+		for (int i = 0, j = head; i < size; i++, j = j + 1 == elements.length ? 0 : j + 1) {
+			if (elements[j].equals(element)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -61,7 +140,7 @@ public class ArrayQueue<E> implements Queue<E> {
 	 */
 	@Override
 	public boolean isEmpty() {
-		return list.size() == 0;
+		return size == 0;
 	}
 
 	/**
@@ -71,21 +150,96 @@ public class ArrayQueue<E> implements Queue<E> {
 	 */
 	@Override
 	public int size() {
-		return list.size();
+		return size;
 	}
 
 	/**
-	 * Set the max size of the queue
+	 * Set the max size of the queue. The buffer is reallocated to the new
+	 * capacity with the front of the queue moved to the start.
 	 * 
 	 * @param capacity the capacity to set
 	 * @throws IllegalArgumentException if queue full.
 	 */
 	@Override
 	public void setCapacity(int capacity) {
-		if (capacity < 0 || capacity < list.size()) {
+		if (capacity < 0 || capacity < size) {
 			throw new IllegalArgumentException("Invalid capacity.");
 		}
-		this.capacity = capacity;
+		if (capacity != elements.length) {
+			@SuppressWarnings("unchecked")
+			E[] resized = (E[]) new Object[capacity];
+			int firstPart = Math.min(size, elements.length - head);
+			System.arraycopy(elements, head, resized, 0, firstPart);
+			System.arraycopy(elements, 0, resized, firstPart, size - firstPart);
+			elements = resized;
+			head = 0;
+		}
+	}
+
+	/**
+	 * Removes every queued element matching the filter, keeping the order of the
+	 * rest, in one pass over the buffer
+	 * 
+	 * @param filter returns true for elements to remove
+	 * @return true if any element was removed
+	 */
+	public boolean removeIf(Predicate<? super E> filter) {
+		int kept = 0;
+		for (int i = 0; i < size; i++) {
+			int from = slot(i);
+			E element = elements[from];
+			if (filter.test(element)) {
+				if (index != null) {
+					index.remove(element);
+				}
+			} else {
+				elements[slot(kept++)] = element;
+			}
+		}
+		for (int i = kept; i < size; i++) {
+			elements[slot(i)] = null;
+		}
+		boolean removed = kept < size;
+		size = kept;
+		return removed;
+	}
+
+	/**
+	 * Returns an iterator over the queued elements from front to back. The
+	 * iterator does not support remove().
+	 * 
+	 * @return iterator over the queue
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+
+			/** Position of the next element from the front */
+			private int next;
+
+			@Override
+			public boolean hasNext() {
+				return next < size;
+			}
+
+			@Override
+			public E next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return elements[slot(next++)];
+			}
+		};
 	}
 
+	/**
+	 * Returns the buffer index of the element at a position from the front.
+	 * 
+	 * @param position position from the front of the queue
+	 * @return index into the buffer
+	 */
+	private int slot(int position) {
+		int slot = head + position;
+		return slot >= elements.length ? slot - elements.length : slot;
+	}
 }
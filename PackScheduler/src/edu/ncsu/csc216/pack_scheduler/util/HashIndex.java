@@ -0,0 +1,175 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash set used as a side index for the uniqueness checks of
+ * the array based collections. Entries are kept in one array with linear
+ * probing, and removal shifts later entries back instead of leaving
+ * tombstones, so adds and removes allocate nothing unless the table grows.
+ * Elements must not change their equals() or hashCode() while indexed.
+ * 
+ * @author Chirag Sreedhara
+ * @param <E> type of element indexed
+ */
+final class HashIndex<E> {
+
+	/** Smallest table length */
+	private static final int MIN_TABLE = 8;
+
+	/** Slots of the table, null when empty */
+	private Object[] table;
+	/** Number of elements in the table */
+	private int size;
+
+	/**
+	 * Creates an index sized to hold the given number of elements without
+	 * growing.
+	 * 
+	 * @param expected number of elements expected
+	 */
+	HashIndex(int expected) {
+		table = new Object[tableLength(expected)];
+	}
+
+	/**
+	 * Returns the power of two table length that keeps the given number of
+	 * elements at most half full.
+	 * 
+	 * @param expected number of elements
+	 * @return table length
+	 */
+	private static int tableLength(int expected) {
+		int length = MIN_TABLE;
+		while (length < 2L * expected && length < 1 << 30) {
+			length <<= 1;
+		}
+		return length;
+	}
+
+	/**
+	 * Returns the home slot of an element.
+	 * 
+	 * @param o element
+	 * @param mask table length minus one
+	 * @return slot to start probing at
+	 */
+	private static int slot(Object o, int mask) {
+		int h = o.hashCode();
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	/**
+	 * Returns true if an element equal to the given one is indexed.
+	 * 
+	 * @param o element to find
+	 * @return true if found
+	 */
+	boolean contains(Object o) {
+		return find(o) >= 0;
+	}
+
+	/**
+	 * Returns the slot holding an element equal to the given one.
+	 * 
+	 * @param o element to find
+	 * @return slot of the element, or -1 if not found
+	 */
+	private int find(Object o) {
+		int mask = table.length - 1;
+		for (int i = slot(o, mask); table[i] != null; i = (i + 1) & mask) {
+			if (table[i].equals(o)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Adds an element unless an equal one is already indexed.
+	 * 
+	 * @param e element to add
+	 * @return true if added, false if it was a duplicate
+	 */
+	boolean add(E e) {
+		int mask = table.length - 1;
+		int i = slot(e, mask);
+		while (table[i] != null) {
+			if (table[i].equals(e)) {
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+		table[i] = e;
+		size++;
+		if (2 * size > table.length) {
+			resize(tableLength(size));
+		}
+		return true;
+	}
+
+	/**
+	 * Removes the element equal to the given one and shifts back the entries
+	 * that probed past its slot.
+	 * 
+	 * @param o element to remove
+	 * @return true if removed
+	 */
+	boolean remove(Object o) {
+		int hole = find(o);
+		if (hole < 0) {
+			return false;
+		}
+		int mask = table.length - 1;
+		table[hole] = null;
+		size--;
+		for (int i = (hole + 1) & mask; table[i] != null; i = (i + 1) & mask) {
+			int home = slot(table[i], mask);
+			// Move the entry if its home is not cyclically within (hole, i]
+			if (((i - home) & mask) >= ((i - hole) & mask)) {
+				table[hole] = table[i];
+				table[i] = null;
+				hole = i;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Removes every element.
+	 */
+	void clear() {
+		Arrays.fill(table, null);
+		size = 0;
+	}
+
+	/**
+	 * Returns the number of indexed elements.
+	 * 
+	 * @return size of the index
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Rehashes every element into a table of the given length.
+	 * 
+	 * @param length new table length
+	 */
+	private void resize(int length) {
+		Object[] old = table;
+		table = new Object[length];
+		int mask = length - 1;
+		for (Object o : old) {
+			if (o != null) {
+				int i = slot(o, mask);
+				while (table[i] != null) {
+					i = (i + 1) & mask;
+				}
+				table[i] = o;
+			}
+		}
+	}
+
+}
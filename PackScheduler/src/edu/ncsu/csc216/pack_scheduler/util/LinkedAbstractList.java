@@ -1,9 +1,19 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
 import java.util.AbstractList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
- * LinkedList implementation - all items must be unique
+ * LinkedList implementation - all items must be unique. Iterating, forEach(),
+ * contains(), and removeIf() walk the nodes once; the iterators fail fast if
+ * the list is changed other than through the iterator.
  * 
  * @author Fahad Ansari
  * @author Ryan Stauffer
@@ -62,6 +72,9 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 		if (idx < 0 || idx >= size()) {
 			throw new IndexOutOfBoundsException();
 		}
+		if (idx == size - 1) {
+			return back.data;
+		}
 		ListNode current = front;
 		for (int i = 0; i < idx; i++) {
 			current = current.next;
@@ -149,6 +162,7 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 			current.next = new ListNode(element, current.next);
 		}
 		size++;
+		modCount++;
 	}
 
 	/**
@@ -183,9 +197,110 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 			current.next = current.next.next;
 		}
 		size--;
+		modCount++;
 		return returnVal;
 	}
 
+	/**
+	 * Unlinks a node found while walking the list
+	 * 
+	 * @param prev    node before the one to unlink, or null if it is the front
+	 * @param current node to unlink
+	 */
+	private void unlink(ListNode prev, ListNode current) {
+		if (prev == null) {
+			front = current.next;
+		} else {
+			prev.next = current.next;
+		}
+		if (current == back) {
+			back = prev;
+		}
+		size--;
+		modCount++;
+	}
+
+	/**
+	 * Returns true if an element equal to o is in the list
+	 * 
+	 * @param o element to look for
+	 * @return true if the element is in the list
+	 */
+	@Override
+	public boolean contains(Object o) {
+		for (ListNode current = front; current != null; current = current.next) {
+			if (current.data.equals(o)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns a fail-fast iterator that walks the nodes from front to back
+	 * 
+	 * @return iterator over the list
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new NodeIterator();
+	}
+
+	/**
+	 * Performs the action on each element from front to back
+	 * 
+	 * @param action action to perform
+	 * @throws NullPointerException            if action is null
+	 * @throws ConcurrentModificationException if the action changes the list
+	 */
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		Objects.requireNonNull(action);
+		int expectedModCount = modCount;
+		for (ListNode current = front; current != null; current = current.next) {
+			action.accept(current.data);
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	/**
+	 * Returns a spliterator over the list built on the node iterator
+	 * 
+	 * @return spliterator over the list
+	 */
+	@Override
+	public Spliterator<E> spliterator() {
+		return Spliterators.spliterator(this, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+	}
+
+	/**
+	 * Removes every element matching the filter in one pass over the nodes
+	 * 
+	 * @param filter returns true for elements to remove
+	 * @return true if any element was removed
+	 * @throws NullPointerException if filter is null
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super E> filter) {
+		Objects.requireNonNull(filter);
+		boolean removed = false;
+		ListNode prev = null;
+		ListNode current = front;
+		while (current != null) {
+			ListNode next = current.next;
+			if (filter.test(current.data)) {
+				unlink(prev, current);
+				removed = true;
+			} else {
+				prev = current;
+			}
+			current = next;
+		}
+		return removed;
+	}
+
 	/**
 	 * getter for the List's size
 	 * 
@@ -226,6 +341,76 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 		this.capacity = capacity;
 	}
 
+	/**
+	 * Iterator that walks the nodes once and can remove the last element returned
+	 * 
+	 * @author Chirag Sreedhara
+	 */
+	private class NodeIterator implements Iterator<E> {
+
+		/** Node returned by the next call to next() */
+		private ListNode next = front;
+		/** Node returned by the last call to next(), or null after remove() */
+		private ListNode last;
+		/** Node before the last one returned that is still in the list */
+		private ListNode beforeLast;
+		/** Modification count the iterator expects */
+		private int expectedModCount = modCount;
+
+		/**
+		 * Returns true if there are more elements
+		 * 
+		 * @return true if next() has an element to return
+		 */
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		/**
+		 * Returns the next element
+		 * 
+		 * @return next element
+		 * @throws NoSuchElementException          if there are no more elements
+		 * @throws ConcurrentModificationException if the list was changed
+		 */
+		@Override
+		public E next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+			if (last != null) {
+				beforeLast = last;
+			}
+			last = next;
+			next = next.next;
+			return last.data;
+		}
+
+		/**
+		 * Removes the element last returned by next()
+		 * 
+		 * @throws IllegalStateException           if next() has not been called since
+		 *                                         the last remove
+		 * @throws ConcurrentModificationException if the list was changed
+		 */
+		@Override
+		public void remove() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (last == null) {
+				throw new IllegalStateException();
+			}
+			unlink(beforeLast, last);
+			last = null;
+			expectedModCount = modCount;
+		}
+	}
+
 	/**
 	 * Class to store info for each individual node used in the linked list, private
 	 * inner class
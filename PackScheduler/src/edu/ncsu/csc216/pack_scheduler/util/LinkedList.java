@@ -283,6 +283,10 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
 			if (add.prev == back) {
 				back = add;
 			}
+			// Later adds go after this one, as ListIterator requires
+			previous = add;
+			previousIndex++;
+			nextIndex++;
 			size++;
 
 		}
@@ -1,14 +1,20 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
- * Base creation of a linked list with recursive operations for efficiency and
- * use in PackScheduler
+ * Base creation of a linked list for use in PackScheduler. The list operations
+ * walk the nodes in loops rather than recursing once per node, so long lists
+ * cannot overflow the stack, and a tail reference makes appending constant
+ * time. Use the iterator to visit every element in one pass.
  * 
  * @author David Martinez
  * @author Chirag Sreedhara
  * @param <E> Data type stored in list
  */
-public class LinkedListRecursive<E> {
+public class LinkedListRecursive<E> implements Iterable<E> {
 
 	/** Size of list */
 	private int size;
@@ -16,12 +22,19 @@ public class LinkedListRecursive<E> {
 	/** Front val of list */
 	private ListNode front;
 
+	/** Back val of list */
+	private ListNode back;
+
+	/** Number of structural changes, for failing fast in iterators */
+	private int modCount;
+
 	/**
 	 * Constructor method
 	 */
 	public LinkedListRecursive() {
 		size = 0;
 		this.front = null;
+		this.back = null;
 	}
 
 	/**
@@ -57,12 +70,7 @@ public class LinkedListRecursive<E> {
 		if (contains(elem)) {
 			throw new IllegalArgumentException();
 		}
-		if (front == null) {
-			front = new ListNode(elem, front);
-		} else {
-			front.add(size - 1, elem);
-		}
-		size++;
+		linkLast(elem);
 		return true;
 	}
 
@@ -86,12 +94,52 @@ public class LinkedListRecursive<E> {
 		if (contains(elem)) {
 			throw new IllegalArgumentException();
 		}
-		if (front == null || idx == 0) {
+		if (idx == size) {
+			linkLast(elem);
+			return;
+		}
+		if (idx == 0) {
 			front = new ListNode(elem, front);
 		} else {
-			front.add(idx - 1, elem);
+			ListNode prev = node(idx - 1);
+			prev.next = new ListNode(elem, prev.next);
+		}
+		size++;
+		modCount++;
+	}
+
+	/**
+	 * Appends an element after the back node.
+	 * 
+	 * @param elem to add
+	 */
+	private void linkLast(E elem) {
+		ListNode n = new ListNode(elem, null);
+		if (back == null) {
+			front = n;
+		} else {
+			back.next = n;
 		}
+		back = n;
 		size++;
+		modCount++;
+	}
+
+	/**
+	 * Returns the node at an index that is known to be valid.
+	 * 
+	 * @param idx index of the node
+	 * @return node at idx
+	 */
+	private ListNode node(int idx) {
+		if (idx == size - 1) {
+			return back;
+		}
+		ListNode current = front;
+		for (int i = 0; i < idx; i++) {
+			current = current.next;
+		}
+		return current;
 	}
 
 	/**
@@ -106,7 +154,7 @@ public class LinkedListRecursive<E> {
 		if (idx < 0 || idx >= size) {
 			throw new IndexOutOfBoundsException();
 		}
-		return front.get(idx);
+		return node(idx).data;
 	}
 
 	/**
@@ -119,16 +167,14 @@ public class LinkedListRecursive<E> {
 		if (elem == null) {
 			return false;
 		}
-		if (isEmpty() || !contains(elem)) {
-			return false;
-		}
-		size--;
-		if (front.data.equals(elem)) {
-			front = front.next;
-		} else {
-			front.remove(elem);
+		ListNode prev = null;
+		for (ListNode current = front; current != null; prev = current, current = current.next) {
+			if (current.data.equals(elem)) {
+				unlink(prev, current);
+				return true;
+			}
 		}
-		return true;
+		return false;
 	}
 
 	/**
@@ -143,13 +189,29 @@ public class LinkedListRecursive<E> {
 		if (idx < 0 || idx >= size) {
 			throw new IndexOutOfBoundsException();
 		}
-		size--;
-		if (idx == 0) {
-			E rtn = front.data;
-			front = front.next;
-			return rtn;
+		ListNode prev = idx == 0 ? null : node(idx - 1);
+		ListNode current = prev == null ? front : prev.next;
+		unlink(prev, current);
+		return current.data;
+	}
+
+	/**
+	 * Unlinks a node from the list.
+	 * 
+	 * @param prev    node before the one to unlink, or null if it is the front
+	 * @param current node to unlink
+	 */
+	private void unlink(ListNode prev, ListNode current) {
+		if (prev == null) {
+			front = current.next;
+		} else {
+			prev.next = current.next;
+		}
+		if (current == back) {
+			back = prev;
 		}
-		return front.remove(idx - 1);
+		size--;
+		modCount++;
 	}
 
 	/**
@@ -173,7 +235,10 @@ public class LinkedListRecursive<E> {
 		if (contains(elem)) {
 			throw new IllegalArgumentException();
 		}
-		return front.set(idx, elem);
+		ListNode n = node(idx);
+		E rtn = n.data;
+		n.data = elem;
+		return rtn;
 	}
 
 	/**
@@ -183,124 +248,129 @@ public class LinkedListRecursive<E> {
 	 * @return boolean if in list or not
 	 */
 	public boolean contains(E elem) {
-		if (front == null) {
-			return false;
+		for (ListNode current = front; current != null; current = current.next) {
+			if (current.data.equals(elem)) {
+				return true;
+			}
 		}
-		return front.contains(elem);
+		return false;
 	}
 
 	/**
-	 * Inner listNode class for linkedListRecursive
+	 * Removes every element from the list
+	 */
+	public void clear() {
+		front = null;
+		back = null;
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * Returns an iterator over the list from front to back. The iterator fails
+	 * with a ConcurrentModificationException if the list is changed other than
+	 * through the iterator's own remove().
 	 * 
-	 * @author David Martinez
-	 * @author Chirag Sreedhara
+	 * @return iterator over the elements
 	 */
-	private class ListNode {
+	@Override
+	public Iterator<E> iterator() {
+		return new ListIterator();
+	}
 
-		/** Data stored in the node */
-		private E data;
+	/**
+	 * Iterator that walks the nodes once
+	 * 
+	 * @author Chirag Sreedhara
+	 */
+	private class ListIterator implements Iterator<E> {
 
-		/** Next value for the node */
-		private ListNode next;
+		/** Node returned by the next call to next() */
+		private ListNode next = front;
+		/** Node returned by the last call to next() */
+		private ListNode last;
+		/** Node before last, or null if last is the front */
+		private ListNode beforeLast;
+		/** Modification count the iterator expects */
+		private int expectedModCount = modCount;
 
 		/**
-		 * ListNode constructor
+		 * Returns true if there are more elements
 		 * 
-		 * @param data stored in node
-		 * @param next node value
+		 * @return true if next() has an element to return
 		 */
-		public ListNode(E data, ListNode next) {
-			this.data = data;
-			this.next = next;
+		@Override
+		public boolean hasNext() {
+			return next != null;
 		}
 
 		/**
-		 * Adds node
+		 * Returns the next element
 		 * 
-		 * @param idx  index to add
-		 * @param elem to add
+		 * @return next element
+		 * @throws NoSuchElementException          if there are no more elements
+		 * @throws ConcurrentModificationException if the list was changed
 		 */
-		public void add(int idx, E elem) {
-			if (idx == 0) {
-				this.next = new ListNode(elem, this.next);
-				return;
+		@Override
+		public E next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
 			}
-			this.next.add(idx - 1, elem);
-		}
-
-		/**
-		 * Gets val
-		 * 
-		 * @param idx to get from
-		 * @return element
-		 */
-		public E get(int idx) {
-			if (idx == 0) {
-				return this.data;
+			if (next == null) {
+				throw new NoSuchElementException();
 			}
-			return this.next.get(idx - 1);
-		}
-
-		/**
-		 * Removes an element
-		 * 
-		 * @param idx to remove from
-		 * @return element
-		 */
-		public E remove(int idx) {
-			if (idx == 0) {
-				E rtn = this.next.data;
-				this.next = this.next.next;
-				return rtn;
+			if (last != null) {
+				beforeLast = last;
 			}
-			return this.next.remove(idx - 1);
+			last = next;
+			next = next.next;
+			return last.data;
 		}
 
 		/**
-		 * Removes an element given element
+		 * Removes the element last returned by next()
 		 * 
-		 * @param elem to remove
-		 * @return if removal successful
+		 * @throws IllegalStateException           if next() has not been called since
+		 *                                         the last remove
+		 * @throws ConcurrentModificationException if the list was changed
 		 */
-		public boolean remove(E elem) {
-			if (this.next.data.equals(elem)) {
-				this.next = this.next.next;
-				return true;
+		@Override
+		public void remove() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
 			}
-			this.next.remove(elem);
-			return false;
-		}
-
-		/**
-		 * Sets a value
-		 * 
-		 * @param idx  to set at
-		 * @param elem to set to
-		 * @return element
-		 */
-		public E set(int idx, E elem) {
-			if (idx == 0) {
-				E rtn = this.data;
-				this.data = elem;
-				return rtn;
+			if (last == null) {
+				throw new IllegalStateException();
 			}
-			return this.next.set(idx - 1, elem);
+			unlink(beforeLast, last);
+			last = null;
+			expectedModCount = modCount;
 		}
+	}
+
+	/**
+	 * Inner listNode class for linkedListRecursive
+	 * 
+	 * @author David Martinez
+	 * @author Chirag Sreedhara
+	 */
+	private class ListNode {
+
+		/** Data stored in the node */
+		private E data;
+
+		/** Next value for the node */
+		private ListNode next;
 
 		/**
-		 * Checks if it contains a certain elem
+		 * ListNode constructor
 		 * 
-		 * @param elem to check for
-		 * @return if contained or not.
+		 * @param data stored in node
+		 * @param next node value
 		 */
-		public boolean contains(E elem) {
-			if (this.data.equals(elem)) {
-				return true;
-			}
-			if (this.next == null) {
-				return false;
-			}
-			return this.next.contains(elem);
+		public ListNode(E data, ListNode next) {
+			this.data = data;
+			this.next = next;
 		}
 	}
 }
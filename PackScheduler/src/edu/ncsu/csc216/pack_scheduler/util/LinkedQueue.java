@@ -1,6 +1,8 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
+import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 
 /**
  * LinkedList implementation of a Queue
@@ -9,10 +11,10 @@ import java.util.NoSuchElementException;
  * @author Chirag Sreedhara
  * @param <E> Object in list
  */
-public class LinkedQueue<E> implements Queue<E> {
+public class LinkedQueue<E> implements Queue<E>, Iterable<E> {
 
 	/** Linked List for the queue */
-	private LinkedAbstractList list;
+	private LinkedAbstractList<E> list;
 
 	/**
 	 * LinkedQueue constructor
@@ -20,7 +22,7 @@ public class LinkedQueue<E> implements Queue<E> {
 	 * @param capacity intial capacity of the queue
 	 */
 	public LinkedQueue(int capacity) {
-		list = new LinkedAbstractList(capacity);
+		list = new LinkedAbstractList<E>(capacity);
 	}
 
 	/**
@@ -45,7 +47,20 @@ public class LinkedQueue<E> implements Queue<E> {
 		if (isEmpty()) {
 			throw new NoSuchElementException("Queue is empty.");
 		}
-		return (E) list.remove(0);
+		return list.remove(0);
+	}
+
+	/**
+	 * Returns the element at the front of the queue without removing it
+	 * 
+	 * @return the element at the front of the queue
+	 * @throws NoSuchElementException if Queue is empty.
+	 */
+	public E peek() {
+		if (isEmpty()) {
+			throw new NoSuchElementException("Queue is empty.");
+		}
+		return list.get(0);
 	}
 
 	/**
@@ -87,11 +102,27 @@ public class LinkedQueue<E> implements Queue<E> {
 	 * @return true if in list, false otherwise.
 	 */
 	public boolean contains(E elem) {
-		for (Object elem1 : list) {
-			if (elem1.equals(elem)) {
-				return true;
-			}
-		}
-		return false;
+		return list.contains(elem);
+	}
+
+	/**
+	 * Removes every queued element matching the filter, keeping the order of the
+	 * rest, in one pass over the queue
+	 * 
+	 * @param filter returns true for elements to remove
+	 * @return true if any element was removed
+	 */
+	public boolean removeIf(Predicate<? super E> filter) {
+		return list.removeIf(filter);
+	}
+
+	/**
+	 * Returns an iterator over the queued elements from front to back
+	 * 
+	 * @return iterator over the queue
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return list.iterator();
 	}
 }
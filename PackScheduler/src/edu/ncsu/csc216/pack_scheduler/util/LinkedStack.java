@@ -32,7 +32,8 @@ public class LinkedStack<E> implements Stack<E> {
 	 */
 	@Override
 	public void push(E element) {
-		list.add(element);
+		// The top of the stack is the front of the list
+		list.add(0, element);
 
 	}
 
@@ -47,7 +48,7 @@ public class LinkedStack<E> implements Stack<E> {
 		if (list.size() == 0) {
 			throw new EmptyStackException();
 		}
-		return list.remove(list.size() - 1);
+		return list.remove(0);
 	}
 
 	/**
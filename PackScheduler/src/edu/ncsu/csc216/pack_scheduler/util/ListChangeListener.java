@@ -0,0 +1,46 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.List;
+
+/**
+ * Listens for changes to an ordered list of items, one row at a time, so a
+ * view of the list can be kept up to date without being rebuilt. Events arrive
+ * on the thread that made the change, in the order the changes were made.
+ * 
+ * @author Chirag Sreedhara
+ * @param <E> type of item in the list
+ */
+public interface ListChangeListener<E> {
+
+	/**
+	 * Called after an item is inserted.
+	 * 
+	 * @param index position of the new item
+	 * @param item  item inserted
+	 */
+	void itemInserted(int index, E item);
+
+	/**
+	 * Called after an item is removed.
+	 * 
+	 * @param index position the item was removed from
+	 */
+	void itemRemoved(int index);
+
+	/**
+	 * Called after an item changes in a way that changes how it is shown. The item
+	 * is sent instead of its position so the list isn't searched on the thread
+	 * that changed it; a listener finds the item's row itself and ignores items it
+	 * has no row for.
+	 * 
+	 * @param item item that changed
+	 */
+	void itemUpdated(E item);
+
+	/**
+	 * Called after the whole list is replaced, as when it is loaded or cleared.
+	 * 
+	 * @param items unmodifiable copy of the new list
+	 */
+	void listReplaced(List<E> items);
+}
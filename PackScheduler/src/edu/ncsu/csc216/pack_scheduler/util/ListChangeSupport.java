@@ -0,0 +1,99 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the listeners of a list and sends them its changes. Listeners may be
+ * added and removed from any thread, and a list with no listeners pays only
+ * for the empty check.
+ * 
+ * @author Chirag Sreedhara
+ * @param <E> type of item in the list
+ */
+public class ListChangeSupport<E> {
+
+	/** Registered listeners */
+	private final List<ListChangeListener<E>> listeners = new CopyOnWriteArrayList<ListChangeListener<E>>();
+
+	/**
+	 * Adds a listener.
+	 * 
+	 * @param listener listener to add
+	 */
+	public void addListener(ListChangeListener<E> listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener.
+	 * 
+	 * @param listener listener to remove
+	 */
+	public void removeListener(ListChangeListener<E> listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Returns true if any listener is registered.
+	 * 
+	 * @return true if there are listeners
+	 */
+	public boolean hasListeners() {
+		return !listeners.isEmpty();
+	}
+
+	/**
+	 * Tells the listeners an item was inserted.
+	 * 
+	 * @param index position of the new item
+	 * @param item  item inserted
+	 */
+	public void fireInserted(int index, E item) {
+		for (ListChangeListener<E> listener : listeners) {
+			listener.itemInserted(index, item);
+		}
+	}
+
+	/**
+	 * Tells the listeners an item was removed.
+	 * 
+	 * @param index position the item was removed from
+	 */
+	public void fireRemoved(int index) {
+		for (ListChangeListener<E> listener : listeners) {
+			listener.itemRemoved(index);
+		}
+	}
+
+	/**
+	 * Tells the listeners an item changed.
+	 * 
+	 * @param item item that changed
+	 */
+	public void fireUpdated(E item) {
+		for (ListChangeListener<E> listener : listeners) {
+			listener.itemUpdated(item);
+		}
+	}
+
+	/**
+	 * Tells the listeners the list was replaced. The items are only copied if
+	 * there are listeners.
+	 * 
+	 * @param items new contents of the list
+	 */
+	@SuppressWarnings("unchecked")
+	public void fireReplaced(Collection<? extends E> items) {
+		if (listeners.isEmpty()) {
+			return;
+		}
+		List<E> copy = Collections.unmodifiableList(Arrays.asList((E[]) items.toArray()));
+		for (ListChangeListener<E> listener : listeners) {
+			listener.listReplaced(copy);
+		}
+	}
+}
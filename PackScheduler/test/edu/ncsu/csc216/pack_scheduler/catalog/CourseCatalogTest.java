@@ -16,11 +16,22 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
 import org.junit.jupiter.api.Test;
 
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+import edu.ncsu.csc216.pack_scheduler.util.RecordingListener;
+
 /**
  * Tests the CourseCatalog class
  * 
@@ -191,6 +202,31 @@ public class CourseCatalogTest {
 		// assertEquals(c, cc.getCourseFromCatalog("CSC216", "001"));
 	}
 
+	/**
+	 * Tests that lookups stay consistent with the catalog as courses are added and
+	 * removed
+	 */
+	@Test
+	public void testGetCourseFromCatalogAfterRemove() {
+		CourseCatalog cc = new CourseCatalog();
+		cc.loadCoursesFromFile(validTestFile);
+		assertEquals("CSC217", cc.getCourseFromCatalog("CSC217", "211").getName());
+
+		assertTrue(cc.removeCourseFromCatalog("CSC217", "211"));
+		assertNull(cc.getCourseFromCatalog("CSC217", "211"));
+		assertFalse(cc.removeCourseFromCatalog("CSC217", "211"));
+		assertEquals(12, cc.getCourseCatalog().length);
+		assertEquals("223", cc.getCourseCatalog()[7][1]);
+
+		assertTrue(cc.addCourseToCatalog("CSC217", "Software Development Fundamentals Lab", "211", 1, "sesmith5",
+				ENROLLMENT_CAP, "M", 1500, 1650));
+		assertEquals("211", cc.getCourseFromCatalog("CSC217", "211").getSection());
+		assertEquals("211", cc.getCourseCatalog()[7][1]);
+
+		cc.newCourseCatalog();
+		assertNull(cc.getCourseFromCatalog("CSC217", "211"));
+	}
+
 	/**
 	 * Tests getCourseCatalog()
 	 */
@@ -274,6 +310,141 @@ public class CourseCatalogTest {
 		assertEquals("Unable to write to file ", e1.getMessage());
 	}
 
+	/**
+	 * Tests getAddableCourses() against checking every catalog course with
+	 * Schedule.canAdd()
+	 */
+	@Test
+	public void testGetAddableCourses() {
+		CourseCatalog cc = new CourseCatalog();
+		cc.loadCoursesFromFile(validTestFile);
+		Schedule schedule = new Schedule();
+		assertEquals(13, cc.getAddableCourses(schedule).size());
+		assertAddable(cc, schedule);
+
+		schedule.addCourseToSchedule(cc.getCourseFromCatalog("CSC216", "001"));
+		schedule.addCourseToSchedule(cc.getCourseFromCatalog("CSC226", "001"));
+		List<Course> addable = cc.getAddableCourses(schedule);
+		assertFalse(addable.contains(cc.getCourseFromCatalog("CSC216", "601")));
+		assertFalse(addable.contains(cc.getCourseFromCatalog("CSC316", "001")));
+		assertTrue(addable.contains(cc.getCourseFromCatalog("CSC217", "601")));
+		assertAddable(cc, schedule);
+
+		// Touching at an endpoint conflicts, the next minute does not
+		assertTrue(cc.addCourseToCatalog("CSC333", "Automata", "001", 3, null, 10, "H", 1445, 1530));
+		assertTrue(cc.addCourseToCatalog("CSC333", "Automata", "002", 3, null, 10, "H", 1446, 1530));
+		addable = cc.getAddableCourses(schedule);
+		assertFalse(addable.contains(cc.getCourseFromCatalog("CSC333", "001")));
+		assertTrue(addable.contains(cc.getCourseFromCatalog("CSC333", "002")));
+		assertAddable(cc, schedule);
+
+		// Arranged courses meet outside the occupancy mask but never conflict
+		schedule.addCourseToSchedule(cc.getCourseFromCatalog("CSC217", "601"));
+		assertTrue(cc.addCourseToCatalog("CSC335", "Independent Study", "601", 1, null, 10, "A", 0, 0));
+		assertTrue(cc.removeCourseFromCatalog("CSC116", "001"));
+		assertTrue(cc.addCourseToCatalog("CSC336", "Morning Seminar", "001", 1, null, 10, "MW", 900, 930));
+		addable = cc.getAddableCourses(schedule);
+		assertTrue(addable.contains(cc.getCourseFromCatalog("CSC335", "601")));
+		assertFalse(addable.contains(cc.getCourseFromCatalog("CSC217", "202")));
+		assertTrue(addable.contains(cc.getCourseFromCatalog("CSC336", "001")));
+		assertAddable(cc, schedule);
+
+		schedule.resetSchedule();
+		assertEquals(cc.getCourseCatalog().length, cc.getAddableCourses(schedule).size());
+
+		// Meetings starting and ending at every minute offset within a slot
+		String[] days = { "MW", "TH", "F", "MWF" };
+		for (int i = 0; i < 120; i++) {
+			int start = 480 + i;
+			int end = start + 17 + i % 7;
+			assertTrue(cc.addCourseToCatalog("MA" + (100 + i), "Minutes", "001", 1, null, 10, days[i % days.length],
+					start / 60 * 100 + start % 60, end / 60 * 100 + end % 60));
+		}
+		assertAddable(cc, schedule);
+		schedule.addCourseToSchedule(cc.getCourseFromCatalog("MA107", "001"));
+		assertAddable(cc, schedule);
+		schedule.addCourseToSchedule(cc.getCourseFromCatalog("MA153", "001"));
+		schedule.addCourseToSchedule(cc.getCourseFromCatalog("MA182", "001"));
+		assertAddable(cc, schedule);
+	}
+
+	/**
+	 * Tests that getAddableCourses() and getCourseFromCatalog() stay consistent
+	 * with the catalog while another thread edits and reloads it.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting for the threads
+	 */
+	@Test
+	public void testConcurrentQueriesWhileEditing() throws InterruptedException {
+		CourseCatalog cc = new CourseCatalog();
+		cc.loadCoursesFromFile(validTestFile);
+		Course[] courses = cc.getCourses().toArray(new Course[0]);
+		Schedule schedule = new Schedule();
+		AtomicBoolean editing = new AtomicBoolean(true);
+		AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			for (int t = 0; t < 3; t++) {
+				pool.execute(() -> {
+					try {
+						while (editing.get()) {
+							for (Course c : cc.getAddableCourses(schedule)) {
+								if (c == null) {
+									throw new AssertionError("null addable course");
+								}
+							}
+							cc.getCourseFromCatalog("CSC216", "001");
+						}
+					} catch (Throwable e) {
+						failure.compareAndSet(null, e);
+					}
+				});
+			}
+			pool.execute(() -> {
+				try {
+					for (int i = 0; i < 200; i++) {
+						cc.addCourseToCatalog("CSC499", "Research", "001", 3, null, 10, "A", 0, 0);
+						cc.getAddableCourses(schedule);
+						cc.removeCourseFromCatalog("CSC499", "001");
+						cc.loadCoursesFromFile(validTestFile);
+						cc.loadCourses(courses);
+					}
+					cc.addCourseToCatalog("CSC499", "Research", "001", 3, null, 10, "A", 0, 0);
+				} catch (Throwable e) {
+					failure.compareAndSet(null, e);
+				} finally {
+					editing.set(false);
+				}
+			});
+		} finally {
+			pool.shutdown();
+		}
+		assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+
+		assertNull(failure.get());
+		assertEquals(14, cc.getAddableCourses(schedule).size());
+		assertAddable(cc, schedule);
+	}
+
+	/**
+	 * Checks that the catalog's addable courses are exactly the catalog courses
+	 * the schedule can add, in catalog order.
+	 * 
+	 * @param cc       catalog to check
+	 * @param schedule schedule to add to
+	 */
+	private void assertAddable(CourseCatalog cc, Schedule schedule) {
+		List<Course> expected = new ArrayList<Course>();
+		for (String[] row : cc.getCourseCatalog()) {
+			Course c = cc.getCourseFromCatalog(row[0], row[1]);
+			if (schedule.canAdd(c)) {
+				expected.add(c);
+			}
+		}
+		assertEquals(expected, cc.getAddableCourses(schedule));
+	}
+
 	/**
 	 * Helper method to compare two files for the same contents
 	 * 
@@ -298,4 +469,34 @@ public class CourseCatalogTest {
 		}
 	}
 
+	/**
+	 * Tests that CourseCatalog sends a change event for every row inserted,
+	 * removed or updated and for the catalog being replaced.
+	 */
+	@Test
+	public void testListChangeEvents() {
+		CourseCatalog cc = new CourseCatalog();
+		RecordingListener<Course> listener = new RecordingListener<Course>();
+		cc.addListChangeListener(listener);
+
+		cc.loadCoursesFromFile(validTestFile);
+		assertEquals("replaced 13", listener.getEvents().get(0));
+
+		assertTrue(cc.addCourseToCatalog(NAME, TITLE, "005", CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP, MEETING_DAYS,
+				START_TIME, END_TIME));
+		Course added = cc.getCourseFromCatalog(NAME, "005");
+		int index = cc.getCourses().indexOf(added);
+		assertEquals("inserted " + index + " " + added, listener.getEvents().get(1));
+
+		cc.courseUpdated(added);
+		assertEquals("updated " + added, listener.getEvents().get(2));
+		assertEquals(3, listener.getEvents().size());
+
+		assertTrue(cc.removeCourseFromCatalog(NAME, "005"));
+		assertEquals("removed " + index, listener.getEvents().get(3));
+
+		cc.newCourseCatalog();
+		assertEquals("replaced 0", listener.getEvents().get(4));
+		assertEquals(5, listener.getEvents().size());
+	}
 }
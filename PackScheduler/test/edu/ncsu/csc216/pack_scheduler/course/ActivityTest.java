@@ -42,4 +42,37 @@ class ActivityTest {
 		assertEquals("Schedule conflict.", e2.getMessage());
 	}
 
+
+	/**
+	 * Tests conflicts at the edges of the occupancy mask slots
+	 */
+	@Test
+	public void testCheckConflictBoundaries() {
+		Activity a1 = new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 40, "MW", 1330, 1445);
+		Activity touching = new Course("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", 40,
+				"W", 1445, 1530);
+		assertThrows(ConflictException.class, () -> a1.checkConflict(touching));
+		assertThrows(ConflictException.class, () -> touching.checkConflict(a1));
+
+		// Shares the 5 minute slot holding 14:45 without touching it
+		Activity sameSlot = new Course("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", 40,
+				"W", 1446, 1530);
+		assertDoesNotThrow(() -> a1.checkConflict(sameSlot));
+		assertDoesNotThrow(() -> sameSlot.checkConflict(a1));
+
+		Activity friday = new Course("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", 40,
+				"F", 1330, 1445);
+		assertDoesNotThrow(() -> a1.checkConflict(friday));
+
+		Activity arranged1 = new Course("CSC216", "Software Development Fundamentals", "601", 3, "sesmith5", 40, "A", 0, 0);
+		Activity arranged2 = new Course("CSC226", "Discrete Mathematics for Computer Scientists", "601", 3, "tmbarnes", 40,
+				"A", 0, 0);
+		assertDoesNotThrow(() -> arranged1.checkConflict(arranged2));
+		assertDoesNotThrow(() -> arranged1.checkConflict(a1));
+
+		a1.setMeetingDaysAndTime("F", 1400, 1500);
+		assertDoesNotThrow(() -> a1.checkConflict(touching));
+		assertThrows(ConflictException.class, () -> a1.checkConflict(friday));
+	}
+
 }
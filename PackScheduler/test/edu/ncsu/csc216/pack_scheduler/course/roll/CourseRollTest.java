@@ -1,9 +1,12 @@
 package edu.ncsu.csc216.pack_scheduler.course.roll;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.security.MessageDigest;
@@ -152,4 +155,124 @@ class CourseRollTest {
 
 	}
 
+	/**
+	 * Tests that students dropped from the waitlist are skipped when a seat opens
+	 * and that the remaining waitlist order is kept
+	 */
+	@Test
+	void testDropFromWaitlist() {
+		Course c = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", 10, "A");
+		CourseRoll roll = c.getCourseRoll();
+		Student[] enrolled = new Student[10];
+		for (int i = 0; i < enrolled.length; i++) {
+			enrolled[i] = new Student("first" + i, "last", "id" + i, "email@ncsu.edu", "pw");
+			roll.enroll(enrolled[i]);
+		}
+		Student w1 = new Student("w1", "last", "w1", "email@ncsu.edu", "pw");
+		Student w2 = new Student("w2", "last", "w2", "email@ncsu.edu", "pw");
+		Student w3 = new Student("w3", "last", "w3", "email@ncsu.edu", "pw");
+		roll.enroll(w1);
+		roll.enroll(w2);
+		roll.enroll(w3);
+		assertEquals(0, roll.getOpenSeats());
+		assertEquals(3, roll.getNumberOnWaitlist());
+
+		// Drop from the waitlist, then rejoin at the back
+		assertDoesNotThrow(() -> roll.drop(w1));
+		assertEquals(2, roll.getNumberOnWaitlist());
+		assertTrue(roll.canEnroll(w1));
+		assertDoesNotThrow(() -> roll.drop(w1));
+		assertEquals(2, roll.getNumberOnWaitlist());
+		roll.enroll(w1);
+		assertEquals(3, roll.getNumberOnWaitlist());
+		assertFalse(roll.canEnroll(w1));
+
+		// Seats go to w2, w3 and then w1
+		roll.drop(enrolled[0]);
+		assertEquals(2, roll.getNumberOnWaitlist());
+		assertEquals(1, w2.getSchedule().getScheduledCourses().length);
+		assertEquals(0, w1.getSchedule().getScheduledCourses().length);
+		roll.drop(enrolled[1]);
+		assertEquals(1, w3.getSchedule().getScheduledCourses().length);
+		roll.drop(enrolled[2]);
+		assertEquals(1, w1.getSchedule().getScheduledCourses().length);
+		assertEquals(0, roll.getNumberOnWaitlist());
+		assertEquals(0, roll.getOpenSeats());
+		assertFalse(roll.canEnroll(w1));
+		assertTrue(roll.canEnroll(enrolled[0]));
+	}
+
+	/**
+	 * Tests that a seat only goes to a waitlisted student whose schedule has or
+	 * can take the course, that waitlisted students ahead of them who can't are
+	 * removed from the waitlist, and that the drop itself always succeeds
+	 */
+	@Test
+	void testDropPromotesOnlyIfScheduled() {
+		Course c = new Course("CSC216", "Programming Concepts - Java", "001", 3, "sesmith5", 10, "MW", 1330, 1445);
+		CourseRoll roll = c.getCourseRoll();
+		Student[] enrolled = new Student[10];
+		for (int i = 0; i < enrolled.length; i++) {
+			enrolled[i] = new Student("first" + i, "last", "id" + i, "email@ncsu.edu", "pw");
+			roll.enroll(enrolled[i]);
+		}
+		Student w1 = new Student("w1", "last", "w1", "email@ncsu.edu", "pw");
+		Student w2 = new Student("w2", "last", "w2", "email@ncsu.edu", "pw");
+		Student w3 = new Student("w3", "last", "w3", "email@ncsu.edu", "pw");
+		Course conflict = new Course("CSC226", "Discrete Mathematics", "001", 3, "tmbarnes", 10, "MW", 1400, 1515);
+		w1.getSchedule().addCourseToSchedule(conflict);
+		w3.getSchedule().addCourseToSchedule(c);
+		roll.enroll(w1);
+		roll.enroll(w2);
+		roll.enroll(w3);
+		assertEquals(w1, roll.getNextOnWaitlist());
+		assertEquals(3, roll.getNumberOnWaitlist());
+
+		// w1 can't take the course, so is passed over and leaves the waitlist
+		roll.drop(enrolled[0]);
+		assertTrue(roll.canEnroll(enrolled[0]));
+		assertEquals(0, roll.getOpenSeats());
+		assertEquals(1, roll.getNumberOnWaitlist());
+		assertEquals(w3, roll.getNextOnWaitlist());
+		assertEquals(1, w1.getSchedule().getScheduledCourses().length);
+		assertTrue(roll.canEnroll(w1));
+		assertEquals(1, w2.getSchedule().getScheduledCourses().length);
+		assertFalse(roll.canEnroll(w2));
+
+		// The course w3 already has isn't added again
+		roll.drop(enrolled[1]);
+		assertEquals(1, w3.getSchedule().getScheduledCourses().length);
+		assertEquals(0, roll.getNumberOnWaitlist());
+		assertNull(roll.getNextOnWaitlist());
+		assertEquals(0, roll.getOpenSeats());
+
+		// With no one able to take the course, the seat stays open
+		roll.enroll(w1);
+		roll.drop(enrolled[2]);
+		assertEquals(1, roll.getOpenSeats());
+		assertEquals(0, roll.getNumberOnWaitlist());
+	}
+
+	/**
+	 * Tests that getNextOnWaitlist() skips students who dropped from the waitlist
+	 * without changing it
+	 */
+	@Test
+	void testGetNextOnWaitlist() {
+		Course c = new Course("CSC216", "Programming Concepts - Java", "001", 3, "sesmith5", 10, "MW", 1330, 1445);
+		CourseRoll roll = c.getCourseRoll();
+		for (int i = 0; i < 10; i++) {
+			roll.enroll(new Student("first" + i, "last", "id" + i, "email@ncsu.edu", "pw"));
+		}
+		Student w1 = new Student("w1", "last", "w1", "email@ncsu.edu", "pw");
+		Student w2 = new Student("w2", "last", "w2", "email@ncsu.edu", "pw");
+		assertNull(roll.getNextOnWaitlist());
+		roll.enroll(w1);
+		roll.enroll(w2);
+		roll.drop(w1);
+		assertEquals(w2, roll.getNextOnWaitlist());
+		assertEquals(w2, roll.getNextOnWaitlist());
+		assertEquals(1, roll.getNumberOnWaitlist());
+		assertArrayEquals(new Student[] { w2 }, roll.getWaitlistedStudents());
+	}
 }
@@ -93,4 +93,51 @@ public class CourseNameValidatorTest {
 			}, "Suffix class");
 		});
 	}
+
+	/**
+	 * tests the rejection codes, and that they agree with the FSM implementation
+	 * over every short name built from a letter, a digit and a symbol
+	 */
+	@Test
+	void testCheck() {
+		CourseNameValidator c = new CourseNameValidator();
+		assertEquals(CourseNameValidator.VALID, c.check("CSC216"));
+		assertEquals(CourseNameValidator.VALID, c.check("CSC216A"));
+		assertEquals(CourseNameValidator.INCOMPLETE, c.check("CSC21"));
+		assertEquals(CourseNameValidator.INCOMPLETE, c.check(""));
+		assertEquals(CourseNameValidator.INCOMPLETE, c.check(null));
+		assertEquals(CourseNameValidator.INVALID_CHARACTER, c.check("CSC 216"));
+		assertEquals(CourseNameValidator.NO_LEADING_LETTER, c.check("1"));
+		assertEquals(CourseNameValidator.TOO_MANY_LETTERS, c.check("COMPS216"));
+		assertEquals(CourseNameValidator.TOO_FEW_DIGITS, c.check("CSC21A"));
+		assertEquals(CourseNameValidator.TOO_MANY_DIGITS, c.check("CSC2167"));
+		assertEquals(CourseNameValidator.SUFFIX_TOO_LONG, c.check("CSC216AB"));
+		assertEquals(CourseNameValidator.DIGIT_AFTER_SUFFIX, c.check("CSC216A1"));
+		assertEquals(CourseNameValidator.VALID, c.check("\u00c9\u00c9\u0661\u0662\u0663"));
+		assertEquals("Course name must have 3 digits.", CourseNameValidator.getMessage(CourseNameValidator.TOO_FEW_DIGITS));
+		assertEquals(null, CourseNameValidator.getMessage(CourseNameValidator.VALID));
+		assertThrows(IllegalArgumentException.class, () -> CourseNameValidator.getMessage(9));
+
+		CourseNameValidatorFSM fsm = new CourseNameValidatorFSM();
+		char[] alphabet = { 'A', '1', '-' };
+		for (int length = 1; length <= 8; length++) {
+			char[] name = new char[length];
+			int combinations = (int) Math.pow(alphabet.length, length);
+			for (int n = 0; n < combinations; n++) {
+				int rest = n;
+				for (int i = 0; i < length; i++) {
+					name[i] = alphabet[rest % alphabet.length];
+					rest /= alphabet.length;
+				}
+				String courseName = new String(name);
+				int code = c.check(courseName);
+				try {
+					assertEquals(fsm.isValid(courseName), code == CourseNameValidator.VALID, courseName);
+					assertEquals(true, code <= CourseNameValidator.INCOMPLETE, courseName);
+				} catch (InvalidTransitionException e) {
+					assertEquals(e.getMessage(), CourseNameValidator.getMessage(code), courseName);
+				}
+			}
+		}
+	}
 }
@@ -19,6 +19,7 @@ import org.junit.Before;
 import org.junit.jupiter.api.Test;
 
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.util.RecordingListener;
 
 /**
  * Tests StudentDirectory.
@@ -195,6 +196,23 @@ public class FacultyDirectoryTest {
 		assertEquals(ID, student.getId());
 		assertEquals(EMAIL, student.getEmail());
 		assertNull(sd.getFacultyById("jdoe123"));
+		assertNull(sd.getFacultyById(null));
+
+		// Lookups ignore case
+		assertEquals(student, sd.getFacultyById(ID.toUpperCase()));
+		assertFalse(sd.addFaculty(FIRST_NAME, LAST_NAME, ID.toUpperCase(), EMAIL, PASSWORD, PASSWORD, 2));
+
+		// Index follows removes and loads
+		assertTrue(sd.removeFaculty(ID));
+		assertNull(sd.getFacultyById(ID));
+		assertEquals(0, sd.getFacultyDirectory().length);
+		sd.loadFacultyFromFile(validTestFile);
+		assertEquals("Fiona", sd.getFacultyById("FMeadow").getFirstName());
+		assertTrue(sd.removeFaculty("fmeadow"));
+		assertNull(sd.getFacultyById("fmeadow"));
+		assertEquals("Ashely", sd.getFacultyById("awitt").getFirstName());
+		sd.newFacultyDirectory();
+		assertNull(sd.getFacultyById("awitt"));
 	}
 
 	/**
@@ -219,4 +237,28 @@ public class FacultyDirectoryTest {
 		}
 	}
 
+	/**
+	 * Tests that FacultyDirectory sends a change event for every row inserted or
+	 * removed and for the directory being replaced.
+	 */
+	@Test
+	public void testListChangeEvents() {
+		FacultyDirectory fd = new FacultyDirectory();
+		RecordingListener<Faculty> listener = new RecordingListener<Faculty>();
+		fd.addListChangeListener(listener);
+
+		fd.loadFacultyFromFile(validTestFile);
+		assertEquals("replaced 8", listener.getEvents().get(0));
+
+		fd.addFaculty(FIRST_NAME, LAST_NAME, ID, EMAIL, PASSWORD, PASSWORD, MAX_CREDITS);
+		assertEquals("inserted 8 " + fd.getFacultyById(ID), listener.getEvents().get(1));
+
+		int index = fd.getFaculty().indexOf(fd.getFacultyById("fmeadow"));
+		assertTrue(fd.removeFaculty("fmeadow"));
+		assertEquals("removed " + index, listener.getEvents().get(2));
+
+		fd.newFacultyDirectory();
+		assertEquals("replaced 0", listener.getEvents().get(3));
+		assertEquals(4, listener.getEvents().size());
+	}
 }
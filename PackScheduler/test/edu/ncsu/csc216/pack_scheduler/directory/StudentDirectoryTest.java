@@ -19,6 +19,7 @@ import org.junit.Before;
 import org.junit.jupiter.api.Test;
 
 import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.RecordingListener;
 
 /**
  * Tests StudentDirectory.
@@ -190,6 +191,22 @@ public class StudentDirectoryTest {
 		assertEquals(ID, student.getId());
 		assertEquals(EMAIL, student.getEmail());
 		assertNull(sd.getStudentById("jdoe123"));
+		assertNull(sd.getStudentById(null));
+
+		// Lookups ignore case
+		assertEquals(student, sd.getStudentById("SDent"));
+		assertFalse(sd.addStudent(FIRST_NAME, LAST_NAME, "SDENT", EMAIL, PASSWORD, PASSWORD, 15));
+
+		// Index follows removes and loads
+		assertTrue(sd.removeStudent(ID));
+		assertNull(sd.getStudentById(ID));
+		sd.loadStudentsFromFile(validTestFile);
+		assertEquals("Emerald", sd.getStudentById("EFROST").getFirstName());
+		assertTrue(sd.removeStudent("efrost"));
+		assertNull(sd.getStudentById("efrost"));
+		assertEquals("Zahir", sd.getStudentById("zking").getFirstName());
+		sd.newStudentDirectory();
+		assertNull(sd.getStudentById("zking"));
 	}
 
 	/**
@@ -214,4 +231,36 @@ public class StudentDirectoryTest {
 		}
 	}
 
+	/**
+	 * Tests that StudentDirectory sends a change event for every row inserted or
+	 * removed and for the directory being replaced.
+	 */
+	@Test
+	public void testListChangeEvents() {
+		StudentDirectory sd = new StudentDirectory();
+		RecordingListener<Student> listener = new RecordingListener<Student>();
+		sd.addListChangeListener(listener);
+
+		sd.loadStudentsFromFile(validTestFile);
+		assertEquals("replaced 10", listener.getEvents().get(0));
+
+		sd.addStudent(FIRST_NAME, LAST_NAME, ID, EMAIL, PASSWORD, PASSWORD, MAX_CREDITS);
+		Student added = sd.getStudentById(ID);
+		int index = sd.getStudents().indexOf(added);
+		assertEquals("inserted " + index + " " + added, listener.getEvents().get(1));
+		assertFalse(sd.addStudent(FIRST_NAME, LAST_NAME, ID, EMAIL, PASSWORD, PASSWORD, MAX_CREDITS));
+		assertEquals(2, listener.getEvents().size());
+
+		index = sd.getStudents().indexOf(sd.getStudentById("efrost"));
+		assertTrue(sd.removeStudent("efrost"));
+		assertEquals("removed " + index, listener.getEvents().get(2));
+		assertFalse(sd.removeStudent("efrost"));
+
+		sd.newStudentDirectory();
+		assertEquals("replaced 0", listener.getEvents().get(3));
+
+		sd.removeListChangeListener(listener);
+		sd.loadStudentsFromFile(validTestFile);
+		assertEquals(4, listener.getEvents().size());
+	}
 }
@@ -1,6 +1,7 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.File;
@@ -15,6 +16,7 @@ import org.junit.Before;
 import org.junit.jupiter.api.Test;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc217.collections.list.SortedList;
 
 /**
@@ -99,6 +101,74 @@ public class CourseRecordIOTest {
 		}
 	}
 
+	/**
+	 * Tests readSortedCourses().
+	 */
+	@Test
+	public void testReadSortedCourses() {
+		try {
+			RecordReport report = new RecordReport();
+			Course[] courses = CourseRecordIO.readSortedCourses(validTestFile, id -> null, report);
+			assertEquals(13, courses.length);
+			assertEquals(1, report.getSkippedCount());
+			for (int i = 0; i < validCourses.length; i++) {
+				assertEquals(validCourses[i], courses[i].toString());
+			}
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+	}
+
+	/**
+	 * Tests that readUnboundCourses() leaves instructors' schedules alone until
+	 * the Courses are bound.
+	 */
+	@Test
+	public void testReadUnboundCourses() {
+		Faculty sesmith5 = new Faculty("Sarah", "Heckman", "sesmith5", "sesmith5@ncsu.edu", "pw", 3);
+		try {
+			RecordProgress progress = new RecordProgress();
+			RecordReport report = new RecordReport(progress);
+			CourseRecordIO.UnboundCourses unbound = CourseRecordIO.readUnboundCourses(validTestFile, report);
+			assertEquals(14, progress.getLinesParsed());
+			assertEquals(1, progress.getLinesSkipped());
+			assertEquals(0, sesmith5.getSchedule().getNumScheduledCourses());
+
+			Course[] courses = unbound.bind(id -> "sesmith5".equals(id) ? sesmith5 : null);
+			assertEquals(13, courses.length);
+			assertEquals(1, report.getSkippedCount());
+			assertEquals(5, sesmith5.getSchedule().getNumScheduledCourses());
+			assertEquals("sesmith5", courses[3].getInstructorId());
+			assertNull(courses[0].getInstructorId());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+	}
+
+	/**
+	 * Tests readCourseRecords() binding instructors after the file is parsed.
+	 */
+	@Test
+	public void testReadCourseRecordsBindsInstructors() {
+		Faculty sesmith5 = new Faculty("Sarah", "Heckman", "sesmith5", "sesmith5@ncsu.edu", "pw", 3);
+		Faculty jtking = new Faculty("Jason", "King", "jtking", "jtking@ncsu.edu", "pw", 3);
+		try {
+			RecordReport report = new RecordReport();
+			SortedList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile,
+					id -> "sesmith5".equals(id) ? sesmith5 : "jtking".equals(id) ? jtking : null, report);
+			assertEquals(13, courses.size());
+			assertEquals(1, report.getSkippedCount());
+			assertEquals(5, sesmith5.getSchedule().getNumScheduledCourses());
+			// The duplicate CSC116-002 line is not assigned to jtking
+			assertEquals(1, jtking.getSchedule().getNumScheduledCourses());
+			assertEquals("sesmith5", courses.get(3).getInstructorId());
+			assertEquals("jtking", courses.get(12).getInstructorId());
+			assertNull(courses.get(0).getInstructorId());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+	}
+
 	/**
 	 * Tests readInvalidCourseRecords().
 	 */
@@ -108,6 +178,20 @@ public class CourseRecordIOTest {
 		try {
 			courses = CourseRecordIO.readCourseRecords(invalidTestFile);
 			assertEquals(0, courses.size());
+
+			RecordReport report = new RecordReport();
+			courses = CourseRecordIO.readCourseRecords(invalidTestFile, report);
+			assertEquals(0, courses.size());
+			assertEquals(25, report.getLinesRead());
+			assertEquals(25, report.getSkippedCount());
+			assertEquals(20, report.getSkippedLines().length);
+			assertEquals(1, report.getSkippedLines()[0]);
+
+			report = new RecordReport();
+			courses = CourseRecordIO.readCourseRecords(validTestFile, report);
+			assertEquals(13, courses.size());
+			assertEquals(1, report.getSkippedCount());
+			assertEquals("Skipped 1 of 14 lines: 4", report.toString());
 		} catch (FileNotFoundException e) {
 			fail("Unexpected FileNotFoundException");
 		}
@@ -0,0 +1,172 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests EnrollmentJournal.
+ * 
+ * @author Chirag Sreedhara
+ */
+class EnrollmentJournalTest {
+
+	/** Journal file written by the tests */
+	private final String journalFile = "test-files/actual_journal.bin";
+
+	/**
+	 * Deletes the journal file.
+	 */
+	@AfterEach
+	void tearDown() {
+		new File(journalFile).delete();
+	}
+
+	/**
+	 * Tests that appended events replay in order, with both synchronous and
+	 * windowed commits.
+	 * 
+	 * @throws IOException if the journal can't be written or read
+	 */
+	@Test
+	void testReplay() throws IOException {
+		for (long window : new long[] { 0, 50 }) {
+			EnrollmentJournal journal = new EnrollmentJournal(journalFile, 42, window);
+			journal.append(EnrollmentJournal.ENROLL, "zking", "CSC216", "001");
+			journal.append(EnrollmentJournal.DROP, "zking", "CSC216", "001");
+			journal.append(EnrollmentJournal.RESET_FACULTY_SCHEDULE, "awitt", null, null);
+			journal.sync();
+			journal.append(EnrollmentJournal.ADD_FACULTY, "sesmith5", "CSC116", "002");
+			journal.close();
+
+			List<String> events = replay(42);
+			assertEquals(4, events.size());
+			assertEquals("1 zking CSC216 001", events.get(0));
+			assertEquals("2 zking CSC216 001", events.get(1));
+			assertEquals("5 awitt null null", events.get(2));
+			assertEquals("3 sesmith5 CSC116 002", events.get(3));
+		}
+
+		// A journal following another snapshot or no journal at all replays nothing
+		assertEquals(0, replay(7).size());
+		new File(journalFile).delete();
+		assertEquals(0, replay(42).size());
+	}
+
+	/**
+	 * Tests that replay stops at an event that was only partly written.
+	 * 
+	 * @throws IOException if the journal can't be written or read
+	 */
+	@Test
+	void testTornWrite() throws IOException {
+		EnrollmentJournal journal = new EnrollmentJournal(journalFile, 1, 0);
+		journal.append(EnrollmentJournal.ENROLL, "zking", "CSC216", "001");
+		journal.append(EnrollmentJournal.ENROLL, "cschwartz", "CSC216", "001");
+		journal.close();
+
+		try (RandomAccessFile file = new RandomAccessFile(journalFile, "rw")) {
+			file.setLength(file.length() - 3);
+		}
+		List<String> events = replay(1);
+		assertEquals(1, events.size());
+		assertEquals("1 zking CSC216 001", events.get(0));
+
+		try (RandomAccessFile file = new RandomAccessFile(journalFile, "rw")) {
+			file.seek(20);
+			int b = file.read();
+			file.seek(20);
+			file.write(b ^ 1);
+		}
+		assertEquals(0, replay(1).size());
+	}
+
+	/**
+	 * Tests that nothing can be appended once the journal is closed.
+	 * 
+	 * @throws IOException if the journal can't be written
+	 */
+	@Test
+	void testClose() throws IOException {
+		assertThrows(IllegalArgumentException.class, () -> new EnrollmentJournal(journalFile, 1, -1));
+		EnrollmentJournal journal = new EnrollmentJournal(journalFile, 1, 1000);
+		journal.append(EnrollmentJournal.ENROLL, "zking", "CSC216", "001");
+		// Closing writes events still inside the durability window
+		journal.close();
+		journal.close();
+		Exception e = assertThrows(IllegalArgumentException.class,
+				() -> journal.append(EnrollmentJournal.ENROLL, "zking", "CSC216", "001"));
+		assertEquals("Journal is closed", e.getMessage());
+		assertEquals(1, replay(1).size());
+	}
+
+	/**
+	 * Tests that events appended from many threads at once are all committed.
+	 * 
+	 * @throws Exception if the journal can't be written or a thread fails
+	 */
+	@Test
+	void testConcurrentAppends() throws Exception {
+		EnrollmentJournal journal = new EnrollmentJournal(journalFile, 1, 0);
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> results = new ArrayList<Future<?>>();
+			for (int t = 0; t < 4; t++) {
+				final int thread = t;
+				results.add(pool.submit(() -> {
+					for (int i = 0; i < 250; i++) {
+						journal.append(EnrollmentJournal.ENROLL, "stu" + thread, "CSC" + (100 + i), "001");
+					}
+				}));
+			}
+			for (Future<?> result : results) {
+				result.get();
+			}
+		} finally {
+			pool.shutdown();
+			pool.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		journal.close();
+
+		List<String> events = replay(1);
+		assertEquals(1000, events.size());
+		Set<String> distinct = new HashSet<String>(events);
+		assertEquals(1000, distinct.size());
+		// Each thread's events stay in the order it appended them
+		int[] next = new int[4];
+		for (String event : events) {
+			String[] fields = event.split(" ");
+			int thread = fields[1].charAt(3) - '0';
+			assertEquals("CSC" + (100 + next[thread]++), fields[2]);
+		}
+	}
+
+	/**
+	 * Replays the journal file into a list of events.
+	 * 
+	 * @param checksum checksum of the snapshot to replay over
+	 * @return each event as its type, user id, course name and section
+	 * @throws IOException if the journal can't be read
+	 */
+	private List<String> replay(int checksum) throws IOException {
+		List<String> events = new ArrayList<String>();
+		int count = EnrollmentJournal.replay(journalFile, checksum,
+				(type, userId, name, section) -> events.add(type + " " + userId + " " + name + " " + section));
+		assertEquals(events.size(), count);
+		return events;
+	}
+}
@@ -0,0 +1,104 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests RecordReader.
+ * 
+ * @author Chirag Sreedhara
+ */
+public class RecordReaderTest {
+
+	/**
+	 * Tests reading fields and ints across line endings.
+	 * 
+	 * @throws IOException if the temporary file cannot be used
+	 */
+	@Test
+	public void testReadFields() throws IOException {
+		Path file = Files.createTempFile("records", ".txt");
+		try {
+			Files.write(file, "a,,12,-7\r\nb,+3,x\r\rc,\nlast".getBytes(StandardCharsets.UTF_8));
+			try (RecordReader reader = new RecordReader(file.toString())) {
+				assertTrue(reader.nextLine());
+				assertEquals(1, reader.getLineNumber());
+				assertEquals("a", reader.next());
+				assertEquals("", reader.next());
+				assertEquals(12, reader.nextInt());
+				assertEquals(-7, reader.nextInt());
+				assertFalse(reader.hasNext());
+				assertThrows(NoSuchElementException.class, () -> reader.next());
+
+				assertTrue(reader.nextLine());
+				assertEquals("b", reader.next());
+				assertEquals(3, reader.nextInt());
+				assertThrows(InputMismatchException.class, () -> reader.nextInt());
+
+				assertTrue(reader.nextLine());
+				assertEquals(3, reader.getLineNumber());
+				assertTrue(reader.isBlank());
+
+				assertTrue(reader.nextLine());
+				assertEquals("c", reader.next());
+				assertFalse(reader.hasNext());
+
+				assertTrue(reader.nextLine());
+				assertEquals(5, reader.getLineNumber());
+				assertEquals("last", reader.next());
+				assertFalse(reader.nextLine());
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Tests reading lines longer than the read buffer.
+	 * 
+	 * @throws IOException if the temporary file cannot be used
+	 */
+	@Test
+	public void testReadLongLines() throws IOException {
+		Path file = Files.createTempFile("records", ".txt");
+		try {
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < 100000; i++) {
+				sb.append('x');
+			}
+			String field = sb.toString();
+			Files.write(file, (field + "," + field + "\n2147483647\n").getBytes(StandardCharsets.UTF_8));
+			try (RecordReader reader = new RecordReader(file.toString())) {
+				assertTrue(reader.nextLine());
+				assertEquals(field, reader.next());
+				assertEquals(field, reader.next());
+				assertTrue(reader.nextLine());
+				assertEquals(Integer.MAX_VALUE, reader.nextInt());
+				assertFalse(reader.nextLine());
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Tests opening a file that does not exist.
+	 */
+	@Test
+	public void testMissingFile() {
+		assertThrows(FileNotFoundException.class, () -> new RecordReader("test-files/no_such_file.txt"));
+	}
+
+}
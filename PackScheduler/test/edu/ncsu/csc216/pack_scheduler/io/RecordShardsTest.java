@@ -0,0 +1,111 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests RecordShards.
+ * 
+ * @author Chirag Sreedhara
+ */
+public class RecordShardsTest {
+
+	/** Parses a name and a count, as in "a,1" */
+	private static final RecordShards.Parser<String> PARSER = reader -> {
+		try {
+			String name = reader.next();
+			int count = reader.nextInt();
+			if (reader.hasNext()) {
+				throw new IllegalArgumentException();
+			}
+			return name + count;
+		} catch (NoSuchElementException e) {
+			throw new IllegalArgumentException();
+		}
+	};
+
+	/**
+	 * Tests that every way of splitting a file reads the same records, line
+	 * numbers and skipped lines as reading it whole.
+	 * 
+	 * @throws IOException if the temporary file cannot be used
+	 */
+	@Test
+	public void testShards() throws IOException {
+		Path file = Files.createTempFile("records", ".txt");
+		try {
+			Files.write(file, "a,1\r\nb,x\r\n\r\nc,3\rd,4\n\ne\nf,6\r\r\ng,7,8\nh,8".getBytes(StandardCharsets.UTF_8));
+			for (int shards = 1; shards <= 50; shards++) {
+				RecordProgress progress = new RecordProgress();
+				RecordShards<String> read = RecordShards.read(file.toString(), PARSER, String[]::new, shards,
+						progress);
+				assertArrayEquals(new String[] { "a1", "c3", "d4", "f6", "h8" }, read.getRecords());
+				assertArrayEquals(new int[] { 1, 4, 5, 8, 11 }, read.getRecordLines());
+				assertArrayEquals(new int[] { 2, 7, 10 }, read.getSkippedLines());
+
+				assertEquals(8, progress.getLinesParsed());
+				assertEquals(3, progress.getLinesSkipped());
+				assertEquals(Files.size(file), progress.getBytesRead());
+
+				RecordReport report = new RecordReport(progress);
+				read.report(report, new int[] { 1, 8, 11 });
+				assertEquals("Skipped 6 of 8 lines: 1, 2, 7, 8, 10, 11", report.toString());
+				assertEquals(6, progress.getLinesSkipped());
+			}
+
+			Files.write(file, new byte[0]);
+			RecordShards<String> empty = RecordShards.read(file.toString(), PARSER, String[]::new,
+					new RecordProgress());
+			assertEquals(0, empty.getRecords().length);
+		} finally {
+			Files.delete(file);
+		}
+		assertThrows(FileNotFoundException.class,
+				() -> RecordShards.read(file.toString(), PARSER, String[]::new, new RecordProgress()));
+	}
+
+	/**
+	 * Tests that a cancelled read stops without returning records.
+	 * 
+	 * @throws IOException if the temporary file cannot be used
+	 */
+	@Test
+	public void testCancel() throws IOException {
+		Path file = Files.createTempFile("records", ".txt");
+		try {
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < 20000; i++) {
+				sb.append("r,").append(i).append('\n');
+			}
+			Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+
+			RecordProgress progress = new RecordProgress();
+			progress.cancel();
+			assertThrows(CancellationException.class,
+					() -> RecordShards.read(file.toString(), PARSER, String[]::new, 4, progress));
+
+			// Cancelling partway stops at the shard's next progress update
+			RecordProgress partway = new RecordProgress();
+			RecordShards.Parser<String> cancelling = reader -> {
+				partway.cancel();
+				return PARSER.parse(reader);
+			};
+			assertThrows(CancellationException.class,
+					() -> RecordShards.read(file.toString(), cancelling, String[]::new, 1, partway));
+			assertEquals(4096, partway.getLinesParsed());
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
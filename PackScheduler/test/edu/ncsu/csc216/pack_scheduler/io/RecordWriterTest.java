@@ -0,0 +1,129 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.CancellationException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests RecordWriter and the AtomicFile it writes through.
+ * 
+ * @author Chirag Sreedhara
+ */
+class RecordWriterTest {
+
+	/** Records file written by the tests */
+	private final String recordsFile = "test-files/actual_records.txt";
+
+	/**
+	 * Deletes the records file.
+	 */
+	@AfterEach
+	void tearDown() {
+		new File(recordsFile).delete();
+	}
+
+	/**
+	 * Tests that fields and records are written as PrintStream.println() would
+	 * write the joined record.
+	 * 
+	 * @throws IOException if the file can't be written or read
+	 */
+	@Test
+	void testFields() throws IOException {
+		StringBuilder longField = new StringBuilder();
+		for (int i = 0; i < 20000; i++) {
+			longField.append((char) ('a' + i % 26));
+		}
+		try (RecordWriter out = new RecordWriter(recordsFile)) {
+			out.field("CSC216").field(3).field((String) null).field(0).endRecord();
+			out.field(Integer.MIN_VALUE).field(Integer.MAX_VALUE).field(-42).endRecord();
+			out.field(longField.toString()).endRecord();
+			out.commit();
+		}
+		String n = System.lineSeparator();
+		String expected = "CSC216,3,null,0" + n + Integer.MIN_VALUE + "," + Integer.MAX_VALUE + ",-42" + n
+				+ longField + n;
+		assertEquals(expected, read());
+	}
+
+	/**
+	 * Tests that a save that isn't committed leaves the old file as it was and no
+	 * temporary files behind.
+	 * 
+	 * @throws IOException if the file can't be written or read
+	 */
+	@Test
+	void testUncommitted() throws IOException {
+		try (RecordWriter out = new RecordWriter(recordsFile)) {
+			out.field("old").endRecord();
+			out.commit();
+		}
+		int files = new File("test-files").list().length;
+		try (RecordWriter out = new RecordWriter(recordsFile)) {
+			for (int i = 0; i < 100000; i++) {
+				out.field("new").field(i).endRecord();
+			}
+			// Crashes before committing
+		}
+		assertEquals("old" + System.lineSeparator(), read());
+		assertEquals(files, new File("test-files").list().length);
+
+		Exception e = assertThrows(FileNotFoundException.class,
+				() -> new RecordWriter("test-files/no_such_directory/records.txt"));
+		assertEquals("test-files/no_such_directory/records.txt (No such file or directory)", e.getMessage());
+	}
+
+	/**
+	 * Tests that a writer counts the bytes it writes and that a cancelled save
+	 * leaves the old file in place.
+	 * 
+	 * @throws IOException if the records file can't be written
+	 */
+	@Test
+	void testProgress() throws IOException {
+		RecordProgress progress = new RecordProgress();
+		try (RecordWriter out = new RecordWriter(recordsFile, progress)) {
+			out.field("old").endRecord();
+			out.commit();
+		}
+		assertEquals(("old" + System.lineSeparator()).length(), progress.getBytesWritten());
+
+		int files = new File("test-files").list().length;
+		RecordProgress cancelled = new RecordProgress();
+		assertThrows(CancellationException.class, () -> {
+			try (RecordWriter out = new RecordWriter(recordsFile, cancelled)) {
+				for (int i = 0; i < 100000; i++) {
+					out.field("new").field(i).endRecord();
+					if (i == 50000) {
+						cancelled.cancel();
+					}
+				}
+				out.commit();
+			}
+		});
+		assertTrue(cancelled.getBytesWritten() > 0);
+		assertEquals("old" + System.lineSeparator(), read());
+		assertEquals(files, new File("test-files").list().length);
+	}
+
+	/**
+	 * Reads the records file.
+	 * 
+	 * @return the file's contents
+	 * @throws IOException if the file can't be read
+	 */
+	private String read() throws IOException {
+		return new String(Files.readAllBytes(Paths.get(recordsFile)), Charset.defaultCharset());
+	}
+}
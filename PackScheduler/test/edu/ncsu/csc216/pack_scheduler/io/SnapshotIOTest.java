@@ -0,0 +1,163 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Tests SnapshotIO.
+ * 
+ * @author Chirag Sreedhara
+ */
+class SnapshotIOTest {
+
+	/** Snapshot file written by the tests */
+	private final String snapshotFile = "test-files/actual_snapshot.bin";
+
+	/**
+	 * Deletes the snapshot file.
+	 */
+	@AfterEach
+	void tearDown() {
+		new File(snapshotFile).delete();
+	}
+
+	/**
+	 * Tests that rolls, waitlists and schedules survive a round trip.
+	 * 
+	 * @throws IOException if the snapshot can't be written or read
+	 */
+	@Test
+	void testRoundTrip() throws IOException {
+		Course full = new Course("CSC216", "Software Development Fundamentals", "001", 3, null, 10, "MW", 1330, 1445);
+		Course open = new Course("CSC116", "Intro to Programming - Java", "002", 3, null, 10, "TH", 910, 1100);
+		Course arranged = new Course("CSC499", "Independent Study", "001", 1, null, 10, "A");
+		Faculty f = new Faculty("Sarah", "Heckman", "sesmith5", "sesmith5@ncsu.edu", "pw", 2);
+		f.getSchedule().addCourseToSchedule(full);
+
+		List<Student> students = new ArrayList<Student>();
+		for (int i = 0; i < 13; i++) {
+			Student s = new Student("First" + i, "Last" + i, "id" + i, "id" + i + "@ncsu.edu", "pw", 18);
+			students.add(s);
+			full.getCourseRoll().enroll(s);
+			s.getSchedule().addCourseToSchedule(full);
+		}
+		students.get(0).getSchedule().addCourseToSchedule(open);
+		open.getCourseRoll().enroll(students.get(0));
+		students.get(0).getSchedule().setTitle("Fall Plan");
+		Student other = new Student("Other", "Student", "other", "other@ncsu.edu", "pw", 3);
+
+		SnapshotIO.writeSnapshot(snapshotFile, Arrays.asList(full, open, arranged), students, Arrays.asList(f));
+		SnapshotIO.Snapshot snapshot = SnapshotIO.readSnapshot(snapshotFile);
+
+		Course[] courses = snapshot.getCourses();
+		Student[] restored = snapshot.getStudents();
+		Faculty[] faculty = snapshot.getFaculty();
+		assertEquals(3, courses.length);
+		assertEquals(13, restored.length);
+		assertEquals(1, faculty.length);
+		for (int i = 0; i < 3; i++) {
+			Course before = Arrays.asList(full, open, arranged).get(i);
+			assertArrayEquals(before.getLongDisplayArray(), courses[i].getLongDisplayArray());
+			assertEquals(before.getCourseRoll().getEnrollmentCap(), courses[i].getCourseRoll().getEnrollmentCap());
+		}
+		for (int i = 0; i < restored.length; i++) {
+			assertEquals(students.get(i).toString(), restored[i].toString());
+			assertEquals(students.get(i).getPassword(), restored[i].getPassword());
+		}
+
+		assertEquals(10, courses[0].getCourseRoll().getEnrolledStudents().length);
+		Student[] waitlisted = courses[0].getCourseRoll().getWaitlistedStudents();
+		assertEquals(3, waitlisted.length);
+		for (int i = 0; i < waitlisted.length; i++) {
+			assertSame(restored[10 + i], waitlisted[i]);
+		}
+		assertSame(restored[0], courses[1].getCourseRoll().getEnrolledStudents()[0]);
+		assertEquals(0, courses[2].getCourseRoll().getEnrolledStudents().length);
+
+		Course[] schedule = restored[0].getSchedule().getCourses();
+		assertEquals(2, schedule.length);
+		assertSame(courses[0], schedule[0]);
+		assertSame(courses[1], schedule[1]);
+		assertEquals("Fall Plan", restored[0].getSchedule().getTitle());
+		assertEquals(6, restored[0].getSchedule().getScheduleCredits());
+
+		assertEquals("Sarah", faculty[0].getFirstName());
+		assertEquals(2, faculty[0].getMaxCourses());
+		assertSame(courses[0], faculty[0].getSchedule().getCourses()[0]);
+		assertEquals("sesmith5", courses[0].getInstructorId());
+		assertNull(courses[1].getInstructorId());
+
+		// Dropping an enrolled student still promotes the first waitlisted one
+		courses[0].getCourseRoll().drop(restored[0]);
+		assertTrue(Arrays.asList(courses[0].getCourseRoll().getEnrolledStudents()).contains(restored[10]));
+
+		// Students outside the directory are left out of rolls
+		full.getCourseRoll().drop(students.get(1));
+		full.getCourseRoll().enroll(other);
+		SnapshotIO.writeSnapshot(snapshotFile, Arrays.asList(full), students.subList(0, 1), Arrays.asList(f));
+		Course reloaded = SnapshotIO.readSnapshot(snapshotFile).getCourses()[0];
+		assertEquals(1, reloaded.getCourseRoll().getEnrolledStudents().length);
+		assertEquals(0, reloaded.getCourseRoll().getNumberOnWaitlist());
+	}
+
+	/**
+	 * Tests that empty snapshots can be written and read.
+	 * 
+	 * @throws IOException if the snapshot can't be written or read
+	 */
+	@Test
+	void testEmptySnapshot() throws IOException {
+		SnapshotIO.writeSnapshot(snapshotFile, new ArrayList<Course>(), new ArrayList<Student>(),
+				new ArrayList<Faculty>());
+		SnapshotIO.Snapshot snapshot = SnapshotIO.readSnapshot(snapshotFile);
+		assertEquals(0, snapshot.getCourses().length);
+		assertEquals(0, snapshot.getStudents().length);
+		assertEquals(0, snapshot.getFaculty().length);
+	}
+
+	/**
+	 * Tests that damaged and foreign files are rejected.
+	 * 
+	 * @throws IOException if the snapshot can't be written or read
+	 */
+	@Test
+	void testInvalidSnapshot() throws IOException {
+		Course c = new Course("CSC216", "Software Development Fundamentals", "001", 3, null, 10, "MW", 1330, 1445);
+		SnapshotIO.writeSnapshot(snapshotFile, Arrays.asList(c), new ArrayList<Student>(),
+				new ArrayList<Faculty>());
+		try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw")) {
+			file.seek(30);
+			int b = file.read();
+			file.seek(30);
+			file.write(b ^ 1);
+		}
+		Exception e1 = assertThrows(IllegalArgumentException.class, () -> SnapshotIO.readSnapshot(snapshotFile));
+		assertEquals("Invalid snapshot file " + snapshotFile, e1.getMessage());
+
+		try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw")) {
+			file.setLength(10);
+		}
+		assertThrows(IllegalArgumentException.class, () -> SnapshotIO.readSnapshot(snapshotFile));
+		assertThrows(IllegalArgumentException.class,
+				() -> SnapshotIO.readSnapshot("test-files/student_records.txt"));
+		assertThrows(IOException.class, () -> SnapshotIO.readSnapshot("test-files/no_such_snapshot.bin"));
+	}
+}
@@ -5,6 +5,9 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
@@ -120,6 +123,31 @@ class StudentRecordIOTest {
 		}
 	}
 	
+	/**
+	 * Tests readSortedStudents() skips the later of two equal students but keeps
+	 * students that only share a name and id
+	 */
+	@Test
+	public void testReadSortedStudents() throws IOException {
+		Path file = Files.createTempFile("students", ".txt");
+		try {
+			Files.write(file, ("Zahir,King,zking,z@ncsu.edu," + hashPW + ",15\n"
+					+ "Lane,Berg,lberg,l@ncsu.edu," + hashPW + ",14\n"
+					+ "Zahir,King,zking,z@ncsu.edu," + hashPW + ",15\n"
+					+ "Zahir,King,zking,other@ncsu.edu," + hashPW + ",15\n"
+					+ "invalid\n").getBytes(StandardCharsets.UTF_8));
+			RecordReport report = new RecordReport();
+			Student[] students = StudentRecordIO.readSortedStudents(file.toString(), report);
+			assertEquals(3, students.length);
+			assertEquals("lberg", students[0].getId());
+			assertEquals("z@ncsu.edu", students[1].getEmail());
+			assertEquals("other@ncsu.edu", students[2].getEmail());
+			assertEquals("Skipped 2 of 5 lines: 3, 5", report.toString());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
 	/**
 	 * Tests writeCourseRecords() with no specific permissions
 	 */
@@ -8,16 +8,27 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager.Session;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
 
@@ -519,4 +530,437 @@ public class RegistrationManagerTest {
 		manager.logout();
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Tests that several sessions can be open at once and act for their own
+	 * students
+	 */
+	@Test
+	public void testOpenSession() {
+		studentDirectory.loadStudentsFromFile("test-files/student_records.txt");
+		courseCatalog.loadCoursesFromFile("test-files/course_records.txt");
+		Course c = courseCatalog.getCourseFromCatalog("CSC216", "001");
+
+		Session frost = manager.openSession("efrost", "pw");
+		Session hicks = manager.openSession("ahicks", "pw");
+		assertNull(manager.openSession("efrost", "wrong"));
+		assertNull(manager.getCurrentUser());
+		assertEquals("efrost", frost.getUser().getId());
+
+		assertTrue(manager.enrollStudentInCourse(frost, c));
+		assertTrue(manager.enrollStudentInCourse(hicks, c));
+		assertEquals(8, c.getCourseRoll().getOpenSeats());
+		assertTrue(manager.dropStudentFromCourse(hicks, c));
+		assertEquals(0, studentDirectory.getStudentById("ahicks").getSchedule().getScheduledCourses().length);
+		assertEquals(1, studentDirectory.getStudentById("efrost").getSchedule().getScheduledCourses().length);
+
+		manager.logout(frost);
+		assertFalse(frost.isOpen());
+		assertThrows(IllegalArgumentException.class, () -> manager.enrollStudentInCourse(frost, c));
+		assertThrows(IllegalArgumentException.class, () -> manager.resetSchedule(frost));
+		manager.resetSchedule(hicks);
+		manager.logout(hicks);
+	}
+
+	/**
+	 * Tests getAddableCourses() against trying every catalog course
+	 */
+	@Test
+	public void testGetAddableCourses() {
+		studentDirectory.loadStudentsFromFile("test-files/student_records.txt");
+		courseCatalog.loadCoursesFromFile("test-files/course_records.txt");
+
+		assertThrows(IllegalArgumentException.class, () -> manager.getAddableCourses());
+		manager.login(registrarUsername, registrarPassword);
+		assertThrows(IllegalArgumentException.class, () -> manager.getAddableCourses());
+		manager.logout();
+
+		// Fill CSC116-002 and its waitlist
+		for (int i = 0; i < 20; i++) {
+			studentDirectory.addStudent("First" + i, "Last" + i, "stu" + i, "stu" + i + "@ncsu.edu", "pw", "pw", 18);
+			Session session = manager.openSession("stu" + i, "pw");
+			assertTrue(manager.enrollStudentInCourse(session, courseCatalog.getCourseFromCatalog("CSC116", "002")));
+			manager.logout(session);
+		}
+
+		manager.login("ahicks", "pw");
+		Student ahicks = studentDirectory.getStudentById("ahicks");
+		List<Course> addable = manager.getAddableCourses();
+		assertEquals(12, addable.size());
+		assertFalse(addable.contains(courseCatalog.getCourseFromCatalog("CSC116", "002")));
+		assertAddable(ahicks);
+
+		assertTrue(manager.enrollStudentInCourse(courseCatalog.getCourseFromCatalog("CSC216", "001")));
+		assertTrue(manager.enrollStudentInCourse(courseCatalog.getCourseFromCatalog("CSC226", "001")));
+		assertAddable(ahicks);
+		assertTrue(manager.enrollStudentInCourse(courseCatalog.getCourseFromCatalog("CSC116", "003")));
+		// 9 of 11 credits are used, so only the 1 credit labs are left
+		addable = manager.getAddableCourses();
+		assertAddable(ahicks);
+		for (Course c : addable) {
+			assertEquals(1, c.getCredits());
+		}
+		assertEquals(4, addable.size());
+
+		manager.resetSchedule();
+		assertEquals(12, manager.getAddableCourses().size());
+		manager.logout();
+	}
+
+	/**
+	 * Checks that the addable courses of the logged in student are exactly the
+	 * catalog courses the student and the courses' rolls would take.
+	 * 
+	 * @param s the logged in student
+	 */
+	private void assertAddable(Student s) {
+		List<Course> expected = new ArrayList<Course>();
+		for (String[] row : courseCatalog.getCourseCatalog()) {
+			Course c = courseCatalog.getCourseFromCatalog(row[0], row[1]);
+			if (s.canAdd(c) && c.getCourseRoll().canEnroll(s)) {
+				expected.add(c);
+			}
+		}
+		assertEquals(expected, manager.getAddableCourses());
+	}
+
+	/**
+	 * Tests that sessions asking for their addable courses at once, right after
+	 * the catalog changes, all get the same answer as checking every course
+	 * 
+	 * @throws InterruptedException if interrupted while waiting for the threads
+	 */
+	@Test
+	public void testConcurrentGetAddableCourses() throws InterruptedException {
+		courseCatalog.loadCoursesFromFile("test-files/course_records.txt");
+		// A large catalog keeps each rebuild of the index ids long enough to overlap
+		for (int i = 300; i < 1000; i++) {
+			for (int section = 1; section <= 5; section++) {
+				courseCatalog.addCourseToCatalog("MA" + i, "Topics in Mathematics", "00" + section, 3, null, 10,
+						"TH", 800 + section * 100, 850 + section * 100);
+			}
+		}
+		Course csc216 = courseCatalog.getCourseFromCatalog("CSC216", "001");
+		csc216.getCourseRoll().setEnrollmentCap(20);
+		final int students = 16;
+		Session[] sessions = new Session[students];
+		for (int i = 0; i < students; i++) {
+			studentDirectory.addStudent("First" + i, "Last" + i, "stu" + i, "stu" + i + "@ncsu.edu", "pw", "pw", 18);
+			sessions[i] = manager.openSession("stu" + i, "pw");
+			assertTrue(manager.enrollStudentInCourse(sessions[i], csc216));
+		}
+		Student stu0 = studentDirectory.getStudentById("stu0");
+
+		AtomicInteger mismatches = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(students);
+		try {
+			for (int round = 0; round < 50; round++) {
+				// Changing the catalog makes the next query rebuild its index ids
+				courseCatalog.addCourseToCatalog("CSC116", "Intro to Programming - Java", String.valueOf(100 + round),
+						3, null, 10, "MW", 900 + round, 1000 + round);
+				// Every student has the same schedule, so they all get the same answer
+				List<Course> expected = new ArrayList<Course>();
+				for (Course c : courseCatalog.getCourses()) {
+					if (stu0.canAdd(c) && c.getCourseRoll().canEnroll(stu0)) {
+						expected.add(c);
+					}
+				}
+				CountDownLatch start = new CountDownLatch(1);
+				CountDownLatch finished = new CountDownLatch(students);
+				for (int i = 0; i < students; i++) {
+					final Session session = sessions[i];
+					pool.execute(() -> {
+						try {
+							start.await();
+							if (!expected.equals(manager.getAddableCourses(session))) {
+								mismatches.incrementAndGet();
+							}
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						} finally {
+							finished.countDown();
+						}
+					});
+				}
+				start.countDown();
+				assertTrue(finished.await(1, TimeUnit.MINUTES));
+			}
+		} finally {
+			pool.shutdown();
+		}
+		assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+		assertEquals(0, mismatches.get());
+		for (Session session : sessions) {
+			manager.logout(session);
+		}
+	}
+
+	/**
+	 * Tests that enrollments, waitlists and schedules survive saving and loading a
+	 * snapshot
+	 */
+	@Test
+	public void testSnapshot() {
+		studentDirectory.loadStudentsFromFile("test-files/student_records.txt");
+		courseCatalog.loadCoursesFromFile("test-files/course_records.txt");
+		manager.getFacultyDirectory().loadFacultyFromFile("test-files/faculty_records.txt");
+		Course csc216 = courseCatalog.getCourseFromCatalog("CSC216", "001");
+		csc216.getCourseRoll().setEnrollmentCap(10);
+		for (int i = 0; i < 12; i++) {
+			studentDirectory.addStudent("First" + i, "Last" + i, "stu" + i, "stu" + i + "@ncsu.edu", "pw", "pw", 18);
+			Session session = manager.openSession("stu" + i, "pw");
+			assertTrue(manager.enrollStudentInCourse(session, csc216));
+			manager.logout(session);
+		}
+		manager.login(registrarUsername, registrarPassword);
+		manager.addFacultyToCourse(csc216, manager.getFacultyDirectory().getFacultyById("awitt"));
+		manager.saveSnapshot("test-files/actual_snapshot.bin");
+		manager.logout();
+
+		manager.clearData();
+		assertEquals(0, courseCatalog.getCourseCatalog().length);
+		manager.loadSnapshot("test-files/actual_snapshot.bin");
+		new File("test-files/actual_snapshot.bin").delete();
+
+		assertEquals(13, courseCatalog.getCourseCatalog().length);
+		assertEquals(22, studentDirectory.getStudentDirectory().length);
+		assertEquals(8, manager.getFacultyDirectory().getFacultyDirectory().length);
+		Course restored = courseCatalog.getCourseFromCatalog("CSC216", "001");
+		assertEquals(0, restored.getCourseRoll().getOpenSeats());
+		assertEquals(2, restored.getCourseRoll().getNumberOnWaitlist());
+		assertEquals("awitt", restored.getInstructorId());
+		assertEquals(1, manager.getFacultyDirectory().getFacultyById("awitt").getSchedule().getNumScheduledCourses());
+
+		// Restored students can log in and drop, promoting the waitlist
+		Session session = manager.openSession("stu0", "pw");
+		assertNotNull(session);
+		assertEquals(3, studentDirectory.getStudentById("stu0").getSchedule().getScheduleCredits());
+		assertTrue(manager.dropStudentFromCourse(session, restored));
+		assertEquals(1, restored.getCourseRoll().getNumberOnWaitlist());
+		assertEquals(3, studentDirectory.getStudentById("stu10").getSchedule().getScheduleCredits());
+
+		assertThrows(IllegalArgumentException.class, () -> manager.loadSnapshot("test-files/student_records.txt"));
+		assertEquals(13, courseCatalog.getCourseCatalog().length);
+	}
+
+	/**
+	 * Tests that journaled enrollments, drops, waitlist promotions and faculty
+	 * assignments are recovered over the checkpoint snapshot
+	 */
+	@Test
+	public void testJournalRecovery() {
+		String snapshotFile = "test-files/actual_checkpoint.bin";
+		String journalFile = "test-files/actual_journal.bin";
+		studentDirectory.loadStudentsFromFile("test-files/student_records.txt");
+		courseCatalog.loadCoursesFromFile("test-files/course_records.txt");
+		manager.getFacultyDirectory().loadFacultyFromFile("test-files/faculty_records.txt");
+		Course csc216 = courseCatalog.getCourseFromCatalog("CSC216", "001");
+		csc216.getCourseRoll().setEnrollmentCap(10);
+		for (int i = 0; i < 12; i++) {
+			studentDirectory.addStudent("First" + i, "Last" + i, "stu" + i, "stu" + i + "@ncsu.edu", "pw", "pw", 18);
+		}
+		assertThrows(IllegalArgumentException.class, () -> manager.startJournal(snapshotFile, journalFile, -1));
+		manager.startJournal(snapshotFile, journalFile, 0);
+
+		for (int i = 0; i < 12; i++) {
+			Session session = manager.openSession("stu" + i, "pw");
+			assertTrue(manager.enrollStudentInCourse(session, csc216));
+			manager.logout(session);
+		}
+		Session session = manager.openSession("stu3", "pw");
+		assertTrue(manager.dropStudentFromCourse(session, csc216));
+		manager.logout(session);
+		manager.login(registrarUsername, registrarPassword);
+		manager.addFacultyToCourse(csc216, manager.getFacultyDirectory().getFacultyById("awitt"));
+		manager.logout();
+
+		// Losing the in-memory state leaves the checkpoint and journal on disk
+		manager.clearData();
+		assertEquals(14, manager.recover(snapshotFile, journalFile, 0));
+
+		Course restored = courseCatalog.getCourseFromCatalog("CSC216", "001");
+		assertEquals(0, restored.getCourseRoll().getOpenSeats());
+		assertEquals(1, restored.getCourseRoll().getNumberOnWaitlist());
+		assertEquals(0, studentDirectory.getStudentById("stu3").getSchedule().getScheduleCredits());
+		assertEquals(3, studentDirectory.getStudentById("stu10").getSchedule().getScheduleCredits());
+		assertEquals("awitt", restored.getInstructorId());
+
+		// Recovery checkpoints again, so a second crash replays only newer changes
+		session = manager.openSession("stu3", "pw");
+		assertTrue(manager.enrollStudentInCourse(session, restored));
+		manager.logout(session);
+		manager.clearData();
+		assertEquals(1, manager.recover(snapshotFile, journalFile, 10));
+		assertEquals(2, courseCatalog.getCourseFromCatalog("CSC216", "001").getCourseRoll().getNumberOnWaitlist());
+
+		manager.stopJournal();
+		new File(snapshotFile).delete();
+		new File(journalFile).delete();
+	}
+
+	/**
+	 * Tests that enrolling from many threads at once never oversells a course or
+	 * its waitlist
+	 * 
+	 * @throws InterruptedException if interrupted while waiting for the threads
+	 */
+	@Test
+	public void testConcurrentEnrollment() throws InterruptedException {
+		final int students = 200;
+		for (int i = 0; i < students; i++) {
+			studentDirectory.addStudent("First" + i, "Last" + i, "stu" + i, "stu" + i + "@ncsu.edu", "pw", "pw", 18);
+		}
+		courseCatalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10,
+				"MW", 1330, 1445);
+		courseCatalog.addCourseToCatalog("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3,
+				"tmbarnes", 10, "MWF", 935, 1025);
+		Course c216 = courseCatalog.getCourseFromCatalog("CSC216", "001");
+		Course c226 = courseCatalog.getCourseFromCatalog("CSC226", "001");
+
+		AtomicInteger enrolled = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(16);
+		for (int i = 0; i < students; i++) {
+			final String id = "stu" + i;
+			pool.execute(() -> {
+				try {
+					start.await();
+					Session session = manager.openSession(id, "pw");
+					if (manager.enrollStudentInCourse(session, c216)) {
+						enrolled.incrementAndGet();
+					}
+					if (manager.enrollStudentInCourse(session, c226)) {
+						enrolled.incrementAndGet();
+						// Give the seat back and take it again
+						manager.dropStudentFromCourse(session, c226);
+						if (manager.enrollStudentInCourse(session, c226)) {
+							enrolled.incrementAndGet();
+						}
+						enrolled.decrementAndGet();
+					}
+					manager.logout(session);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+
+		int scheduled216 = 0;
+		int scheduled226 = 0;
+		for (int i = 0; i < students; i++) {
+			String[][] schedule = studentDirectory.getStudentById("stu" + i).getSchedule().getScheduledCourses();
+			for (int j = 0; j < schedule.length; j++) {
+				if ("CSC216".equals(schedule[j][0])) {
+					scheduled216++;
+				} else {
+					scheduled226++;
+				}
+			}
+		}
+		assertEquals(0, c216.getCourseRoll().getOpenSeats());
+		assertEquals(10, c216.getCourseRoll().getNumberOnWaitlist());
+		assertEquals(0, c226.getCourseRoll().getOpenSeats());
+		assertEquals(10, c226.getCourseRoll().getNumberOnWaitlist());
+		assertEquals(20, scheduled216);
+		assertEquals(20, scheduled226);
+		assertEquals(40, enrolled.get());
+	}
+
+	/**
+	 * Tests concurrent drops that move waitlisted students onto the course roll.
+	 * 
+	 * @throws InterruptedException if the test is interrupted while waiting
+	 */
+	@Test
+	public void testConcurrentDropPromotesWaitlist() throws InterruptedException {
+		final int students = 20;
+		for (int i = 0; i < students; i++) {
+			studentDirectory.addStudent("First" + i, "Last" + i, "stu" + i, "stu" + i + "@ncsu.edu", "pw", "pw", 18);
+		}
+		courseCatalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10,
+				"MW", 1330, 1445);
+		Course c216 = courseCatalog.getCourseFromCatalog("CSC216", "001");
+		for (int i = 0; i < students; i++) {
+			Session session = manager.openSession("stu" + i, "pw");
+			assertTrue(manager.enrollStudentInCourse(session, c216));
+			manager.logout(session);
+		}
+		assertEquals(0, c216.getCourseRoll().getOpenSeats());
+		assertEquals(10, c216.getCourseRoll().getNumberOnWaitlist());
+
+		AtomicInteger dropped = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		for (int i = 0; i < 10; i++) {
+			final String id = "stu" + i;
+			pool.execute(() -> {
+				try {
+					start.await();
+					Session session = manager.openSession(id, "pw");
+					if (manager.dropStudentFromCourse(session, c216)) {
+						dropped.incrementAndGet();
+					}
+					manager.logout(session);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+
+		assertEquals(10, dropped.get());
+		assertEquals(0, c216.getCourseRoll().getOpenSeats());
+		assertEquals(0, c216.getCourseRoll().getNumberOnWaitlist());
+		for (int i = 0; i < students; i++) {
+			int scheduled = studentDirectory.getStudentById("stu" + i).getSchedule().getScheduledCourses().length;
+			assertEquals(i < 10 ? 0 : 1, scheduled);
+		}
+	}
+
+	/**
+	 * Tests that courses assigned to the same faculty member from several threads
+	 * all end up on the faculty member's schedule.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting for the threads
+	 */
+	@Test
+	public void testConcurrentAddFacultyToCourse() throws InterruptedException {
+		manager.getFacultyDirectory().loadFacultyFromFile("test-files/faculty_records.txt");
+		Faculty awitt = manager.getFacultyDirectory().getFacultyById("awitt");
+		final int courses = 40;
+		for (int i = 0; i < courses; i++) {
+			courseCatalog.addCourseToCatalog("MA" + (300 + i), "Topics in Mathematics", "001", 3, null, 10, "A", 0, 0);
+		}
+		manager.login(registrarUsername, registrarPassword);
+
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			for (int i = 0; i < courses; i++) {
+				final Course c = courseCatalog.getCourseFromCatalog("MA" + (300 + i), "001");
+				pool.execute(() -> {
+					try {
+						start.await();
+						manager.addFacultyToCourse(c, awitt);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				});
+			}
+			start.countDown();
+		} finally {
+			pool.shutdown();
+		}
+		assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+		manager.logout();
+
+		assertEquals(courses, awitt.getSchedule().getNumScheduledCourses());
+		for (int i = 0; i < courses; i++) {
+			assertEquals("awitt", courseCatalog.getCourseFromCatalog("MA" + (300 + i), "001").getInstructorId());
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package edu.ncsu.csc216.pack_scheduler.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests ListTableModel
+ * 
+ * @author Chirag Sreedhara
+ */
+public class ListTableModelTest {
+
+	/** Model under test */
+	private StringTableModel model;
+	/** Table events the model fired, in order */
+	private List<String> fired;
+
+	/**
+	 * Creates an empty model that records the table events it fires.
+	 */
+	@BeforeEach
+	public void setUp() {
+		model = new StringTableModel();
+		fired = new ArrayList<String>();
+		model.addTableModelListener(e -> fired.add(describe(e)));
+	}
+
+	/**
+	 * Tests that events sent from another thread are applied on the event dispatch
+	 * thread in the order they were sent.
+	 * 
+	 * @throws Exception if the event dispatch thread can't be waited for
+	 */
+	@Test
+	public void testEventsFromOtherThread() throws Exception {
+		String b = "b";
+		model.itemInserted(0, "a");
+		model.itemInserted(1, b);
+		model.itemRemoved(0);
+		model.itemUpdated(b);
+		SwingUtilities.invokeAndWait(() -> { });
+
+		assertEquals(1, model.getRowCount());
+		assertEquals("b", model.getValueAt(0, 0));
+		assertEquals(Arrays.asList("inserted 0", "inserted 1", "deleted 0", "updated 0"), fired);
+	}
+
+	/**
+	 * Tests that an updated item's row is found by the model, and that an item
+	 * with no row is ignored even if it equals one that has.
+	 * 
+	 * @throws Exception if the event dispatch thread can't be waited for
+	 */
+	@Test
+	public void testItemUpdated() throws Exception {
+		String c = "c";
+		model.itemInserted(0, c);
+		model.itemInserted(0, "a");
+		model.itemUpdated(c);
+		model.itemUpdated(new String("c"));
+		SwingUtilities.invokeAndWait(() -> { });
+
+		assertEquals(Arrays.asList("inserted 0", "inserted 0", "updated 1"), fired);
+	}
+
+	/**
+	 * Tests that an event sent on the event dispatch thread is applied right away
+	 * when nothing is waiting.
+	 * 
+	 * @throws Exception if the event dispatch thread can't be waited for
+	 */
+	@Test
+	public void testEventOnEventThread() throws Exception {
+		int[] rowCount = new int[1];
+		SwingUtilities.invokeAndWait(() -> {
+			model.itemInserted(0, "a");
+			rowCount[0] = model.getRowCount();
+		});
+
+		assertEquals(1, rowCount[0]);
+		assertEquals(Arrays.asList("inserted 0"), fired);
+	}
+
+	/**
+	 * Tests that an event sent on the event dispatch thread waits behind events
+	 * sent earlier from another thread that haven't been applied yet.
+	 * 
+	 * @throws Exception if the event dispatch thread can't be waited for
+	 */
+	@Test
+	public void testEventOnEventThreadWaitsForEarlierEvents() throws Exception {
+		int[] rowCount = new int[1];
+		SwingUtilities.invokeAndWait(() -> {
+			// Queued behind this task, so it can't be applied until the task ends
+			Thread sender = new Thread(() -> model.itemInserted(0, "a"));
+			sender.start();
+			try {
+				sender.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			model.itemRemoved(0);
+			rowCount[0] = model.getRowCount();
+		});
+		SwingUtilities.invokeAndWait(() -> { });
+
+		assertEquals(0, rowCount[0]);
+		assertEquals(0, model.getRowCount());
+		assertEquals(Arrays.asList("inserted 0", "deleted 0"), fired);
+	}
+
+	/**
+	 * Tests that replacing the list replaces every row.
+	 * 
+	 * @throws Exception if the event dispatch thread can't be waited for
+	 */
+	@Test
+	public void testListReplaced() throws Exception {
+		model.itemInserted(0, "a");
+		model.listReplaced(Arrays.asList("x", "y", "z"));
+		SwingUtilities.invokeAndWait(() -> { });
+
+		assertEquals(3, model.getRowCount());
+		assertEquals("z", model.getValueAt(2, 0));
+		assertEquals("item", model.getColumnName(0));
+		assertEquals(1, model.getColumnCount());
+	}
+
+	/**
+	 * Describes a table event as its type and first row.
+	 * 
+	 * @param e table event
+	 * @return description of the event
+	 */
+	private static String describe(TableModelEvent e) {
+		switch (e.getType()) {
+		case TableModelEvent.INSERT:
+			return "inserted " + e.getFirstRow();
+		case TableModelEvent.DELETE:
+			return "deleted " + e.getFirstRow();
+		default:
+			return e.getLastRow() == Integer.MAX_VALUE ? "changed" : "updated " + e.getFirstRow();
+		}
+	}
+
+	/**
+	 * Model showing each string in one column.
+	 */
+	private static class StringTableModel extends ListTableModel<String> {
+
+		/** ID number used for object serialization. */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Creates an empty model.
+		 */
+		StringTableModel() {
+			super(new String[] { "item" }, new ArrayList<String>());
+		}
+
+		/**
+		 * Returns the string itself.
+		 * 
+		 * @param item string of the row
+		 * @param col  column index
+		 * @return the string
+		 */
+		@Override
+		protected Object getColumnValue(String item, int col) {
+			return item;
+		}
+	}
+}
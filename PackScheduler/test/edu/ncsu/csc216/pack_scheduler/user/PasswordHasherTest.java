@@ -0,0 +1,92 @@
+package edu.ncsu.csc216.pack_scheduler.user;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests PasswordHasher.
+ * 
+ * @author Chirag Sreedhara
+ */
+class PasswordHasherTest {
+
+	/** SHA-256 of "pw", base64 encoded */
+	private static final String PW_HASH = "MMlS+rEiw/l1nwKm2Vw3WLJGtP7iOZV7LU/uRuJhcMQ=";
+
+	/**
+	 * Tests hashing a single password and a password with its repeat.
+	 */
+	@Test
+	void testHash() {
+		assertEquals(PW_HASH, PasswordHasher.hash("pw"));
+		assertEquals(PW_HASH, PasswordHasher.hash("pw"));
+		assertEquals(PW_HASH, PasswordHasher.hash("pw", "pw"));
+
+		Exception e1 = assertThrows(IllegalArgumentException.class, () -> PasswordHasher.hash("pw", "pW"));
+		assertEquals("Passwords do not match", e1.getMessage());
+		Exception e2 = assertThrows(IllegalArgumentException.class, () -> PasswordHasher.hash("", ""));
+		assertEquals("Invalid password", e2.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> PasswordHasher.hash("pw", null));
+		assertThrows(IllegalArgumentException.class, () -> PasswordHasher.hash(null));
+	}
+
+	/**
+	 * Tests that a batch hashes the same as hashing each password alone.
+	 */
+	@Test
+	void testHashAll() {
+		String[] hashes = PasswordHasher.hashAll("pw", "password", "pw");
+		assertArrayEquals(new String[] { PW_HASH, PasswordHasher.hash("password"), PW_HASH }, hashes);
+		assertEquals(0, PasswordHasher.hashAll().length);
+		assertThrows(IllegalArgumentException.class, () -> PasswordHasher.hashAll("pw", null));
+	}
+
+	/**
+	 * Tests checking passwords against stored hashes.
+	 */
+	@Test
+	void testMatches() {
+		assertTrue(PasswordHasher.matches("pw", PW_HASH));
+		assertFalse(PasswordHasher.matches("pW", PW_HASH));
+		assertFalse(PasswordHasher.matches("pw", PW_HASH.substring(4)));
+		assertFalse(PasswordHasher.matches("pw", "not base64!"));
+		assertFalse(PasswordHasher.matches(null, PW_HASH));
+		assertFalse(PasswordHasher.matches("pw", null));
+	}
+
+	/**
+	 * Tests that threads hashing at the same time don't share digest state.
+	 * 
+	 * @throws Exception if a hashing thread fails
+	 */
+	@Test
+	void testConcurrentHashing() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			Future<?>[] results = new Future<?>[8];
+			for (int t = 0; t < results.length; t++) {
+				results[t] = pool.submit(() -> {
+					for (int i = 0; i < 2000; i++) {
+						assertTrue(PasswordHasher.matches("pw", PW_HASH));
+					}
+				});
+			}
+			for (Future<?> result : results) {
+				result.get();
+			}
+		} finally {
+			pool.shutdown();
+			pool.awaitTermination(10, TimeUnit.SECONDS);
+		}
+	}
+}
@@ -30,6 +30,18 @@ public class ScheduleTest {
 		assertTrue(sched.addCourseToSchedule(c));
 		assertThrows(IllegalArgumentException.class, () -> sched.addCourseToSchedule(c));
 		assertTrue(sched.addCourseToSchedule(c1));
+
+		// The first scheduled course that clashes decides the message
+		Course c2 = new Course("CSC316", "Data Structures and Algorithms", "001", 3, "jdyoung2", 10, "MW", 1330, 1445);
+		Course c3 = new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", 10, "MW", 1500, 1615);
+		Course c4 = new Course("CSC230", "C and Software Tools", "002", 3, "dbsturgi", 10, "W", 1400, 1430);
+		Course c5 = new Course("CSC316", "Data Structures and Algorithms", "002", 3, "jdyoung2", 10, "F", 1330, 1445);
+		assertTrue(sched.addCourseToSchedule(c2));
+		assertTrue(sched.addCourseToSchedule(c3));
+		Exception e1 = assertThrows(IllegalArgumentException.class, () -> sched.addCourseToSchedule(c4));
+		assertEquals("The course cannot be added due to a conflict.", e1.getMessage());
+		Exception e2 = assertThrows(IllegalArgumentException.class, () -> sched.addCourseToSchedule(c5));
+		assertEquals("You are already enrolled in CSC316", e2.getMessage());
 	}
 
 	/**
@@ -99,6 +111,20 @@ public class ScheduleTest {
 		assertEquals(3, sched.getScheduleCredits());
 		assertTrue(sched.addCourseToSchedule(c1));
 		assertEquals(6, sched.getScheduleCredits());
+		assertThrows(IllegalArgumentException.class, () -> sched.addCourseToSchedule(c));
+		assertEquals(6, sched.getScheduleCredits());
+
+		Course c2 = new Course("CSC316", "Data Structures and Algorithms", "001", 4, "jdyoung2", 10, "MW", 1330, 1445);
+		assertTrue(sched.addCourseToSchedule(c2));
+		assertEquals(10, sched.getScheduleCredits());
+		assertTrue(sched.removeCourseFromSchedule(c));
+		assertEquals(7, sched.getScheduleCredits());
+		assertTrue(sched.canAdd(c));
+		assertFalse(sched.removeCourseFromSchedule(c));
+		assertEquals(7, sched.getScheduleCredits());
+		sched.resetSchedule();
+		assertEquals(0, sched.getScheduleCredits());
+		assertTrue(sched.canAdd(c2));
 	}
 
 	/**
@@ -118,6 +144,13 @@ public class ScheduleTest {
 		assertTrue(sched.addCourseToSchedule(c1));
 		assertFalse(sched.canAdd(c1));
 		assertFalse(sched.canAdd(null));
+
+		Course c2 = new Course("CSC316", "Data Structures and Algorithms", "001", 3, "jdyoung2", 10, "MW", 1330, 1445);
+		Course c3 = new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", 10, "W", 1445, 1530);
+		assertTrue(sched.addCourseToSchedule(c2));
+		assertFalse(sched.canAdd(c3));
+		assertTrue(sched.removeCourseFromSchedule(c2));
+		assertTrue(sched.canAdd(c3));
 	}
 
 }
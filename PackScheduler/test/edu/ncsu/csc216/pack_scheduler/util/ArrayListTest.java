@@ -2,6 +2,8 @@ package edu.ncsu.csc216.pack_scheduler.util;
 
 import static org.junit.Assert.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -136,4 +138,28 @@ public class ArrayListTest {
 		assertThrows(IndexOutOfBoundsException.class, () -> arrayList.get(-1));
 		assertThrows(IndexOutOfBoundsException.class, () -> arrayList.get(3));
 	}
+
+	/**
+	 * Tests a hash indexed list
+	 */
+	@Test
+	public void testHashIndexed() {
+		ArrayList<Integer> indexed = new ArrayList<>(true);
+		for (int i = 0; i < 100000; i++) {
+			indexed.add(indexed.size(), i);
+		}
+		assertEquals(100000, indexed.size());
+		assertThrows(IllegalArgumentException.class, () -> indexed.add(0, 500));
+		assertTrue(indexed.contains(99999));
+
+		assertEquals(Integer.valueOf(0), indexed.remove(0));
+		assertFalse(indexed.contains(0));
+		indexed.add(0, 0);
+		assertEquals(Integer.valueOf(1), indexed.set(1, -1));
+		assertFalse(indexed.contains(1));
+		assertTrue(indexed.contains(-1));
+		assertThrows(IllegalArgumentException.class, () -> indexed.set(2, -1));
+		assertEquals(Integer.valueOf(-1), indexed.get(1));
+		assertEquals(Integer.valueOf(2), indexed.get(2));
+	}
 }
\ No newline at end of file
@@ -7,6 +7,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.NoSuchElementException;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -99,4 +101,94 @@ class ArrayQueueTest {
 		assertEquals(0, list1.size());
 		assertTrue(list1.isEmpty());
 	}
+
+	/**
+	 * Tests wrapping around the circular buffer and resizing it
+	 */
+	@Test
+	void testWrapAroundAndResize() {
+		ArrayQueue<Integer> queue = new ArrayQueue<Integer>(3);
+		for (int i = 0; i < 10; i++) {
+			queue.enqueue(i);
+			queue.enqueue(i + 100);
+			assertEquals(Integer.valueOf(i), queue.dequeue());
+			assertEquals(Integer.valueOf(i + 100), queue.dequeue());
+		}
+		queue.enqueue(1);
+		queue.enqueue(2);
+		queue.enqueue(3);
+		Exception e1 = assertThrows(IllegalArgumentException.class, () -> queue.enqueue(4));
+		assertEquals("Queue is full.", e1.getMessage());
+		assertEquals(Integer.valueOf(1), queue.dequeue());
+		queue.enqueue(4);
+
+		queue.setCapacity(5);
+		queue.enqueue(5);
+		assertEquals(4, queue.size());
+		for (int i = 2; i <= 5; i++) {
+			assertEquals(Integer.valueOf(i), queue.dequeue());
+		}
+		assertThrows(NoSuchElementException.class, () -> queue.dequeue());
+	}
+
+	/**
+	 * Tests duplicate handling in unique and non-unique queues
+	 */
+	@Test
+	void testDuplicates() {
+		ArrayQueue<String> unique = new ArrayQueue<String>(4);
+		unique.enqueue("a");
+		unique.enqueue("b");
+		assertTrue(unique.contains("a"));
+		assertThrows(IllegalArgumentException.class, () -> unique.enqueue("a"));
+		assertThrows(NullPointerException.class, () -> unique.enqueue(null));
+		assertEquals("a", unique.dequeue());
+		assertFalse(unique.contains("a"));
+		unique.enqueue("a");
+		assertEquals(2, unique.size());
+
+		ArrayQueue<String> any = new ArrayQueue<String>(4, false);
+		any.enqueue("a");
+		any.enqueue("a");
+		assertEquals(2, any.size());
+		assertTrue(any.contains("a"));
+		assertFalse(any.contains("b"));
+	}
+
+	/**
+	 * Tests peek(), removeIf() and iterating across the end of the buffer
+	 */
+	@Test
+	void testRemoveIf() {
+		ArrayQueue<String> queue = new ArrayQueue<String>(5);
+		assertThrows(NoSuchElementException.class, () -> queue.peek());
+		queue.enqueue("x");
+		queue.enqueue("y");
+		queue.dequeue();
+		queue.dequeue();
+		// The queue now wraps around the end of the buffer
+		for (String s : new String[] { "a", "b", "c", "d", "e" }) {
+			queue.enqueue(s);
+		}
+		assertEquals("a", queue.peek());
+
+		assertTrue(queue.removeIf(s -> "b".equals(s) || "d".equals(s)));
+		assertFalse(queue.removeIf(s -> "z".equals(s)));
+		assertEquals(3, queue.size());
+		StringBuilder order = new StringBuilder();
+		for (String s : queue) {
+			order.append(s);
+		}
+		assertEquals("ace", order.toString());
+
+		// Removed elements may be queued again
+		assertFalse(queue.contains("b"));
+		queue.enqueue("b");
+		queue.enqueue("f");
+		assertEquals("a", queue.dequeue());
+		assertEquals("c", queue.dequeue());
+		assertEquals("e", queue.dequeue());
+		assertEquals("b", queue.dequeue());
+		assertEquals("f", queue.peek());
+	}
 }
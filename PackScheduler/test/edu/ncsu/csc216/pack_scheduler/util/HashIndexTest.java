@@ -0,0 +1,64 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests HashIndex.
+ * 
+ * @author Chirag Sreedhara
+ */
+class HashIndexTest {
+
+	/**
+	 * Tests add, contains, and remove with colliding hash codes
+	 */
+	@Test
+	void testAddContainsRemove() {
+		HashIndex<Integer> index = new HashIndex<Integer>(0);
+		assertTrue(index.add(1));
+		assertTrue(index.add(9));
+		assertTrue(index.add(17));
+		assertFalse(index.add(9));
+		assertEquals(3, index.size());
+
+		assertTrue(index.remove(1));
+		assertFalse(index.remove(1));
+		assertFalse(index.contains(1));
+		assertTrue(index.contains(9));
+		assertTrue(index.contains(17));
+
+		index.clear();
+		assertEquals(0, index.size());
+		assertFalse(index.contains(9));
+	}
+
+	/**
+	 * Tests a random mix of operations against java.util.HashSet
+	 */
+	@Test
+	void testMatchesHashSet() {
+		HashIndex<Integer> index = new HashIndex<Integer>(4);
+		HashSet<Integer> expected = new HashSet<Integer>();
+		Random random = new Random(216);
+		for (int i = 0; i < 20000; i++) {
+			Integer value = random.nextInt(500);
+			if (random.nextBoolean()) {
+				assertEquals(expected.add(value), index.add(value));
+			} else {
+				assertEquals(expected.remove(value), index.remove(value));
+			}
+			assertEquals(expected.size(), index.size());
+		}
+		for (int value = 0; value < 500; value++) {
+			assertEquals(expected.contains(value), index.contains(value));
+		}
+	}
+
+}
@@ -2,6 +2,11 @@ package edu.ncsu.csc216.pack_scheduler.util;
 
 import static org.junit.Assert.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -140,4 +145,40 @@ public class LinkedAbstractListTest {
 		assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
 		assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
 	}
+
+	/**
+	 * Tests iterating, forEach, and removeIf
+	 */
+	@Test
+	public void testIteratorAndRemoveIf() {
+		LinkedAbstractList<Integer> list = new LinkedAbstractList<>(10);
+		for (int i = 0; i < 6; i++) {
+			list.add(i);
+		}
+		StringBuilder sb = new StringBuilder();
+		list.forEach(sb::append);
+		assertEquals("012345", sb.toString());
+		assertEquals(15, list.stream().mapToInt(Integer::intValue).sum());
+		assertTrue(list.contains(5));
+
+		Iterator<Integer> it = list.iterator();
+		assertEquals(Integer.valueOf(0), it.next());
+		it.remove();
+		assertThrows(IllegalStateException.class, () -> it.remove());
+		assertEquals(Integer.valueOf(1), it.next());
+		list.add(6);
+		assertThrows(ConcurrentModificationException.class, () -> it.next());
+
+		assertTrue(list.removeIf(i -> i % 2 == 0));
+		assertFalse(list.removeIf(i -> i > 10));
+		assertEquals(3, list.size());
+		assertEquals(Integer.valueOf(1), list.get(0));
+		assertEquals(Integer.valueOf(5), list.get(2));
+
+		// The back was removed, so adding at the end must link after 5
+		assertTrue(list.removeIf(i -> i == 5));
+		list.add(7);
+		assertEquals(Integer.valueOf(7), list.get(2));
+		assertEquals(Integer.valueOf(3), list.get(1));
+	}
 }
\ No newline at end of file
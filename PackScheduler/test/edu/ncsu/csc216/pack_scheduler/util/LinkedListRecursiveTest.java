@@ -2,11 +2,15 @@ package edu.ncsu.csc216.pack_scheduler.util;
 
 import static org.junit.Assert.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Duration;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -409,4 +413,61 @@ class LinkedListRecursiveTest {
 		assertNotNull(e3);
 	}
 
+
+	/**
+	 * Tests iterating over and removing through the iterator
+	 */
+	@Test
+	void testIterator() {
+		list1.add("a");
+		list1.add("b");
+		list1.add("c");
+		StringBuilder sb = new StringBuilder();
+		for (String s : list1) {
+			sb.append(s);
+		}
+		assertEquals("abc", sb.toString());
+
+		Iterator<String> it = list1.iterator();
+		assertThrows(IllegalStateException.class, () -> it.remove());
+		assertEquals("a", it.next());
+		assertEquals("b", it.next());
+		it.remove();
+		assertEquals("c", it.next());
+		it.remove();
+		assertFalse(it.hasNext());
+		assertThrows(NoSuchElementException.class, () -> it.next());
+		assertEquals(1, list1.size());
+
+		// The back was removed, so appending must link after "a"
+		list1.add("d");
+		assertEquals("d", list1.get(1));
+
+		Iterator<String> it2 = list1.iterator();
+		list1.add("e");
+		assertThrows(ConcurrentModificationException.class, () -> it2.next());
+
+		list1.clear();
+		assertTrue(list1.isEmpty());
+		list1.add("f");
+		assertEquals("f", list1.get(0));
+	}
+
+	/**
+	 * Tests a list too long for one stack frame per node
+	 */
+	@Test
+	void testLongList() {
+		LinkedListRecursive<Integer> list = new LinkedListRecursive<Integer>();
+		for (int i = 0; i < 20000; i++) {
+			list.add(i);
+		}
+		assertTrue(list.contains(19999));
+		assertEquals(Integer.valueOf(19999), list.get(19999));
+		assertEquals(Integer.valueOf(19999), list.remove(19999));
+		assertTrue(list.remove(Integer.valueOf(19998)));
+		list.add(-1);
+		assertEquals(Integer.valueOf(-1), list.get(19998));
+		assertEquals(19999, list.size());
+	}
 }
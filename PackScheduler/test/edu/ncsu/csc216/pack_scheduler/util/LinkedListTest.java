@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 import java.time.Duration;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -393,4 +394,26 @@ class LinkedListTest {
 		assertEquals(2, list1.indexOf(test3));
 		assertEquals(3, list1.indexOf(test4));
 	}
+
+	/**
+	 * Tests adding several elements through one list iterator
+	 */
+	@Test
+	void testIteratorAdd() {
+		ListIterator<String> it = list1.listIterator();
+		it.add("a");
+		it.add("b");
+		it.add("c");
+		assertEquals(3, list1.size());
+		assertEquals(3, it.nextIndex());
+		assertFalse(it.hasNext());
+		assertEquals("[a, b, c]", list1.toString());
+
+		list1.add(3, "d");
+		ListIterator<String> middle = list1.listIterator(1);
+		middle.add("x");
+		middle.add("y");
+		assertEquals("b", middle.next());
+		assertEquals("[a, x, y, b, c, d]", list1.toString());
+	}
 }
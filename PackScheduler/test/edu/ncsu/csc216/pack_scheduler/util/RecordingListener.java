@@ -0,0 +1,67 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the change events a list sends, one string per event, so tests can
+ * check which events were sent and in what order.
+ * 
+ * @author Chirag Sreedhara
+ * @param <E> type of item in the list
+ */
+public class RecordingListener<E> implements ListChangeListener<E> {
+
+	/** Events received */
+	private final List<String> events = new ArrayList<String>();
+
+	/**
+	 * Returns the events received so far, oldest first.
+	 * 
+	 * @return the events received
+	 */
+	public List<String> getEvents() {
+		return events;
+	}
+
+	/**
+	 * Records an insert as "inserted index item".
+	 * 
+	 * @param index position of the new item
+	 * @param item  item inserted
+	 */
+	@Override
+	public void itemInserted(int index, E item) {
+		events.add("inserted " + index + " " + item);
+	}
+
+	/**
+	 * Records a removal as "removed index".
+	 * 
+	 * @param index position the item was removed from
+	 */
+	@Override
+	public void itemRemoved(int index) {
+		events.add("removed " + index);
+	}
+
+	/**
+	 * Records an update as "updated item".
+	 * 
+	 * @param item item that changed
+	 */
+	@Override
+	public void itemUpdated(E item) {
+		events.add("updated " + item);
+	}
+
+	/**
+	 * Records a replacement as "replaced size".
+	 * 
+	 * @param items new contents of the list
+	 */
+	@Override
+	public void listReplaced(List<E> items) {
+		events.add("replaced " + items.size());
+	}
+}